@@ -14,6 +14,7 @@ public class CopyEventsBetweenCommand implements Command {
   private LocalDate sourceEndDate;
   private String targetCalendarName;
   private LocalDate targetStartDate;
+  private boolean allOrNothing;
 
   /**
    * Constructor for the class.
@@ -35,6 +36,25 @@ public class CopyEventsBetweenCommand implements Command {
     this.targetStartDate = targetStartDate;
   }
 
+  /**
+   * Constructor for a copy that can be made all-or-nothing.
+   *
+   * @param multiCalendarService The service managing multiple calendars
+   * @param sourceStartDate      The start date of the source event range
+   * @param sourceEndDate        The end date of the source event range
+   * @param targetCalendarName   The name of the calendar to copy events to
+   * @param targetStartDate      The start date in the target calendar
+   * @param allOrNothing         Whether any conflict cancels the whole copy
+   */
+  public CopyEventsBetweenCommand(IMultiCalendarService multiCalendarService,
+      LocalDate sourceStartDate,
+      LocalDate sourceEndDate, String targetCalendarName,
+      LocalDate targetStartDate, boolean allOrNothing) {
+    this(multiCalendarService, sourceStartDate, sourceEndDate, targetCalendarName,
+        targetStartDate);
+    this.allOrNothing = allOrNothing;
+  }
+
   /**
    * Executes the bulk event copy operation using the calendar service.
    *
@@ -44,6 +64,6 @@ public class CopyEventsBetweenCommand implements Command {
   @Override
   public String execute() throws Exception {
     return multiCalendarService.copyEventsBetween(sourceStartDate, sourceEndDate,
-        targetCalendarName, targetStartDate);
+        targetCalendarName, targetStartDate, allOrNothing);
   }
 }
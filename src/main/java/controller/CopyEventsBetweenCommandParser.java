@@ -31,7 +31,7 @@ public class CopyEventsBetweenCommandParser implements ICommandParser {
   @Override
   public Command parse(String[] tokens) {
     try {
-      if (tokens.length != 10) {
+      if (tokens.length != 10 && tokens.length != 11) {
         return () -> "Invalid copy events between command format.";
       }
       if (!tokens[1].equalsIgnoreCase("events")
@@ -51,8 +51,12 @@ public class CopyEventsBetweenCommandParser implements ICommandParser {
         return () -> "Missing 'to' keyword in copy events between command.";
       }
       LocalDate targetStart = LocalDate.parse(tokens[9], DATE_FORMAT);
+      boolean allOrNothing = tokens.length == 11;
+      if (allOrNothing && !tokens[10].equalsIgnoreCase("--atomic")) {
+        return () -> "Unknown option '" + tokens[10] + "' in copy events between command.";
+      }
       return new CopyEventsBetweenCommand(multiCalendarService, sourceStart,
-          sourceEnd, targetCalendarName, targetStart);
+          sourceEnd, targetCalendarName, targetStart, allOrNothing);
     } catch (Exception e) {
       return () -> "Error processing copy events between command: " + e.getMessage();
     }
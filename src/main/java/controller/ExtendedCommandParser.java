@@ -15,7 +15,7 @@ public class ExtendedCommandParser implements IHeadCommandParser {
 
   /**
    * Constructs an extended parser with a multi-calendar service. Initializes parsers for new
-   * commands like create, edit, and copy operations.
+   * commands like create, edit, copy, undo and redo operations.
    *
    * @param multiCalendarService The service managing multiple calendars
    */
@@ -29,6 +29,8 @@ public class ExtendedCommandParser implements IHeadCommandParser {
     parserMap.put("copy events on", new CopyEventsOnCommandParser(multiCalendarService));
     parserMap.put("copy events between",
         new CopyEventsBetweenCommandParser(multiCalendarService));
+    parserMap.put("undo", new UndoCommandParser(multiCalendarService));
+    parserMap.put("redo", new RedoCommandParser(multiCalendarService));
   }
 
   /**
@@ -56,6 +58,10 @@ public class ExtendedCommandParser implements IHeadCommandParser {
         return parserMap.get(possibleKey).parse(tokens);
       }
     }
+    String possibleKey1 = tokens[0].toLowerCase();
+    if (parserMap.containsKey(possibleKey1)) {
+      return parserMap.get(possibleKey1).parse(tokens);
+    }
     return baseParser.parse(commandLine);
   }
 }
\ No newline at end of file
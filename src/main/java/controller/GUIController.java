@@ -137,6 +137,26 @@ public class GUIController implements IGUIController {
     }
   }
 
+  @Override
+  public String undo() {
+    Command cmd = new UndoCommandParser(service).parse(new String[]{"undo"});
+    try {
+      return cmd.execute();
+    } catch (Exception e) {
+      return "Error undoing change: " + e.getMessage();
+    }
+  }
+
+  @Override
+  public String redo() {
+    Command cmd = new RedoCommandParser(service).parse(new String[]{"redo"});
+    try {
+      return cmd.execute();
+    } catch (Exception e) {
+      return "Error redoing change: " + e.getMessage();
+    }
+  }
+
   @Override
   public String[] getCurrentCalendarNameAndZone() throws Exception {
     return service.getCurrentCalendarNameAndZone();
@@ -108,6 +108,20 @@ public interface IGUIController extends IAppController {
    */
   String editCalendar(String calendarName, String property, String newValue);
 
+  /**
+   * Reverses the most recent change made to the calendars.
+   *
+   * @return result message
+   */
+  String undo();
+
+  /**
+   * Applies again the most recently undone change.
+   *
+   * @return result message
+   */
+  String redo();
+
   /**
    * Gets the name and timezone of the currently active calendar.
    *
@@ -0,0 +1,31 @@
+package controller;
+
+import model.IMultiCalendarService;
+
+/**
+ * Command to redo a change made to the calendars.
+ */
+public class RedoCommand implements Command {
+
+  private IMultiCalendarService multiCalendarService;
+
+  /**
+   * Constructs a command to redo a change.
+   *
+   * @param multiCalendarService The service managing multiple calendars
+   */
+  public RedoCommand(IMultiCalendarService multiCalendarService) {
+    this.multiCalendarService = multiCalendarService;
+  }
+
+  /**
+   * Applies again the most recently undone change.
+   *
+   * @return A message naming the redone operation, or saying there is nothing to redo
+   * @throws Exception if the change cannot be redone
+   */
+  @Override
+  public String execute() throws Exception {
+    return multiCalendarService.redo();
+  }
+}
@@ -0,0 +1,34 @@
+package controller;
+
+import model.IMultiCalendarService;
+
+/**
+ * Parses the redo command, which takes no arguments.
+ */
+public class RedoCommandParser implements ICommandParser {
+
+  private IMultiCalendarService multiCalendarService;
+
+  /**
+   * Constructs a parser with the given multi-calendar service.
+   *
+   * @param multiCalendarService The service managing multiple calendars
+   */
+  public RedoCommandParser(IMultiCalendarService multiCalendarService) {
+    this.multiCalendarService = multiCalendarService;
+  }
+
+  /**
+   * Parses tokens to create a RedoCommand.
+   *
+   * @param tokens The array of command tokens
+   * @return A Command that redoes the change, or an error command if it is invalid
+   */
+  @Override
+  public Command parse(String[] tokens) {
+    if (tokens.length != 1) {
+      return () -> "Invalid redo command.";
+    }
+    return new RedoCommand(multiCalendarService);
+  }
+}
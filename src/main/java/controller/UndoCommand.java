@@ -0,0 +1,31 @@
+package controller;
+
+import model.IMultiCalendarService;
+
+/**
+ * Command to undo a change made to the calendars.
+ */
+public class UndoCommand implements Command {
+
+  private IMultiCalendarService multiCalendarService;
+
+  /**
+   * Constructs a command to undo a change.
+   *
+   * @param multiCalendarService The service managing multiple calendars
+   */
+  public UndoCommand(IMultiCalendarService multiCalendarService) {
+    this.multiCalendarService = multiCalendarService;
+  }
+
+  /**
+   * Reverses the most recent change made to the calendars.
+   *
+   * @return A message naming the undone operation, or saying there is nothing to undo
+   * @throws Exception if the change cannot be undone
+   */
+  @Override
+  public String execute() throws Exception {
+    return multiCalendarService.undo();
+  }
+}
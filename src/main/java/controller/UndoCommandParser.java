@@ -0,0 +1,34 @@
+package controller;
+
+import model.IMultiCalendarService;
+
+/**
+ * Parses the undo command, which takes no arguments.
+ */
+public class UndoCommandParser implements ICommandParser {
+
+  private IMultiCalendarService multiCalendarService;
+
+  /**
+   * Constructs a parser with the given multi-calendar service.
+   *
+   * @param multiCalendarService The service managing multiple calendars
+   */
+  public UndoCommandParser(IMultiCalendarService multiCalendarService) {
+    this.multiCalendarService = multiCalendarService;
+  }
+
+  /**
+   * Parses tokens to create a UndoCommand.
+   *
+   * @param tokens The array of command tokens
+   * @return A Command that undoes the change, or an error command if it is invalid
+   */
+  @Override
+  public Command parse(String[] tokens) {
+    if (tokens.length != 1) {
+      return () -> "Invalid undo command.";
+    }
+    return new UndoCommand(multiCalendarService);
+  }
+}
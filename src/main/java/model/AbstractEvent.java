@@ -1,9 +1,15 @@
 package model;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * An abstract base class for events that provides common properties and methods.
+ *
+ * <p>Once an event belongs to a calendar, its start and end fields hold times in the calendar's
+ * storage zone, and the getters and setters convert through the shared {@link CalendarZone}. An
+ * event outside any calendar has no zone and stores its times as given.
  */
 public abstract class AbstractEvent implements Event {
 
@@ -15,6 +21,9 @@ public abstract class AbstractEvent implements Event {
   protected String location;
   protected boolean isPublic;
   protected boolean autoDecline;
+  protected CalendarZone zone;
+
+  private List<EventChangeListener> listeners;
 
   /**
    * Constructs an AbstractEvent with the specified details.
@@ -52,6 +61,7 @@ public abstract class AbstractEvent implements Event {
    */
   public void setSubject(String newSubject) {
     this.subject = newSubject;
+    fireChanged();
   }
 
   /**
@@ -61,7 +71,7 @@ public abstract class AbstractEvent implements Event {
    */
   @Override
   public LocalDateTime getStartDateTime() {
-    return startDateTime;
+    return toDisplay(startDateTime);
   }
 
   /**
@@ -70,7 +80,8 @@ public abstract class AbstractEvent implements Event {
    * @param newStartDateTime the new start date and time
    */
   public void setStartDateTime(LocalDateTime newStartDateTime) {
-    this.startDateTime = newStartDateTime;
+    this.startDateTime = toStored(newStartDateTime);
+    fireChanged();
   }
 
   /**
@@ -90,6 +101,7 @@ public abstract class AbstractEvent implements Event {
    */
   public void setDescription(String newDescription) {
     this.description = newDescription;
+    fireChanged();
   }
 
   /**
@@ -109,6 +121,7 @@ public abstract class AbstractEvent implements Event {
    */
   public void setLocation(String newLocation) {
     this.location = newLocation;
+    fireChanged();
   }
 
   /**
@@ -128,6 +141,7 @@ public abstract class AbstractEvent implements Event {
    */
   public void setPublic(boolean newPublic) {
     this.isPublic = newPublic;
+    fireChanged();
   }
 
   @Override
@@ -141,14 +155,12 @@ public abstract class AbstractEvent implements Event {
    */
   public void setAutoDecline(boolean autoDecline) {
     this.autoDecline = autoDecline;
+    fireChanged();
   }
 
   @Override
   public LocalDateTime getEffectiveEndDateTime() {
-    if (endDateTime == null) {
-      return startDateTime.toLocalDate().atTime(23, 59);
-    }
-    return endDateTime;
+    return toDisplay(storedEnd());
   }
 
   /**
@@ -158,9 +170,162 @@ public abstract class AbstractEvent implements Event {
    * @throws InvalidDateException if end date is before start date.
    */
   public void setEndDateTime(LocalDateTime newEndDateTime) throws InvalidDateException {
-    if (newEndDateTime != null && newEndDateTime.isBefore(this.startDateTime)) {
+    if (newEndDateTime != null && newEndDateTime.isBefore(getStartDateTime())) {
       throw new InvalidDateException("End date & time must be after start date & time.");
     }
-    this.endDateTime = newEndDateTime;
+    this.endDateTime = toStored(newEndDateTime);
+    fireChanged();
+  }
+
+  /**
+   * Returns the start as stored, in the storage zone of the event's calendar.
+   *
+   * @return the stored start
+   */
+  LocalDateTime storedStart() {
+    return startDateTime;
+  }
+
+  /**
+   * Returns the effective end as stored, in the storage zone of the event's calendar.
+   *
+   * @return the stored end
+   */
+  LocalDateTime storedEnd() {
+    if (endDateTime == null) {
+      return startDateTime.toLocalDate().atTime(23, 59);
+    }
+    return endDateTime;
+  }
+
+  /**
+   * Returns the occurrences starting inside a window given in this event's storage zone. The
+   * public {@link #occurrencesBetween} converts its window and delegates here.
+   *
+   * @param from the inclusive start of the window, as stored
+   * @param to   the exclusive end of the window, as stored
+   * @return the occurrences in the window, in chronological order
+   */
+  abstract Iterable<Event> storedOccurrencesBetween(LocalDateTime from, LocalDateTime to);
+
+  @Override
+  public Iterable<Event> occurrencesBetween(LocalDateTime from, LocalDateTime to) {
+    return storedOccurrencesBetween(toStored(from), toStored(to));
+  }
+
+  /**
+   * Returns the start of another event in this event's storage zone. Events of the same calendar
+   * are read as stored; any other event is converted from its presented time.
+   *
+   * @param other the other event
+   * @return the other event's start, comparable with this event's stored times
+   */
+  LocalDateTime startInZone(Event other) {
+    if (other instanceof AbstractEvent && sameFrame(((AbstractEvent) other).zone)) {
+      return ((AbstractEvent) other).startDateTime;
+    }
+    return toStored(other.getStartDateTime());
+  }
+
+  /**
+   * Returns the effective end of another event in this event's storage zone.
+   *
+   * @param other the other event
+   * @return the other event's end, comparable with this event's stored times
+   */
+  LocalDateTime endInZone(Event other) {
+    if (other instanceof AbstractEvent && sameFrame(((AbstractEvent) other).zone)) {
+      return ((AbstractEvent) other).storedEnd();
+    }
+    return toStored(other.getEffectiveEndDateTime());
+  }
+
+  /**
+   * Checks whether times stored under another zone can be compared with this event's stored
+   * times as they are. That holds for the same zone, and for any two zones that do not convert,
+   * since their stored times are the presented ones.
+   *
+   * @param other the zone of the other event, may be null
+   * @return true if no conversion is needed between the two
+   */
+  boolean sameFrame(CalendarZone other) {
+    return other == zone || (!isShifted(zone) && !isShifted(other));
+  }
+
+  private static boolean isShifted(CalendarZone zone) {
+    return zone != null && zone.isShifted();
+  }
+
+  /**
+   * Converts a stored time into the zone the event is currently presented in.
+   *
+   * @param stored the stored time, may be null
+   * @return the presented time
+   */
+  LocalDateTime toDisplay(LocalDateTime stored) {
+    return zone == null ? stored : zone.toDisplay(stored);
+  }
+
+  /**
+   * Converts a presented time into the event's storage zone.
+   *
+   * @param display the presented time, may be null
+   * @return the stored time
+   */
+  LocalDateTime toStored(LocalDateTime display) {
+    return zone == null ? display : zone.toStored(display);
+  }
+
+  /**
+   * Moves the event into a calendar zone, or out of any zone when {@code newZone} is null. The
+   * presented times stay the same and the stored times are rewritten for the new zone. Listeners
+   * are not notified; the event is expected to be (re)indexed by whoever attaches it.
+   *
+   * @param newZone the zone of the calendar taking the event, or null
+   */
+  void attachZone(CalendarZone newZone) {
+    if (newZone == zone) {
+      return;
+    }
+    LocalDateTime start = getStartDateTime();
+    LocalDateTime end = toDisplay(endDateTime);
+    zone = newZone;
+    startDateTime = toStored(start);
+    endDateTime = toStored(end);
+  }
+
+  /**
+   * Registers a listener to be notified whenever this event changes.
+   *
+   * @param listener the listener to add
+   */
+  public void addChangeListener(EventChangeListener listener) {
+    if (listeners == null) {
+      listeners = new ArrayList<>(1);
+    }
+    listeners.add(listener);
+  }
+
+  /**
+   * Unregisters a previously added change listener.
+   *
+   * @param listener the listener to remove
+   */
+  public void removeChangeListener(EventChangeListener listener) {
+    if (listeners != null) {
+      listeners.remove(listener);
+    }
+  }
+
+  /**
+   * Notifies every registered listener that this event has changed.
+   */
+  protected void fireChanged() {
+    if (listeners == null) {
+      return;
+    }
+    for (EventChangeListener listener : listeners) {
+      listener.eventChanged(this);
+    }
   }
 }
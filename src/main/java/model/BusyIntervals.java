@@ -0,0 +1,156 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A sorted set of disjoint busy intervals stored in parallel {@code long[]} arrays of epoch
+ * seconds. Intervals that strictly overlap are merged when added; intervals that only touch are
+ * kept apart, because the boundary instant between two back-to-back events is not busy. Lookups
+ * are a single binary search.
+ *
+ * <p>Adding an interval anywhere but at the end shifts the arrays behind it, so building the set
+ * from unordered intervals is quadratic. Callers that add in no particular order should use
+ * {@link #append} and rebuild the set from sorted intervals when it refuses one.
+ */
+public class BusyIntervals {
+
+  private long[] starts = new long[16];
+  private long[] ends = new long[16];
+  private int size;
+
+  /**
+   * Adds the open interval {@code (start, end)}, merging it with any interval it overlaps. Empty
+   * intervals never make the calendar busy and are ignored.
+   *
+   * @param start the start of the interval
+   * @param end   the end of the interval
+   */
+  public void add(long start, long end) {
+    if (start >= end) {
+      return;
+    }
+    int low = firstEndAfter(start);
+    int high = firstStartAtOrAfter(end);
+    if (low >= high) {
+      insertAt(low, start, end);
+      return;
+    }
+    long mergedStart = Math.min(start, starts[low]);
+    long mergedEnd = Math.max(end, ends[high - 1]);
+    int removed = high - low - 1;
+    if (removed > 0) {
+      System.arraycopy(starts, high, starts, low + 1, size - high);
+      System.arraycopy(ends, high, ends, low + 1, size - high);
+      size -= removed;
+    }
+    starts[low] = mergedStart;
+    ends[low] = mergedEnd;
+  }
+
+  /**
+   * Adds the open interval {@code (start, end)} if it starts at or after every stored interval,
+   * which only ever touches the end of the arrays. Empty intervals are accepted and ignored.
+   *
+   * @param start the start of the interval
+   * @param end   the end of the interval
+   * @return false if the interval starts before the last stored interval and was not added
+   */
+  public boolean append(long start, long end) {
+    if (size > 0 && start < starts[size - 1]) {
+      return false;
+    }
+    add(start, end);
+    return true;
+  }
+
+  /**
+   * Checks whether an instant falls strictly inside one of the intervals.
+   *
+   * @param time the instant to check
+   * @return true if some interval has {@code start < time < end}
+   */
+  public boolean contains(long time) {
+    int index = firstStartAtOrAfter(time) - 1;
+    return index >= 0 && time < ends[index];
+  }
+
+  /**
+   * Returns the number of disjoint intervals currently stored.
+   *
+   * @return the number of intervals
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Removes the interval that an interval added earlier was merged into, so that the intervals
+   * it was merged from can be added back without the one that is going away. Nothing is removed
+   * if no interval overlaps {@code (start, end)}.
+   *
+   * @param start the start of the interval added earlier
+   * @param end   the end of the interval added earlier
+   * @return the start and end of the removed interval, or null if none was removed
+   */
+  public long[] removeEnclosing(long start, long end) {
+    if (start >= end) {
+      return null;
+    }
+    int index = firstEndAfter(start);
+    if (index >= size || starts[index] >= end) {
+      return null;
+    }
+    long[] removed = {starts[index], ends[index]};
+    System.arraycopy(starts, index + 1, starts, index, size - index - 1);
+    System.arraycopy(ends, index + 1, ends, index, size - index - 1);
+    size--;
+    return removed;
+  }
+
+  /**
+   * Removes every interval.
+   */
+  public void clear() {
+    size = 0;
+  }
+
+  private void insertAt(int index, long start, long end) {
+    if (size == starts.length) {
+      starts = Arrays.copyOf(starts, size * 2);
+      ends = Arrays.copyOf(ends, size * 2);
+    }
+    System.arraycopy(starts, index, starts, index + 1, size - index);
+    System.arraycopy(ends, index, ends, index + 1, size - index);
+    starts[index] = start;
+    ends[index] = end;
+    size++;
+  }
+
+  private int firstEndAfter(long time) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (ends[mid] <= time) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private int firstStartAtOrAfter(long time) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (starts[mid] < time) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
@@ -1,62 +1,65 @@
 package model;
 
-import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 
 /**
  * A utility class for exporting calendar events to a CSV file.
+ *
+ * <p>Rows are streamed to a {@link FileChannel} through a {@link CSVWriter}, which encodes every
+ * field straight into one reusable buffer as UTF-8 and quotes text fields that contain commas,
+ * quotes or line breaks, so that {@link CSVImporter} reads them back unchanged.
  */
 public class CSVExporter implements Exporter {
 
+  private static final String[] HEADER = {"Subject", "Start Date", "Start Time", "End Date",
+      "End Time", "AllDayEvent", "Description", "Location", "Private"};
+  private static final LocalTime END_OF_DAY = LocalTime.of(23, 59);
+
   /**
    * Writes a single event row to the CSV file.
    *
-   * @param se     The event to write
-   * @param writer The writer for the CSV file
+   * @param se  The event to write
+   * @param out The writer for the CSV file
    * @throws IOException If writing fails
    */
-  private void writeSingleEventRow(Event se, BufferedWriter writer) throws IOException {
+  private void writeSingleEventRow(Event se, CSVWriter out) throws IOException {
     LocalDateTime start = se.getStartDateTime();
     LocalDateTime end = se.getEffectiveEndDateTime();
-    boolean allDay = isAllDayEvent(se);
-    String privateFlag = se.isPublic() ? "false" : "true";
-
-    StringBuilder row = new StringBuilder();
-    row.append(se.getSubject()).append(",");
-    row.append(start.toLocalDate()).append(",");
-    row.append(start.toLocalTime()).append(",");
-    row.append(end.toLocalDate()).append(",");
-    row.append(end.toLocalTime()).append(",");
-    row.append(allDay).append(",");
-    row.append(se.getDescription()).append(",");
-    row.append(se.getLocation()).append(",");
-    row.append(privateFlag);
 
-    writer.write(row.toString());
-    writer.newLine();
+    out.writeField(se.getSubject());
+    out.writeDate(start.toLocalDate());
+    out.writeTime(start.toLocalTime());
+    out.writeDate(end.toLocalDate());
+    out.writeTime(end.toLocalTime());
+    out.writeBoolean(isAllDayEvent(start, end));
+    out.writeField(se.getDescription());
+    out.writeField(se.getLocation());
+    out.writeBoolean(!se.isPublic());
+    out.endRecord();
   }
 
   /**
    * Checks if an event is an all-day event.
    *
-   * @param se The event to check
+   * @param start The start of the event
+   * @param end   The effective end of the event
    * @return True if the event spans a full day (midnight to 23:59), false otherwise
    */
-  private boolean isAllDayEvent(Event se) {
-    LocalDateTime start = se.getStartDateTime();
-    LocalDateTime end = se.getEffectiveEndDateTime();
+  private boolean isAllDayEvent(LocalDateTime start, LocalDateTime end) {
     boolean sameDate = start.toLocalDate().equals(end.toLocalDate());
-    boolean startIsMidnight = (start.toLocalTime().equals(java.time.LocalTime.MIDNIGHT));
-    boolean endIs2359 = (end.toLocalTime().equals(java.time.LocalTime.of(23, 59)));
+    boolean startIsMidnight = start.toLocalTime().equals(LocalTime.MIDNIGHT);
+    boolean endIs2359 = end.toLocalTime().equals(END_OF_DAY);
     return sameDate && startIsMidnight && endIs2359;
   }
 
   /**
-   * Exports all events from the calendar to a CSV file.
+   * Exports all events from the calendar to a CSV file, encoded as UTF-8.
    *
    * @param calendar The calendar model to export
    * @param fileName The name of the file to create
@@ -66,26 +69,29 @@ public class CSVExporter implements Exporter {
   @Override
   public String export(ICalendarModel calendar, String fileName) throws IOException {
     String filePath = Paths.get(System.getProperty("user.dir"), fileName).toString();
-    try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-      writer.write("Subject,Start Date,Start Time,End Date,End Time,AllDayEvent,"
-          + "Description,Location,Private");
-      writer.newLine();
+    try (FileChannel channel = FileChannel.open(Paths.get(filePath),
+        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+        StandardOpenOption.WRITE)) {
+      CSVWriter out = new CSVWriter(channel);
+      for (String column : HEADER) {
+        out.writeField(column);
+      }
+      out.endRecord();
 
       List<Event> events = calendar.getAllEvents();
 
       for (Event event : events) {
         if (event instanceof SingleEvent) {
-          Event se = event;
-          writeSingleEventRow(se, writer);
+          writeSingleEventRow(event, out);
         } else if (event instanceof RecurringEvent) {
           RecurringEvent re = (RecurringEvent) event;
-          for (SingleEvent occurrence : re.generateOccurrences()) {
-            writeSingleEventRow(occurrence, writer);
+          for (Event occurrence : re.occurrencesBetween(LocalDateTime.MIN, LocalDateTime.MAX)) {
+            writeSingleEventRow(occurrence, out);
           }
         }
       }
+      out.flush();
     }
     return filePath;
   }
 }
-
@@ -1,94 +1,331 @@
 package model;
 
-import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Imports calendar events from a CSV file into the model.
+ *
+ * <p>Records are split by a {@link CSVTokenizer}, so quoted fields may hold commas, quotes and
+ * line breaks. The calling thread only tokenizes: it copies the trimmed fields of a chunk of
+ * records into one array, and each chunk is parsed on a {@link ForkJoinPool} while the next one
+ * is read. Parsed rows are merged into the model strictly in file order, on the calling thread,
+ * so each row is checked for conflicts against the events before it and errors are reported with
+ * the line number the record starts on, exactly as if the file had been imported one record at a
+ * time. Only a few chunks are kept in flight, however large the file is. The file is read as
+ * UTF-8, the encoding {@link CSVExporter} writes.
  */
 public class CSVImporter implements Importer {
 
   /**
-   * Parses event from CSV token data.
+   * The number of records parsed together when no chunk size is given.
+   */
+  static final int DEFAULT_CHUNK_ROWS = 16 * 1024;
+
+  /**
+   * The number of fields a record needs; any further fields are ignored.
+   */
+  static final int FIELDS = 9;
+
+  /**
+   * The error reported for a record with too few fields.
+   */
+  static final String TOO_FEW_FIELDS = "Invalid number of fields.";
+
+  /**
+   * The error reported for a record whose last quoted field is never closed.
+   */
+  static final String UNTERMINATED_QUOTE = "Unterminated quoted field.";
+
+  private final ForkJoinPool pool;
+  private final int chunkRows;
+  private final int maxPendingChunks;
+
+  /**
+   * The records of one chunk, copied out of the tokenizer's buffer. The trimmed values of the
+   * first nine fields of each record are stored back to back in one array, so copying a record
+   * allocates nothing.
+   */
+  private static final class Chunk {
+
+    private char[] chars = new char[4096];
+    private int length;
+    private int[] bounds;
+    private int[] lineNumbers;
+    private String[] errors;
+    private int records;
+
+    private Chunk(int capacity) {
+      int records = Math.min(capacity, 1024);
+      bounds = new int[records * (FIELDS + 1)];
+      lineNumbers = new int[records];
+      errors = new String[records];
+    }
+
+    /**
+     * Copies the current record of the tokenizer.
+     */
+    private void add(CSVTokenizer tokenizer) {
+      if (records == lineNumbers.length) {
+        bounds = Arrays.copyOf(bounds, 2 * bounds.length);
+        lineNumbers = Arrays.copyOf(lineNumbers, 2 * records);
+        errors = Arrays.copyOf(errors, 2 * records);
+      }
+      lineNumbers[records] = tokenizer.getLineNumber();
+      int base = records * (FIELDS + 1);
+      bounds[base] = length;
+      if (tokenizer.isMalformed()) {
+        errors[records] = UNTERMINATED_QUOTE;
+      } else if (tokenizer.getFieldCount() < FIELDS) {
+        errors[records] = TOO_FEW_FIELDS;
+      } else {
+        char[] buffer = tokenizer.getBuffer();
+        for (int i = 0; i < FIELDS; i++) {
+          int start = tokenizer.getStart(i);
+          int end = tokenizer.getEnd(i);
+          while (start < end && buffer[start] <= ' ') {
+            start++;
+          }
+          while (end > start && buffer[end - 1] <= ' ') {
+            end--;
+          }
+          if (length + end - start > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(2 * chars.length, length + end - start));
+          }
+          System.arraycopy(buffer, start, chars, length, end - start);
+          length += end - start;
+          bounds[base + i + 1] = length;
+        }
+      }
+      records++;
+    }
+
+    private String field(int record, int field) {
+      int base = record * (FIELDS + 1) + field;
+      int start = bounds[base];
+      int end = bounds[base + 1];
+      return start == end ? "" : new String(chars, start, end - start);
+    }
+
+    private boolean isTrue(int record, int field) {
+      int base = record * (FIELDS + 1) + field;
+      int start = bounds[base];
+      return bounds[base + 1] - start == 4 && (chars[start] | 0x20) == 't'
+          && (chars[start + 1] | 0x20) == 'r' && (chars[start + 2] | 0x20) == 'u'
+          && (chars[start + 3] | 0x20) == 'e';
+    }
+  }
+
+  /**
+   * A parsed record of the file: either the fields of an event, or the reason it was rejected. Text
+   * fields are not interned yet, so a row can be built on any thread.
+   */
+  static final class Row {
+
+    final int lineNumber;
+    String subject;
+    String description;
+    String location;
+    LocalDateTime start;
+    LocalDateTime end;
+    boolean isPublic;
+    String error;
+
+    Row(int lineNumber) {
+      this.lineNumber = lineNumber;
+    }
+  }
+
+  /**
+   * The running totals of an import, and the step that adds a parsed row to the model.
+   */
+  static final class Report {
+
+    private int importedCount;
+    private int errorCount;
+    private final StringBuilder errorMessages = new StringBuilder();
+
+    /**
+     * Adds the event of a parsed row to the model, checking it for conflicts, or records why it
+     * could not be added. Rows must be added in file order.
+     *
+     * @param row   the parsed row
+     * @param model the model to add the event to
+     */
+    void add(Row row, ICalendarModel model) {
+      if (row.error != null) {
+        error(row.lineNumber, row.error);
+        return;
+      }
+      StringPool strings = model.getStringPool();
+      row.subject = strings.intern(row.subject);
+      row.description = strings.intern(row.description);
+      row.location = strings.intern(row.location);
+      try {
+        SingleEvent event = new SingleEvent(row.subject, row.start, row.end,
+            row.description, row.location, row.isPublic);
+        event.setAutoDecline(true);
+        model.addEvent(event, true);
+        importedCount++;
+      } catch (Exception e) {
+        error(row.lineNumber, e.getMessage());
+      }
+    }
+
+    /**
+     * Returns the result message of the import.
+     *
+     * @return the number of imported events, followed by the errors if there were any
+     */
+    String summary() {
+      String result = "Imported " + importedCount + " events.";
+      if (errorCount > 0) {
+        result += "\n" + errorCount + " errors:\n" + errorMessages.toString();
+      }
+      return result;
+    }
+
+    private void error(int lineNumber, String message) {
+      errorMessages.append("Line ").append(lineNumber).append(": ").append(message).append("\n");
+      errorCount++;
+    }
+  }
+
+  /**
+   * Creates an importer that parses on the common {@link ForkJoinPool}.
+   */
+  public CSVImporter() {
+    this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_ROWS);
+  }
+
+  /**
+   * Creates an importer that parses on the given pool.
    *
-   * @param tokens the CSV fields
-   * @return the parsed {@link SingleEvent}
-   * @throws InvalidDateException if date or time values are invalid
+   * @param pool      the pool chunks are parsed on
+   * @param chunkRows the number of records parsed together
+   * @throws IllegalArgumentException if the chunk size is not positive
    */
-  private static SingleEvent getSingleEvent(String[] tokens) throws InvalidDateException {
-    String subject = tokens[0].trim();
-    String startDateStr = tokens[1].trim();
-    String startTimeStr = tokens[2].trim();
-    String endDateStr = tokens[3].trim();
-    String endTimeStr = tokens[4].trim();
-    // String allDayStr = tokens[5].trim(); // Not using this for import, no need.
-    String description = tokens[6].trim();
-    String location = tokens[7].trim();
-    String privateFlagStr = tokens[8].trim();
+  public CSVImporter(ForkJoinPool pool, int chunkRows) {
+    if (chunkRows < 1) {
+      throw new IllegalArgumentException("Chunk size must be positive: " + chunkRows);
+    }
+    this.pool = pool;
+    this.chunkRows = chunkRows;
+    this.maxPendingChunks = 2 * pool.getParallelism() + 1;
+  }
 
+  /**
+   * Parses the records of one chunk. Parsing never touches the model or its string pool, so
+   * chunks can be parsed in any order and on any thread.
+   *
+   * @param chunk the records of the chunk
+   * @return the parsed rows, in file order
+   */
+  private static Row[] parseChunk(Chunk chunk) {
+    Row[] rows = new Row[chunk.records];
+    for (int i = 0; i < rows.length; i++) {
+      rows[i] = parseRecord(chunk, i);
+    }
+    return rows;
+  }
 
-    LocalDate startDate = LocalDate.parse(startDateStr);
-    LocalTime startTime = LocalTime.parse(startTimeStr);
-    LocalDateTime startDateTime = LocalDateTime.of(startDate, startTime);
+  /**
+   * Parses event fields from one record.
+   *
+   * @param chunk  the chunk holding the record
+   * @param record the index of the record in the chunk
+   * @return the parsed row
+   */
+  private static Row parseRecord(Chunk chunk, int record) {
+    Row row = new Row(chunk.lineNumbers[record]);
+    if (chunk.errors[record] != null) {
+      row.error = chunk.errors[record];
+      return row;
+    }
+    row.subject = chunk.field(record, 0);
+    String startDateStr = chunk.field(record, 1);
+    String startTimeStr = chunk.field(record, 2);
+    String endDateStr = chunk.field(record, 3);
+    String endTimeStr = chunk.field(record, 4);
+    // Field 5, the all-day flag, is not used for import.
+    row.description = chunk.field(record, 6);
+    row.location = chunk.field(record, 7);
 
-    LocalDate endDate = LocalDate.parse(endDateStr);
-    LocalTime endTime = LocalTime.parse(endTimeStr);
-    LocalDateTime endDateTime = LocalDateTime.of(endDate, endTime);
+    try {
+      LocalDate startDate = LocalDate.parse(startDateStr);
+      LocalTime startTime = LocalTime.parse(startTimeStr);
+      row.start = LocalDateTime.of(startDate, startTime);
 
-    boolean isPublic = !"true".equalsIgnoreCase(privateFlagStr);
+      LocalDate endDate = LocalDate.parse(endDateStr);
+      LocalTime endTime = LocalTime.parse(endTimeStr);
+      row.end = LocalDateTime.of(endDate, endTime);
+    } catch (Exception e) {
+      row.error = e.getMessage();
+    }
 
+    row.isPublic = !chunk.isTrue(record, 8);
+    return row;
+  }
 
-    SingleEvent event = new SingleEvent(subject, startDateTime, endDateTime,
-        description, location, isPublic);
-    return event;
+  /**
+   * Adds the parsed rows of one chunk to the model, in order.
+   *
+   * @param rows   the rows of the chunk
+   * @param model  the model to add events to
+   * @param report the totals to update
+   */
+  private static void merge(Row[] rows, ICalendarModel model, Report report) {
+    for (Row row : rows) {
+      report.add(row, model);
+    }
   }
 
   @Override
   public String importData(ICalendarModel model, String fileName) throws IOException {
-    int importedCount = 0;
-    int errorCount = 0;
-    StringBuilder errorMessages = new StringBuilder();
-
+    Report report = new Report();
+    Deque<ForkJoinTask<Row[]>> pending = new ArrayDeque<>();
 
-    try (BufferedReader reader = new BufferedReader(new FileReader(fileName))) {
-      String headerLine = reader.readLine();
-      if (headerLine == null) {
+    try (FileReader reader = new FileReader(fileName, StandardCharsets.UTF_8)) {
+      CSVTokenizer tokenizer = new CSVTokenizer(reader);
+      if (!tokenizer.next()) {
         return "Error: CSV file is empty.";
       }
 
-      String line;
-      int lineNumber = 1;
-      while ((line = reader.readLine()) != null) {
-        lineNumber++;
-
-        String[] tokens = line.split(",", -1);
-        if (tokens.length < 9) {
-          errorMessages.append("Line ").append(lineNumber)
-              .append(": Invalid number of fields.\n");
-          errorCount++;
-          continue;
-        }
-        try {
-
-          SingleEvent event = getSingleEvent(tokens);
-          event.setAutoDecline(true);
-          model.addEvent(event, true);
-          importedCount++;
-        } catch (Exception e) {
-          errorMessages.append("Line ").append(lineNumber)
-              .append(": ").append(e.getMessage()).append("\n");
-          errorCount++;
+      Chunk chunk = new Chunk(chunkRows);
+      while (tokenizer.next()) {
+        chunk.add(tokenizer);
+        if (chunk.records == chunkRows) {
+          pending.addLast(submit(chunk));
+          chunk = new Chunk(chunkRows);
+          if (pending.size() >= maxPendingChunks) {
+            merge(pending.removeFirst().join(), model, report);
+          }
         }
       }
+      if (chunk.records > 0) {
+        pending.addLast(submit(chunk));
+      }
+      while (!pending.isEmpty()) {
+        merge(pending.removeFirst().join(), model, report);
+      }
+    } finally {
+      for (ForkJoinTask<Row[]> task : pending) {
+        task.cancel(false);
+      }
     }
-    String result = "Imported " + importedCount + " events.";
-    if (errorCount > 0) {
-      result += "\n" + errorCount + " errors:\n" + errorMessages.toString();
-    }
-    return result;
+    return report.summary();
+  }
+
+  private ForkJoinTask<Row[]> submit(Chunk chunk) {
+    return pool.submit(() -> parseChunk(chunk));
   }
 }
@@ -0,0 +1,227 @@
+package model;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Splits CSV text into records and fields as described by RFC 4180. A field that starts with a
+ * double quote is quoted: it runs to the next quote that is not doubled, and may contain commas,
+ * line breaks and doubled quotes, which stand for one quote. Anything between the closing quote
+ * and the next comma is kept as it is. A quote anywhere else is an ordinary character. Records
+ * end at {@code \n}, {@code \r\n} or {@code \r} outside quotes, or at the end of the input.
+ *
+ * <p>The tokenizer reads into one buffer that it reuses for every record, and reports each field
+ * of the current record as a pair of offsets into that buffer. Quoted fields are unescaped in
+ * place, so the offsets always cover the field's value. Nothing is allocated per field unless
+ * the caller asks for it as a string.
+ */
+public final class CSVTokenizer {
+
+  private static final int INITIAL_BUFFER_CHARS = 64 * 1024;
+
+  private final Reader reader;
+  private char[] buffer = new char[INITIAL_BUFFER_CHARS];
+  private int limit;
+  private int position;
+  private int recordStart;
+  private int fieldStart;
+  private int write;
+  private int[] starts = new int[16];
+  private int[] ends = new int[16];
+  private int fieldCount;
+  private boolean malformed;
+  private int lineNumber;
+  private int nextLineNumber = 1;
+
+  /**
+   * Creates a tokenizer reading from the given reader.
+   *
+   * @param reader the source of the CSV text
+   */
+  public CSVTokenizer(Reader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * Moves to the next record.
+   *
+   * @return false if there are no more records
+   * @throws IOException if reading fails
+   */
+  public boolean next() throws IOException {
+    if (position == limit && !fill()) {
+      return false;
+    }
+    recordStart = position;
+    lineNumber = nextLineNumber;
+    fieldCount = 0;
+    malformed = false;
+    while (true) {
+      fieldStart = position;
+      write = position;
+      if ((position < limit || fill()) && buffer[position] == '"' && !readQuoted()) {
+        endField();
+        malformed = true;
+        return true;
+      }
+      while (true) {
+        if (position == limit && !fill()) {
+          endField();
+          return true;
+        }
+        char c = buffer[position++];
+        if (c == ',') {
+          endField();
+          break;
+        }
+        if (c == '\n' || c == '\r') {
+          if (c == '\r' && (position < limit || fill()) && buffer[position] == '\n') {
+            position++;
+          }
+          nextLineNumber++;
+          endField();
+          return true;
+        }
+        buffer[write++] = c;
+      }
+    }
+  }
+
+  /**
+   * Reads a quoted field up to and including its closing quote, unescaping doubled quotes.
+   *
+   * @return false if the input ended before the closing quote
+   */
+  private boolean readQuoted() throws IOException {
+    position++;
+    while (true) {
+      if (position == limit && !fill()) {
+        return false;
+      }
+      char c = buffer[position++];
+      if (c == '"') {
+        if ((position < limit || fill()) && buffer[position] == '"') {
+          position++;
+        } else {
+          return true;
+        }
+      } else if (c == '\n') {
+        nextLineNumber++;
+      } else if (c == '\r' && !((position < limit || fill()) && buffer[position] == '\n')) {
+        nextLineNumber++;
+      }
+      buffer[write++] = c;
+    }
+  }
+
+  private void endField() {
+    if (fieldCount == starts.length) {
+      starts = Arrays.copyOf(starts, 2 * fieldCount);
+      ends = Arrays.copyOf(ends, 2 * fieldCount);
+    }
+    starts[fieldCount] = fieldStart;
+    ends[fieldCount] = write;
+    fieldCount++;
+  }
+
+  /**
+   * Reads more input after the current end of the buffer, first moving the current record to the
+   * front of the buffer, or doubling the buffer if the record already fills it.
+   *
+   * @return false if the input has ended
+   */
+  private boolean fill() throws IOException {
+    if (limit == buffer.length) {
+      if (recordStart > 0) {
+        int shift = recordStart;
+        System.arraycopy(buffer, shift, buffer, 0, limit - shift);
+        limit -= shift;
+        position -= shift;
+        recordStart = 0;
+        fieldStart -= shift;
+        write -= shift;
+        for (int i = 0; i < fieldCount; i++) {
+          starts[i] -= shift;
+          ends[i] -= shift;
+        }
+      } else {
+        buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+      }
+    }
+    int read = reader.read(buffer, limit, buffer.length - limit);
+    if (read <= 0) {
+      return false;
+    }
+    limit += read;
+    return true;
+  }
+
+  /**
+   * Returns the number of fields in the current record. An empty line is one empty field.
+   *
+   * @return the number of fields
+   */
+  public int getFieldCount() {
+    return fieldCount;
+  }
+
+  /**
+   * Returns the line the current record starts on, counting from 1. A record with line breaks
+   * inside quoted fields covers several lines.
+   *
+   * @return the line number
+   */
+  public int getLineNumber() {
+    return lineNumber;
+  }
+
+  /**
+   * Checks whether the input ended inside a quoted field of the current record.
+   *
+   * @return true if the last field's closing quote is missing
+   */
+  public boolean isMalformed() {
+    return malformed;
+  }
+
+  /**
+   * Returns the buffer holding the current record. It is only valid until the next call to
+   * {@link #next()}.
+   *
+   * @return the buffer
+   */
+  public char[] getBuffer() {
+    return buffer;
+  }
+
+  /**
+   * Returns the offset in the buffer where a field's value starts.
+   *
+   * @param field the index of the field
+   * @return the offset of the first character
+   */
+  public int getStart(int field) {
+    return starts[field];
+  }
+
+  /**
+   * Returns the offset in the buffer just after a field's value.
+   *
+   * @param field the index of the field
+   * @return the offset after the last character
+   */
+  public int getEnd(int field) {
+    return ends[field];
+  }
+
+  /**
+   * Returns a field of the current record as a new string.
+   *
+   * @param field the index of the field
+   * @return the field's value
+   */
+  public String getField(int field) {
+    return new String(buffer, starts[field], ends[field] - starts[field]);
+  }
+}
@@ -0,0 +1,226 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Writes CSV records as described by RFC 4180, the counterpart of {@link CSVTokenizer}. A text
+ * field is quoted only when it contains a comma, a double quote or a line break, with its quotes
+ * doubled, and every record ends with {@code \r\n}. Commas between fields are added
+ * automatically.
+ *
+ * <p>Fields are encoded as UTF-8 straight into one reusable buffer, which is written to the
+ * channel whenever it fills up. Dates and times are formatted digit by digit, in the same form as
+ * {@link LocalDate#toString()} and {@link LocalTime#toString()}, so no string is built for a
+ * record or any of its fields.
+ */
+public final class CSVWriter {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final WritableByteChannel channel;
+  private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+  private final byte[] bytes = buffer.array();
+  private int position;
+  private boolean recordStarted;
+
+  /**
+   * Creates a writer for the given channel.
+   *
+   * @param channel the channel records are written to
+   */
+  public CSVWriter(WritableByteChannel channel) {
+    this.channel = channel;
+  }
+
+  /**
+   * Writes a text field, quoting it if needed. A null value is written as an empty field.
+   *
+   * @param value the value of the field
+   * @throws IOException if writing fails
+   */
+  public void writeField(String value) throws IOException {
+    separate();
+    if (value == null) {
+      return;
+    }
+    if (!needsQuotes(value)) {
+      encode(value, false);
+      return;
+    }
+    reserve(1);
+    bytes[position++] = '"';
+    encode(value, true);
+    reserve(1);
+    bytes[position++] = '"';
+  }
+
+  /**
+   * Writes a date field as {@code yyyy-MM-dd}. Years outside 0 to 9999 are written as
+   * {@link LocalDate#toString()} writes them.
+   *
+   * @param date the date
+   * @throws IOException if writing fails
+   */
+  public void writeDate(LocalDate date) throws IOException {
+    separate();
+    int year = date.getYear();
+    if (year < 0 || year > 9999) {
+      encode(date.toString(), false);
+      return;
+    }
+    reserve(10);
+    digits(year, 4);
+    bytes[position++] = '-';
+    digits(date.getMonthValue(), 2);
+    bytes[position++] = '-';
+    digits(date.getDayOfMonth(), 2);
+  }
+
+  /**
+   * Writes a time field as {@code HH:mm}, followed by the seconds and fraction only when they are
+   * not zero.
+   *
+   * @param time the time
+   * @throws IOException if writing fails
+   */
+  public void writeTime(LocalTime time) throws IOException {
+    separate();
+    reserve(18);
+    digits(time.getHour(), 2);
+    bytes[position++] = ':';
+    digits(time.getMinute(), 2);
+    int second = time.getSecond();
+    int nano = time.getNano();
+    if (second == 0 && nano == 0) {
+      return;
+    }
+    bytes[position++] = ':';
+    digits(second, 2);
+    if (nano == 0) {
+      return;
+    }
+    bytes[position++] = '.';
+    if (nano % 1_000_000 == 0) {
+      digits(nano / 1_000_000, 3);
+    } else if (nano % 1000 == 0) {
+      digits(nano / 1000, 6);
+    } else {
+      digits(nano, 9);
+    }
+  }
+
+  /**
+   * Writes a boolean field as {@code true} or {@code false}.
+   *
+   * @param value the value
+   * @throws IOException if writing fails
+   */
+  public void writeBoolean(boolean value) throws IOException {
+    separate();
+    encode(value ? "true" : "false", false);
+  }
+
+  /**
+   * Ends the current record.
+   *
+   * @throws IOException if writing fails
+   */
+  public void endRecord() throws IOException {
+    reserve(2);
+    bytes[position++] = '\r';
+    bytes[position++] = '\n';
+    recordStarted = false;
+  }
+
+  /**
+   * Writes everything buffered so far to the channel.
+   *
+   * @throws IOException if writing fails
+   */
+  public void flush() throws IOException {
+    buffer.limit(position).position(0);
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+    position = 0;
+  }
+
+  private static boolean needsQuotes(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void separate() throws IOException {
+    if (recordStarted) {
+      reserve(1);
+      bytes[position++] = ',';
+    }
+    recordStarted = true;
+  }
+
+  /**
+   * Makes sure at least {@code length} more bytes fit in the buffer, draining it if needed.
+   */
+  private void reserve(int length) throws IOException {
+    if (position + length > bytes.length) {
+      flush();
+    }
+  }
+
+  /**
+   * Encodes a string as UTF-8, doubling its quotes if asked to. An unpaired surrogate is written
+   * as {@code ?}, as {@link String#getBytes} does.
+   */
+  private void encode(String value, boolean doubleQuotes) throws IOException {
+    int length = value.length();
+    for (int i = 0; i < length; i++) {
+      if (position + 4 > bytes.length) {
+        flush();
+      }
+      char c = value.charAt(i);
+      if (c == '"' && doubleQuotes) {
+        bytes[position++] = '"';
+        bytes[position++] = '"';
+      } else if (c < 0x80) {
+        bytes[position++] = (byte) c;
+      } else if (c < 0x800) {
+        bytes[position++] = (byte) (0xC0 | (c >> 6));
+        bytes[position++] = (byte) (0x80 | (c & 0x3F));
+      } else if (Character.isHighSurrogate(c) && i + 1 < length
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        bytes[position++] = (byte) (0xF0 | (codePoint >> 18));
+        bytes[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+        bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+      } else if (Character.isSurrogate(c)) {
+        bytes[position++] = '?';
+      } else {
+        bytes[position++] = (byte) (0xE0 | (c >> 12));
+        bytes[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        bytes[position++] = (byte) (0x80 | (c & 0x3F));
+      }
+    }
+  }
+
+  /**
+   * Writes a non-negative number as exactly {@code width} digits, padded with zeros.
+   */
+  private void digits(int value, int width) {
+    for (int i = position + width - 1; i >= position; i--) {
+      bytes[i] = (byte) ('0' + value % 10);
+      value /= 10;
+    }
+    position += width;
+  }
+}
@@ -8,7 +8,7 @@ import java.time.ZoneId;
 public class CalendarContext implements ICalendarContext {
 
   private String name;
-  private ZoneId timezone;
+  private CalendarZone zone;
   private ICalendarModel calendarModel;
   private ICalendarService calendarService;
 
@@ -20,8 +20,8 @@ public class CalendarContext implements ICalendarContext {
    */
   public CalendarContext(String name, String timezone) {
     this.name = name;
-    this.timezone = ZoneId.of(timezone);
-    this.calendarModel = new CalendarModel();
+    this.zone = new CalendarZone(ZoneId.of(timezone));
+    this.calendarModel = new CalendarModel(zone);
     this.calendarService = new CalendarService(this.calendarModel);
   }
 
@@ -52,17 +52,18 @@ public class CalendarContext implements ICalendarContext {
    */
   @Override
   public ZoneId getTimezone() {
-    return timezone;
+    return zone.getZone();
   }
 
   /**
-   * Updates the timezone of the calendar.
+   * Updates the timezone of the calendar. Events keep the instants they describe and are
+   * presented in the new timezone from now on; none of them is rewritten.
    *
    * @param timezone The new timezone to set
    */
   @Override
   public void setTimezone(String timezone) {
-    this.timezone = ZoneId.of(timezone);
+    zone.setZone(ZoneId.of(timezone));
   }
 
   /**
@@ -2,21 +2,121 @@ package model;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
 
 /**
  * Represents the calendar model that stores events and provides methods to add and query events.
+ * Every occurrence of every stored event is kept in an {@link IntervalTree}, so conflict checks
+ * only look at the occurrences that actually overlap the candidate, and in a map of date buckets,
+ * so looking up a single day only touches the events on that day. Busy-time lookups use a merged
+ * {@link BusyIntervals} view of the same occurrences. Occurrences added after every busy interval
+ * extend the view in place; any other add or change to a series makes the next lookup rebuild it
+ * from the tree in start order, so unordered bulk adds stay O(n log n). A moved single event only
+ * has the merged interval around its old position rebuilt. Subject lookups go through a case-insensitive
+ * subject index, where single events are also keyed by their start time.
+ *
+ * <p>A recurring candidate is checked for conflicts without expanding it: single events are found
+ * in a second tree that holds only them, over the span of the series, and stored series are
+ * compared with it rule against rule.
+ *
+ * <p>A model created with a {@link CalendarZone} attaches every event it stores to that zone and
+ * indexes the stored times, which do not depend on the zone the calendar is presented in. Queries
+ * convert their arguments into the storage zone, so changing the calendar's timezone leaves every
+ * index valid.
  */
-public class CalendarModel implements ICalendarModel {
+public class CalendarModel implements ICalendarModel, EventChangeListener {
 
   private List<Event> events;
+  private Map<Event, IndexEntry> entries;
+  private IntervalTree<Event> occurrenceTree;
+  private IntervalTree<Event> singleTree;
+  private List<IndexEntry> seriesEntries;
+  private NavigableMap<LocalDate, List<IndexEntry>> dayBuckets;
+  private BusyIntervals busyIntervals;
+  private boolean busyIntervalsStale;
+  private long nextSeq;
+  private StringPool stringPool;
+  private final UUID calendarId = UUID.randomUUID();
+  private Map<String, SubjectBucket> subjectBuckets;
+  private final CalendarZone zone;
+  private EventStoreListener storeListener;
 
   /**
-   * Constructs a new CalendarModel with an empty list of events.
+   * Bookkeeping for a stored event: its insertion order and the intervals it owns in the tree.
+   */
+  private static final class IndexEntry {
+
+    private final long seq;
+    private final Event event;
+    private List<IntervalTree.Node<Event>> nodes = new ArrayList<>();
+    private IntervalTree.Node<Event> singleNode;
+    private List<LocalDate> days = new ArrayList<>();
+    private LocalDateTime indexedStart;
+    private LocalDateTime indexedEnd;
+    private LocalDate indexedUntil;
+    private int indexedOverrides;
+    private String indexedSubject;
+    private LocalDateTime indexedSubjectStart;
+
+    private IndexEntry(long seq, Event event) {
+      this.seq = seq;
+      this.event = event;
+    }
+  }
+
+  /**
+   * The stored events sharing one normalized subject, each list kept in insertion order.
+   */
+  private static final class SubjectBucket {
+
+    private final List<IndexEntry> all = new ArrayList<>(1);
+    private final List<IndexEntry> series = new ArrayList<>(1);
+    private final Map<LocalDateTime, List<IndexEntry>> singlesByStart = new HashMap<>();
+
+    private boolean isEmpty() {
+      return all.isEmpty();
+    }
+  }
+
+  /**
+   * Constructs a new CalendarModel with an empty list of events. Events are stored with the
+   * times they are given and never converted.
    */
   public CalendarModel() {
+    this(null);
+  }
+
+  /**
+   * Constructs a new, empty CalendarModel whose events are stored in the storage zone of the given
+   * calendar zone and presented in its current zone.
+   *
+   * @param zone the zone of the calendar, or null to store times as given
+   */
+  public CalendarModel(CalendarZone zone) {
+    this.zone = zone;
     this.events = new ArrayList<>();
+    this.entries = new IdentityHashMap<>();
+    this.occurrenceTree = new IntervalTree<>();
+    this.singleTree = new IntervalTree<>();
+    this.seriesEntries = new ArrayList<>();
+    this.dayBuckets = new TreeMap<>();
+    this.busyIntervals = new BusyIntervals();
+    this.stringPool = new StringPool();
+    this.subjectBuckets = new HashMap<>();
   }
 
   /**
@@ -28,54 +128,537 @@ public class CalendarModel implements ICalendarModel {
    */
   @Override
   public void addEvent(Event event, boolean autoDecline) throws EventConflictException {
-    for (Event existingEvent : events) {
-      if (existingEvent.conflictsWith(event)) {
-        if (event.isAutoDecline()) {
-          throw new EventConflictException("Event '" + event.getSubject() +
-              "' conflicts with existing event '" + existingEvent.getSubject() + "'.");
-        }
+    if (event.isAutoDecline()) {
+      List<Event> conflicts = getConflictingEvents(event);
+      if (!conflicts.isEmpty()) {
+        throw new EventConflictException("Event '" + event.getSubject() +
+            "' conflicts with existing event '" + conflicts.get(0).getSubject() + "'.");
       }
     }
+    store(event);
+  }
+
+  /**
+   * Adds several events in one step, without checking them for conflicts.
+   *
+   * @param events the events to add, in order
+   */
+  @Override
+  public void addEvents(List<Event> events) {
+    for (Event event : events) {
+      store(event);
+    }
+  }
+
+  private void store(Event event) {
+    if (zone != null && event instanceof AbstractEvent) {
+      ((AbstractEvent) event).attachZone(zone);
+    }
     events.add(event);
+    IndexEntry entry = new IndexEntry(nextSeq++, event);
+    entries.put(event, entry);
+    if (event instanceof RecurringEvent) {
+      seriesEntries.add(entry);
+    }
+    index(event, entry);
+    indexSubject(event, entry);
+    if (event instanceof AbstractEvent) {
+      ((AbstractEvent) event).addChangeListener(this);
+    }
+    if (storeListener != null) {
+      storeListener.eventStored(this, event);
+    }
   }
 
   /**
-   * Gets all events occurring on a specific date.
+   * Removes a stored event together with everything the indexes hold for it.
    *
-   * @param date The date to check for events
-   * @return A list of events on the given date
+   * @param event the event to remove
+   * @return true if the event was stored and has been removed, false otherwise
    */
   @Override
-  public List<Event> getEventsOn(LocalDate date) {
-    List<Event> result = new ArrayList<>();
+  public boolean removeEvent(Event event) {
+    if (!discard(event)) {
+      return false;
+    }
+    events.remove(event);
+    return true;
+  }
+
+  /**
+   * Removes several stored events in one step. Each event is taken out of the indexes on its own,
+   * and the list of events is then compacted in a single pass.
+   *
+   * @param events the events to remove
+   * @return the number of events removed
+   */
+  @Override
+  public int removeEvents(List<Event> events) {
+    Set<Event> removed = Collections.newSetFromMap(new IdentityHashMap<>());
     for (Event event : events) {
-      if (occursOnDate(event, date)) {
-        result.add(event);
+      if (discard(event)) {
+        removed.add(event);
+      }
+    }
+    if (!removed.isEmpty()) {
+      this.events.removeIf(removed::contains);
+    }
+    return removed.size();
+  }
+
+  /**
+   * Takes a stored event out of every index except the list of events.
+   */
+  private boolean discard(Event event) {
+    IndexEntry entry = entries.remove(event);
+    if (entry == null) {
+      return false;
+    }
+    if (event instanceof RecurringEvent) {
+      removeBySeq(seriesEntries, entry);
+    }
+    unindex(entry);
+    unindexSubject(entry);
+    if (event instanceof AbstractEvent) {
+      ((AbstractEvent) event).removeChangeListener(this);
+      if (zone != null) {
+        ((AbstractEvent) event).attachZone(null);
+      }
+    }
+    if (storeListener != null) {
+      storeListener.eventRemoved(this, event);
+    }
+    return true;
+  }
+
+  /**
+   * Returns the stored events that have at least one occurrence overlapping an occurrence of the
+   * given event, in the order they were added. The event itself is never reported.
+   *
+   * @param event the event to check
+   * @return the conflicting events, empty if there are none
+   */
+  @Override
+  public List<Event> getConflictingEvents(Event event) {
+    if (event instanceof RecurringEvent && ((RecurringEvent) event).sameFrame(zone)) {
+      return getSeriesConflicts((RecurringEvent) event);
+    }
+    Map<Long, Event> bySeq = new TreeMap<>();
+    for (Event occurrence : event.occurrencesBetween(LocalDateTime.MIN, LocalDateTime.MAX)) {
+      long start = toKey(storedStart(occurrence));
+      long end = toKey(storedEnd(occurrence));
+      for (IntervalTree.Node<Event> node : occurrenceTree.overlapping(start, end)) {
+        if (node.getValue() != event) {
+          bySeq.put(node.getSeq(), node.getValue());
+        }
+      }
+    }
+    return new ArrayList<>(bySeq.values());
+  }
+
+  /**
+   * Finds the conflicts of a series whose stored times can be compared with the model's directly.
+   * Single events are looked up over the spans of the series and checked against its rule; stored
+   * series are checked rule against rule, so the cost follows the number of events involved
+   * rather than the number of occurrences.
+   */
+  private List<Event> getSeriesConflicts(RecurringEvent series) {
+    Map<Long, Event> bySeq = new TreeMap<>();
+    for (LocalDateTime[] span : series.storedSpans()) {
+      for (IntervalTree.Node<Event> node
+          : singleTree.overlapping(toKey(span[0]), toKey(span[1]))) {
+        if (!bySeq.containsKey(node.getSeq()) && series.conflictsWith(node.getValue())) {
+          bySeq.put(node.getSeq(), node.getValue());
+        }
+      }
+    }
+    for (IndexEntry entry : seriesEntries) {
+      if (entry.event != series && series.conflictsWith(entry.event)) {
+        bySeq.put(entry.seq, entry.event);
+      }
+    }
+    return new ArrayList<>(bySeq.values());
+  }
+
+  /**
+   * Returns the occurrences starting inside the range, in chronological order. The interval tree
+   * finds the events with an occurrence in the range, and each of them is expanded only across the
+   * range.
+   *
+   * @param start the inclusive start of the range
+   * @param end   the exclusive end of the range
+   * @return the occurrences in the range
+   */
+  @Override
+  public List<Event> getOccurrencesBetween(LocalDateTime start, LocalDateTime end) {
+    Map<Event, Long> owners = new LinkedHashMap<>();
+    for (IntervalTree.Node<Event> node
+        : occurrenceTree.startingBetween(toKey(toStored(start)), toKey(toStored(end)) + 1)) {
+      owners.putIfAbsent(node.getValue(), node.getSeq());
+    }
+    List<Map.Entry<Event, Long>> found = new ArrayList<>();
+    for (Map.Entry<Event, Long> owner : owners.entrySet()) {
+      for (Event occurrence : owner.getKey().occurrencesBetween(start, end)) {
+        found.add(new AbstractMap.SimpleImmutableEntry<>(occurrence, owner.getValue()));
+      }
+    }
+    found.sort(Comparator.<Map.Entry<Event, Long>, LocalDateTime>comparing(
+        e -> storedStart(e.getKey())).thenComparing(Map.Entry::getValue));
+    List<Event> result = new ArrayList<>(found.size());
+    for (Map.Entry<Event, Long> occurrence : found) {
+      result.add(occurrence.getKey());
+    }
+    return result;
+  }
+
+  /**
+   * Returns the stored events whose subject matches, ignoring case, in the order they were added.
+   *
+   * @param subject the subject to look up
+   * @return the matching events
+   */
+  @Override
+  public List<Event> getEventsBySubject(String subject) {
+    List<Event> result = new ArrayList<>();
+    SubjectBucket bucket = subject == null ? null : subjectBuckets.get(normalize(subject));
+    if (bucket != null) {
+      for (IndexEntry entry : bucket.all) {
+        result.add(entry.event);
       }
     }
     return result;
   }
 
   /**
-   * Checks if an event occurs on a given date.
+   * Returns the stored events whose subject matches, ignoring case, and that have an occurrence
+   * starting at {@code start}, in the order they were added. Single events are found with one
+   * hash probe; only the series sharing the subject are checked for an occurrence at that time.
+   *
+   * @param subject the subject to look up
+   * @param start   the start of the occurrence
+   * @return the matching events
+   */
+  @Override
+  public List<Event> getEventsAt(String subject, LocalDateTime start) {
+    SubjectBucket bucket = subject == null ? null : subjectBuckets.get(normalize(subject));
+    if (bucket == null) {
+      return new ArrayList<>();
+    }
+    Map<Long, Event> bySeq = new TreeMap<>();
+    List<IndexEntry> singles = bucket.singlesByStart.get(toStored(start));
+    if (singles != null) {
+      for (IndexEntry entry : singles) {
+        bySeq.put(entry.seq, entry.event);
+      }
+    }
+    for (IndexEntry entry : bucket.series) {
+      if (entry.event.occurrencesBetween(start, start.plusNanos(1)).iterator().hasNext()) {
+        bySeq.put(entry.seq, entry.event);
+      }
+    }
+    return new ArrayList<>(bySeq.values());
+  }
+
+  /**
+   * Re-indexes a stored event after one of its setters ran, if its timing, its overrides or its
+   * subject actually changed.
    *
-   * @param event The event to check
-   * @param date  The date to verify
-   * @return True if the event occurs on the specified date, false otherwise
+   * @param event the event that was changed
+   */
+  @Override
+  public void eventChanged(AbstractEvent event) {
+    IndexEntry entry = entries.get(event);
+    if (entry == null) {
+      return;
+    }
+    if (timingChanged(event, entry)) {
+      if (entry.singleNode != null) {
+        move(event, entry);
+      } else {
+        unindex(entry);
+        index(event, entry);
+      }
+    }
+    if (subjectKeyChanged(event, entry)) {
+      unindexSubject(entry);
+      indexSubject(event, entry);
+    }
+  }
+
+  private void index(Event event, IndexEntry entry) {
+    for (Event occurrence : event.occurrencesBetween(LocalDateTime.MIN, LocalDateTime.MAX)) {
+      LocalDateTime occurrenceStart = storedStart(occurrence);
+      LocalDateTime occurrenceEnd = storedEnd(occurrence);
+      long start = toKey(occurrenceStart);
+      long end = toKey(occurrenceEnd);
+      entry.nodes.add(occurrenceTree.insert(start, end, entry.seq, event));
+      if (!(event instanceof RecurringEvent)) {
+        entry.singleNode = singleTree.insert(start, end, entry.seq, event);
+      }
+      if (!busyIntervalsStale && !busyIntervals.append(start, end)) {
+        busyIntervalsStale = true;
+      }
+      LocalDate day = occurrenceStart.toLocalDate();
+      LocalDate lastDay = event instanceof SingleEvent ? occurrenceEnd.toLocalDate() : day;
+      for (; !day.isAfter(lastDay); day = day.plusDays(1)) {
+        addToBucket(day, entry);
+      }
+    }
+    entry.indexedStart = storedStart(event);
+    entry.indexedEnd = storedEnd(event);
+    entry.indexedUntil = event instanceof RecurringEvent
+        ? ((RecurringEvent) event).storedRecurrenceEndDate() : null;
+    entry.indexedOverrides = event instanceof RecurringEvent
+        ? ((RecurringEvent) event).getOverrideVersion() : 0;
+  }
+
+  private void unindex(IndexEntry entry) {
+    for (IntervalTree.Node<Event> node : entry.nodes) {
+      occurrenceTree.remove(node);
+    }
+    entry.nodes.clear();
+    if (entry.singleNode != null) {
+      singleTree.remove(entry.singleNode);
+      entry.singleNode = null;
+    }
+    busyIntervalsStale = true;
+    removeFromBuckets(entry);
+  }
+
+  /**
+   * Moves a single event to its new interval in place. Its tree nodes are repositioned, the day
+   * buckets are only touched if its days changed, and the busy view is patched by rebuilding just
+   * the merged interval the old one belonged to from the tree.
    */
-  private boolean occursOnDate(Event event, LocalDate date) {
-    if (event instanceof SingleEvent) {
-      LocalDate start = event.getStartDateTime().toLocalDate();
-      LocalDate end = event.getEffectiveEndDateTime().toLocalDate();
-      return (!date.isBefore(start)) && (!date.isAfter(end));
+  private void move(Event event, IndexEntry entry) {
+    IntervalTree.Node<Event> node = entry.nodes.get(0);
+    long oldStart = node.getStart();
+    long oldEnd = node.getEnd();
+    LocalDateTime newStart = storedStart(event);
+    LocalDateTime newEnd = storedEnd(event);
+    long start = toKey(newStart);
+    long end = toKey(newEnd);
+    occurrenceTree.move(node, start, end);
+    singleTree.move(entry.singleNode, start, end);
+    if (!busyIntervalsStale) {
+      long[] span = busyIntervals.removeEnclosing(oldStart, oldEnd);
+      if (span != null) {
+        for (IntervalTree.Node<Event> other : occurrenceTree.overlapping(span[0], span[1])) {
+          busyIntervals.add(other.getStart(), other.getEnd());
+        }
+      }
+      busyIntervals.add(start, end);
+    }
+    LocalDate firstDay = newStart.toLocalDate();
+    LocalDate lastDay = newEnd.toLocalDate();
+    if (entry.days.isEmpty() || !entry.days.get(0).equals(firstDay)
+        || !entry.days.get(entry.days.size() - 1).equals(lastDay)) {
+      removeFromBuckets(entry);
+      for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+        addToBucket(day, entry);
+      }
+    }
+    entry.indexedStart = newStart;
+    entry.indexedEnd = newEnd;
+  }
+
+  private void removeFromBuckets(IndexEntry entry) {
+    for (LocalDate day : entry.days) {
+      List<IndexEntry> bucket = dayBuckets.get(day);
+      bucket.remove(bucketPosition(bucket, entry.seq));
+      if (bucket.isEmpty()) {
+        dayBuckets.remove(day);
+      }
+    }
+    entry.days.clear();
+  }
+
+  private void indexSubject(Event event, IndexEntry entry) {
+    if (event.getSubject() == null) {
+      return;
+    }
+    entry.indexedSubject = normalize(event.getSubject());
+    SubjectBucket bucket = subjectBuckets.computeIfAbsent(entry.indexedSubject,
+        s -> new SubjectBucket());
+    insertBySeq(bucket.all, entry);
+    if (event instanceof RecurringEvent) {
+      insertBySeq(bucket.series, entry);
+    } else {
+      entry.indexedSubjectStart = storedStart(event);
+      insertBySeq(bucket.singlesByStart.computeIfAbsent(entry.indexedSubjectStart,
+          s -> new ArrayList<>(1)), entry);
+    }
+  }
+
+  private void unindexSubject(IndexEntry entry) {
+    if (entry.indexedSubject == null) {
+      return;
+    }
+    SubjectBucket bucket = subjectBuckets.get(entry.indexedSubject);
+    removeBySeq(bucket.all, entry);
+    if (entry.indexedSubjectStart == null) {
+      removeBySeq(bucket.series, entry);
     } else {
-      for (Event occurrence : event.getOccurrences()) {
-        if (occurrence.getStartDateTime().toLocalDate().equals(date)) {
-          return true;
+      List<IndexEntry> singles = bucket.singlesByStart.get(entry.indexedSubjectStart);
+      removeBySeq(singles, entry);
+      if (singles.isEmpty()) {
+        bucket.singlesByStart.remove(entry.indexedSubjectStart);
+      }
+    }
+    if (bucket.isEmpty()) {
+      subjectBuckets.remove(entry.indexedSubject);
+    }
+    entry.indexedSubject = null;
+    entry.indexedSubjectStart = null;
+  }
+
+  private boolean subjectKeyChanged(Event event, IndexEntry entry) {
+    String subject = event.getSubject() == null ? null : normalize(event.getSubject());
+    LocalDateTime start = event instanceof RecurringEvent || subject == null
+        ? null : storedStart(event);
+    return !Objects.equals(subject, entry.indexedSubject)
+        || !Objects.equals(start, entry.indexedSubjectStart);
+  }
+
+  /**
+   * Folds a subject the same way {@link String#equalsIgnoreCase} compares characters, so two
+   * subjects normalize to the same key exactly when they are equal ignoring case.
+   */
+  private static String normalize(String subject) {
+    char[] chars = subject.toCharArray();
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+    }
+    return new String(chars);
+  }
+
+  private static void insertBySeq(List<IndexEntry> bucket, IndexEntry entry) {
+    bucket.add(bucketPosition(bucket, entry.seq), entry);
+  }
+
+  private static void removeBySeq(List<IndexEntry> bucket, IndexEntry entry) {
+    bucket.remove(bucketPosition(bucket, entry.seq));
+  }
+
+  private void addToBucket(LocalDate day, IndexEntry entry) {
+    List<IndexEntry> bucket = dayBuckets.computeIfAbsent(day, d -> new ArrayList<>(2));
+    int position = bucketPosition(bucket, entry.seq);
+    if (position < bucket.size() && bucket.get(position) == entry) {
+      return;
+    }
+    bucket.add(position, entry);
+    entry.days.add(day);
+  }
+
+  /**
+   * Finds where an entry with the given sequence number is, or belongs, in a bucket kept in
+   * insertion order.
+   */
+  private static int bucketPosition(List<IndexEntry> bucket, long seq) {
+    int low = 0;
+    int high = bucket.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (bucket.get(mid).seq < seq) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private boolean timingChanged(Event event, IndexEntry entry) {
+    LocalDate until = event instanceof RecurringEvent
+        ? ((RecurringEvent) event).storedRecurrenceEndDate() : null;
+    int overrides = event instanceof RecurringEvent
+        ? ((RecurringEvent) event).getOverrideVersion() : 0;
+    return !storedStart(event).equals(entry.indexedStart)
+        || !storedEnd(event).equals(entry.indexedEnd)
+        || (until == null ? entry.indexedUntil != null : !until.equals(entry.indexedUntil))
+        || overrides != entry.indexedOverrides;
+  }
+
+  /**
+   * Returns the start of an event or occurrence in this model's storage zone. Events attached to
+   * the model are read as stored; any other event is converted from its presented time.
+   */
+  private LocalDateTime storedStart(Event event) {
+    if (event instanceof AbstractEvent && ((AbstractEvent) event).zone == zone) {
+      return ((AbstractEvent) event).storedStart();
+    }
+    return toStored(event.getStartDateTime());
+  }
+
+  /**
+   * Returns the effective end of an event or occurrence in this model's storage zone.
+   */
+  private LocalDateTime storedEnd(Event event) {
+    if (event instanceof AbstractEvent && ((AbstractEvent) event).zone == zone) {
+      return ((AbstractEvent) event).storedEnd();
+    }
+    return toStored(event.getEffectiveEndDateTime());
+  }
+
+  private LocalDateTime toStored(LocalDateTime display) {
+    return zone == null ? display : zone.toStored(display);
+  }
+
+  /**
+   * Converts a date-time into the epoch-second key used by the model's indexes.
+   *
+   * @param dateTime the date-time to convert
+   * @return the number of seconds since the epoch, treating the date-time as UTC
+   */
+  static long toKey(LocalDateTime dateTime) {
+    return dateTime.toEpochSecond(ZoneOffset.UTC);
+  }
+
+  /**
+   * Gets all events occurring on a specific date, in the order they were added. A single event
+   * is reported on every day it spans; a recurring event on every day one of its occurrences
+   * starts. Date buckets hold stored dates, so while the calendar is presented in another zone
+   * the buckets of the stored days overlapping the date are merged and filtered.
+   *
+   * @param date The date to check for events
+   * @return A list of events on the given date
+   */
+  @Override
+  public List<Event> getEventsOn(LocalDate date) {
+    List<Event> result = new ArrayList<>();
+    if (zone != null && zone.isShifted()) {
+      LocalDateTime from = zone.toStored(date.atStartOfDay());
+      LocalDateTime to = zone.toStored(date.plusDays(1).atStartOfDay());
+      Map<Long, IndexEntry> bySeq = new TreeMap<>();
+      for (List<IndexEntry> bucket
+          : dayBuckets.subMap(from.toLocalDate(), true, to.toLocalDate(), true).values()) {
+        for (IndexEntry entry : bucket) {
+          bySeq.putIfAbsent(entry.seq, entry);
         }
       }
-      return false;
+      for (IndexEntry entry : bySeq.values()) {
+        if (isOn(entry.event, date)) {
+          result.add(entry.event);
+        }
+      }
+      return result;
+    }
+    List<IndexEntry> bucket = dayBuckets.get(date);
+    if (bucket != null) {
+      for (IndexEntry entry : bucket) {
+        result.add(entry.event);
+      }
+    }
+    return result;
+  }
+
+  private static boolean isOn(Event event, LocalDate date) {
+    if (event instanceof RecurringEvent) {
+      return event.occurrencesBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay())
+          .iterator().hasNext();
     }
+    return !event.getStartDateTime().toLocalDate().isAfter(date)
+        && !event.getEffectiveEndDateTime().toLocalDate().isBefore(date);
   }
 
   /**
@@ -96,17 +679,44 @@ public class CalendarModel implements ICalendarModel {
    */
   @Override
   public boolean isBusyAt(LocalDateTime dateTime) {
-    for (Event event : events) {
-      for (Event occurrence : event.getOccurrences()) {
-        if (occurrence instanceof SingleEvent) {
-          Event se = occurrence;
-          if (se.getStartDateTime().isBefore(dateTime) && se.getEffectiveEndDateTime()
-              .isAfter(dateTime)) {
-            return true;
-          }
-        }
+    if (busyIntervalsStale) {
+      busyIntervals.clear();
+      for (IntervalTree.Node<Event> node
+          : occurrenceTree.overlapping(Long.MIN_VALUE, Long.MAX_VALUE)) {
+        busyIntervals.add(node.getStart(), node.getEnd());
       }
+      busyIntervalsStale = false;
     }
-    return false;
+    return busyIntervals.contains(toKey(toStored(dateTime)));
+  }
+
+  /**
+   * Returns the pool that subjects, descriptions and locations of this calendar are interned in.
+   *
+   * @return the calendar's string pool
+   */
+  @Override
+  public StringPool getStringPool() {
+    return stringPool;
+  }
+
+  /**
+   * Returns the random identifier this calendar was created with.
+   *
+   * @return the calendar's identifier
+   */
+  @Override
+  public UUID getCalendarId() {
+    return calendarId;
+  }
+
+  /**
+   * Sets the listener told about every event this model stores or removes.
+   *
+   * @param listener the listener, or null to stop reporting
+   */
+  @Override
+  public void setStoreListener(EventStoreListener listener) {
+    this.storeListener = listener;
   }
-}
\ No newline at end of file
+}
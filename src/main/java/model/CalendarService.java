@@ -45,7 +45,9 @@ public class CalendarService implements ICalendarService {
       String description, String location,
       boolean isPublic, boolean autoDecline)
       throws InvalidDateException, EventConflictException {
-    AbstractEvent event = new SingleEvent(subject, start, end, description, location, isPublic);
+    StringPool pool = model.getStringPool();
+    AbstractEvent event = new SingleEvent(pool.intern(subject), start, end,
+        pool.intern(description), pool.intern(location), isPublic);
     event.setAutoDecline(autoDecline);
     model.addEvent(event, autoDecline);
   }
@@ -73,7 +75,9 @@ public class CalendarService implements ICalendarService {
       int occurrenceCount, LocalDate recurrenceEndDate,
       boolean autoDecline)
       throws InvalidDateException, EventConflictException {
-    AbstractEvent event = new RecurringEvent(subject, start, end, description, location, isPublic,
+    StringPool pool = model.getStringPool();
+    AbstractEvent event = new RecurringEvent(pool.intern(subject), start, end,
+        pool.intern(description), pool.intern(location), isPublic,
         recurrenceDays, occurrenceCount, recurrenceEndDate);
     event.setAutoDecline(autoDecline);
     model.addEvent(event, autoDecline);
@@ -128,9 +132,20 @@ public class CalendarService implements ICalendarService {
   }
 
   /**
-   * Exports the calendar to a CSV file.
+   * Applies several edits atomically: either all of them take effect or none do.
    *
-   * @param format The export format (currently only "csv" is supported)
+   * @param edits The edits to apply, in order
+   * @throws Exception If an edit fails or the batch would cause a conflict
+   */
+  @Override
+  public void editEvents(List<EventEdit> edits) throws Exception {
+    editOps.editEvents(model, edits);
+  }
+
+  /**
+   * Exports the calendar to a file.
+   *
+   * @param format The export format, "csv" or "ics"
    * @param path   The file path to export to
    * @return The path where the file was saved
    * @throws IOException If the export fails
@@ -171,4 +186,14 @@ public class CalendarService implements ICalendarService {
   public String printEventsRange(LocalDateTime start, LocalDateTime end) throws Exception {
     return printer.printEventsRange(start, end);
   }
+
+  /**
+   * Reports how many event strings were deduplicated by the calendar's string pool.
+   *
+   * @return the memory report
+   */
+  @Override
+  public String getStringPoolReport() {
+    return model.getStringPool().getReport();
+  }
 }
\ No newline at end of file
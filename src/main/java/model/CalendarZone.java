@@ -0,0 +1,106 @@
+package model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * The timezone of a calendar, shared by the calendar and every event it holds. Events keep their
+ * times in the storage zone, the zone the calendar was created in, so the instants they describe
+ * never change. The calendar's current zone is only applied when a time is read from or written
+ * to an event, which makes changing the timezone of a calendar a single field update: no event
+ * is rewritten and no index has to be rebuilt. Conversions go through the shared
+ * {@link ZoneOffsetTable} of the two zones.
+ */
+public class CalendarZone {
+
+  private final ZoneId storageZone;
+  private ZoneId zone;
+  private boolean shifted;
+  private ZoneOffsetTable toDisplayTable;
+  private ZoneOffsetTable toStoredTable;
+
+  /**
+   * Creates a calendar zone whose storage zone and current zone are both the given zone.
+   *
+   * @param zone the zone the calendar is created in
+   */
+  public CalendarZone(ZoneId zone) {
+    this.storageZone = zone;
+    this.zone = zone;
+  }
+
+  /**
+   * Returns the zone event times are stored in.
+   *
+   * @return the storage zone
+   */
+  public ZoneId getStorageZone() {
+    return storageZone;
+  }
+
+  /**
+   * Returns the zone event times are currently presented in.
+   *
+   * @return the current zone
+   */
+  public ZoneId getZone() {
+    return zone;
+  }
+
+  /**
+   * Changes the zone event times are presented in. Stored times are left untouched.
+   *
+   * @param zone the new zone
+   */
+  public void setZone(ZoneId zone) {
+    this.zone = zone;
+    this.shifted = !zone.equals(storageZone);
+    this.toDisplayTable = shifted ? ZoneOffsetTable.forPair(storageZone, zone) : null;
+    this.toStoredTable = shifted ? ZoneOffsetTable.forPair(zone, storageZone) : null;
+  }
+
+  /**
+   * Checks whether the current zone differs from the storage zone, i.e. whether times need to be
+   * converted at all.
+   *
+   * @return true if stored and presented times differ
+   */
+  public boolean isShifted() {
+    return shifted;
+  }
+
+  /**
+   * Converts a stored time into the current zone.
+   *
+   * @param stored a wall-clock time in the storage zone, may be null
+   * @return the same instant as a wall-clock time in the current zone
+   */
+  LocalDateTime toDisplay(LocalDateTime stored) {
+    if (!shifted || isUnbounded(stored)) {
+      return stored;
+    }
+    return toDisplayTable.convert(stored);
+  }
+
+  /**
+   * Converts a time in the current zone into the storage zone.
+   *
+   * @param display a wall-clock time in the current zone, may be null
+   * @return the same instant as a wall-clock time in the storage zone
+   */
+  LocalDateTime toStored(LocalDateTime display) {
+    if (!shifted || isUnbounded(display)) {
+      return display;
+    }
+    return toStoredTable.convert(display);
+  }
+
+  /**
+   * Null and the {@link LocalDateTime#MIN}/{@link LocalDateTime#MAX} sentinels used for open
+   * windows are passed through unchanged.
+   */
+  private static boolean isUnbounded(LocalDateTime dateTime) {
+    return dateTime == null || dateTime.equals(LocalDateTime.MIN)
+        || dateTime.equals(LocalDateTime.MAX);
+  }
+}
@@ -0,0 +1,563 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * A memory-compact calendar model that stores every occurrence as a row of primitive columns:
+ * epoch-minute starts and ends in {@code long[]} arrays, subject, description and location as
+ * {@code int[]} ids into the calendar's {@link StringPool}, and the public and auto-decline flags
+ * in {@link BitSet}s. Recurring events are flattened into one row per occurrence when they are
+ * added, and times are kept at minute precision.
+ *
+ * <p>{@link Event} objects are only materialized when a query returns them. Each one is a
+ * {@link SingleEvent} view of its row; changes made through a view's setters are written back to
+ * the columns, and removing a view removes its row. Rows are found through a sorted array of
+ * packed (start, row) keys, with recently added rows held in a small unsorted buffer that is
+ * merged in once it fills up. Lookups by time reach back by the longest duration among the live
+ * rows. The rows are counted per duration, so removing or shortening the longest row shortens the
+ * look-back again.
+ */
+public class CompactCalendarModel implements ICalendarModel, EventChangeListener {
+
+  private static final int PENDING_LIMIT = 4096;
+
+  private long[] starts = new long[16];
+  private long[] ends = new long[16];
+  private int[] subjects = new int[16];
+  private int[] descriptions = new int[16];
+  private int[] locations = new int[16];
+  private final BitSet publicFlags = new BitSet();
+  private final BitSet autoDeclineFlags = new BitSet();
+  private final BitSet removedRows = new BitSet();
+  private int size;
+
+  private final StringPool stringPool = new StringPool();
+  private final UUID calendarId = UUID.randomUUID();
+
+  private long[] sortedKeys = new long[0];
+  private int sortedSize;
+  private final int[] pending = new int[PENDING_LIMIT];
+  private int pendingSize;
+  private boolean sortedStale;
+  private final TreeMap<Long, Integer> durationCounts = new TreeMap<>();
+  private EventStoreListener storeListener;
+
+  /**
+   * A {@link SingleEvent} materialized from one row of the columns.
+   */
+  private static final class RowView extends SingleEvent {
+
+    private final CompactCalendarModel owner;
+    private final int row;
+
+    private RowView(CompactCalendarModel owner, int row, String subject, LocalDateTime start,
+        LocalDateTime end, String description, String location, boolean isPublic)
+        throws InvalidDateException {
+      super(subject, start, end, description, location, isPublic);
+      this.owner = owner;
+      this.row = row;
+    }
+  }
+
+  /**
+   * Adds an event, storing one row per occurrence.
+   *
+   * @param event       the event to add
+   * @param autoDecline whether conflicting events should be auto-declined
+   * @throws EventConflictException if the event conflicts and has auto-decline enabled
+   */
+  @Override
+  public void addEvent(Event event, boolean autoDecline) throws EventConflictException {
+    if (event.isAutoDecline()) {
+      List<Event> conflicts = getConflictingEvents(event);
+      if (!conflicts.isEmpty()) {
+        throw new EventConflictException("Event '" + event.getSubject() +
+            "' conflicts with existing event '" + conflicts.get(0).getSubject() + "'.");
+      }
+    }
+    store(event);
+  }
+
+  /**
+   * Adds several events in one step, without checking them for conflicts.
+   *
+   * @param events the events to add, in order
+   */
+  @Override
+  public void addEvents(List<Event> events) {
+    for (Event event : events) {
+      store(event);
+    }
+  }
+
+  /**
+   * Writes the occurrences of an event as new rows. Every occurrence is checked before the first
+   * row is written, so an event that cannot be stored leaves no rows behind. A view of a row this
+   * model removed brings the row back instead, so a removal can be undone.
+   */
+  private void store(Event event) {
+    if (event instanceof RowView && ((RowView) event).owner == this
+        && removedRows.get(((RowView) event).row)) {
+      removedRows.clear(((RowView) event).row);
+      countDuration(((RowView) event).row, 1);
+      sortedStale = true;
+      if (storeListener != null) {
+        storeListener.eventStored(this, event);
+      }
+      return;
+    }
+    List<Event> occurrences = new ArrayList<>();
+    for (Event occurrence : event.occurrencesBetween(LocalDateTime.MIN, LocalDateTime.MAX)) {
+      checkRange(occurrence);
+      occurrences.add(occurrence);
+    }
+    ensureCapacity(size + occurrences.size());
+    for (Event occurrence : occurrences) {
+      int row = size;
+      size++;
+      writeRow(row, occurrence);
+      countDuration(row, 1);
+      autoDeclineFlags.set(row, event.isAutoDecline());
+      addToIndex(row);
+      if (storeListener != null) {
+        storeListener.eventStored(this, view(row));
+      }
+    }
+  }
+
+  /**
+   * Removes the row behind a view returned by this model. Removed rows are only marked, and are
+   * left out of the sorted keys the next time they are rebuilt.
+   *
+   * @param event a view returned by this model
+   * @return true if the view's row was stored and has been removed, false otherwise
+   */
+  @Override
+  public boolean removeEvent(Event event) {
+    if (!(event instanceof RowView) || ((RowView) event).owner != this
+        || removedRows.get(((RowView) event).row)) {
+      return false;
+    }
+    removedRows.set(((RowView) event).row);
+    countDuration(((RowView) event).row, -1);
+    sortedStale = true;
+    if (storeListener != null) {
+      storeListener.eventRemoved(this, event);
+    }
+    return true;
+  }
+
+  /**
+   * Removes the rows behind several views returned by this model.
+   *
+   * @param events the views to remove
+   * @return the number of rows removed
+   */
+  @Override
+  public int removeEvents(List<Event> events) {
+    int removed = 0;
+    for (Event event : events) {
+      if (removeEvent(event)) {
+        removed++;
+      }
+    }
+    return removed;
+  }
+
+  /**
+   * Returns the occurrences on the given date, in the order their rows were added. An occurrence
+   * is on a date if the date lies between its start and end dates.
+   *
+   * @param date the date to search
+   * @return views of the matching rows
+   */
+  @Override
+  public List<Event> getEventsOn(LocalDate date) {
+    long dayStart = toMinute(date.atStartOfDay());
+    long nextDay = toMinute(date.plusDays(1).atStartOfDay());
+    List<Long> rows = new ArrayList<>();
+    for (long key : rowsStartingBetween(dayStart - maxDuration(), nextDay)) {
+      int row = rowOf(key);
+      if (ends[row] >= dayStart) {
+        rows.add((long) row);
+      }
+    }
+    return materialize(rows);
+  }
+
+  /**
+   * Returns a view of every stored occurrence, in the order the rows were added.
+   *
+   * @return views of all rows
+   */
+  @Override
+  public List<Event> getAllEvents() {
+    List<Event> result = new ArrayList<>(size);
+    for (int row = removedRows.nextClearBit(0); row < size;
+        row = removedRows.nextClearBit(row + 1)) {
+      result.add(view(row));
+    }
+    return result;
+  }
+
+  /**
+   * Returns views of the rows overlapping any occurrence of the given event, in the order the rows
+   * were added. If the event is a view of this model, its own row is never reported.
+   *
+   * @param event the event to check
+   * @return the conflicting rows
+   */
+  @Override
+  public List<Event> getConflictingEvents(Event event) {
+    int self = event instanceof RowView && ((RowView) event).owner == this
+        ? ((RowView) event).row : -1;
+    Set<Long> rows = new HashSet<>();
+    for (Event occurrence : event.occurrencesBetween(LocalDateTime.MIN, LocalDateTime.MAX)) {
+      LocalDateTime start = occurrence.getStartDateTime();
+      LocalDateTime end = occurrence.getEffectiveEndDateTime();
+      long startMinute = toMinute(start);
+      for (long key : rowsStartingBetween(startMinute - maxDuration(), toMinute(end) + 1)) {
+        int row = rowOf(key);
+        if (row != self && start.isBefore(toDateTime(ends[row]))
+            && toDateTime(starts[row]).isBefore(end)) {
+          rows.add((long) row);
+        }
+      }
+    }
+    return materialize(new ArrayList<>(rows));
+  }
+
+  /**
+   * Returns the occurrences starting inside the range, ordered by start and then by row.
+   *
+   * @param start the inclusive start of the range
+   * @param end   the exclusive end of the range
+   * @return views of the matching rows
+   */
+  @Override
+  public List<Event> getOccurrencesBetween(LocalDateTime start, LocalDateTime end) {
+    long[] keys = rowsStartingBetween(toMinute(start), toMinute(end) + 1);
+    Arrays.sort(keys);
+    List<Event> result = new ArrayList<>();
+    for (long key : keys) {
+      int row = rowOf(key);
+      LocalDateTime rowStart = toDateTime(starts[row]);
+      if (!rowStart.isBefore(start) && rowStart.isBefore(end)) {
+        result.add(view(row));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns views of the rows whose subject matches, ignoring case, in the order they were added.
+   * The string pool is searched for the matching subject ids once, and the subject column is
+   * then scanned for those ids.
+   *
+   * @param subject the subject to look up
+   * @return views of the matching rows
+   */
+  @Override
+  public List<Event> getEventsBySubject(String subject) {
+    Set<Integer> ids = subjectIds(subject);
+    List<Event> result = new ArrayList<>();
+    if (ids.isEmpty()) {
+      return result;
+    }
+    for (int row = 0; row < size; row++) {
+      if (ids.contains(subjects[row]) && !removedRows.get(row)) {
+        result.add(view(row));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns views of the rows whose subject matches, ignoring case, and that start at
+   * {@code start}, in the order they were added.
+   *
+   * @param subject the subject to look up
+   * @param start   the start of the occurrence
+   * @return views of the matching rows
+   */
+  @Override
+  public List<Event> getEventsAt(String subject, LocalDateTime start) {
+    Set<Integer> ids = subjectIds(subject);
+    List<Long> rows = new ArrayList<>();
+    long minute = toMinute(start);
+    for (long key : rowsStartingBetween(minute, minute + 1)) {
+      int row = rowOf(key);
+      if (ids.contains(subjects[row]) && toDateTime(starts[row]).equals(start)) {
+        rows.add((long) row);
+      }
+    }
+    return materialize(rows);
+  }
+
+  /**
+   * Checks whether some occurrence starts strictly before and ends strictly after the given time.
+   *
+   * @param dateTime the date-time to check
+   * @return true if the calendar is busy
+   */
+  @Override
+  public boolean isBusyAt(LocalDateTime dateTime) {
+    long minute = toMinute(dateTime);
+    for (long key : rowsStartingBetween(minute - maxDuration(), minute + 1)) {
+      int row = rowOf(key);
+      if (toDateTime(starts[row]).isBefore(dateTime)
+          && toDateTime(ends[row]).isAfter(dateTime)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Writes changes made through a view's setters back into its row.
+   *
+   * @param event the changed event
+   */
+  @Override
+  public void eventChanged(AbstractEvent event) {
+    if (!(event instanceof RowView) || ((RowView) event).owner != this
+        || removedRows.get(((RowView) event).row)) {
+      return;
+    }
+    int row = ((RowView) event).row;
+    checkRange(event);
+    countDuration(row, -1);
+    writeRow(row, event);
+    countDuration(row, 1);
+    autoDeclineFlags.set(row, event.isAutoDecline());
+    sortedStale = true;
+  }
+
+  /**
+   * Returns the pool that the string columns hold ids into.
+   *
+   * @return the calendar's string pool
+   */
+  @Override
+  public StringPool getStringPool() {
+    return stringPool;
+  }
+
+  /**
+   * Returns the random identifier this calendar was created with.
+   *
+   * @return the calendar's identifier
+   */
+  @Override
+  public UUID getCalendarId() {
+    return calendarId;
+  }
+
+  /**
+   * Returns the number of stored occurrence rows, not counting removed ones.
+   *
+   * @return the number of rows
+   */
+  public int size() {
+    return size - removedRows.cardinality();
+  }
+
+  private static void checkRange(Event occurrence) {
+    long start = toMinute(occurrence.getStartDateTime());
+    if (start < Integer.MIN_VALUE || start > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Event start is outside the supported range: "
+          + occurrence.getStartDateTime());
+    }
+  }
+
+  private void writeRow(int row, Event occurrence) {
+    checkRange(occurrence);
+    long start = toMinute(occurrence.getStartDateTime());
+    long end = toMinute(occurrence.getEffectiveEndDateTime());
+    starts[row] = start;
+    ends[row] = end;
+    subjects[row] = stringPool.idOf(occurrence.getSubject());
+    descriptions[row] = stringPool.idOf(occurrence.getDescription());
+    locations[row] = stringPool.idOf(occurrence.getLocation());
+    publicFlags.set(row, occurrence.isPublic());
+  }
+
+  private void countDuration(int row, int delta) {
+    durationCounts.merge(ends[row] - starts[row], delta,
+        (count, change) -> count + change == 0 ? null : count + change);
+  }
+
+  /**
+   * Returns the longest duration among the live rows, in minutes.
+   */
+  private long maxDuration() {
+    return durationCounts.isEmpty() ? 0 : durationCounts.lastKey();
+  }
+
+  private Set<Integer> subjectIds(String subject) {
+    Set<Integer> ids = new HashSet<>();
+    for (int id = 0; subject != null && id < stringPool.size(); id++) {
+      if (subject.equalsIgnoreCase(stringPool.valueOf(id))) {
+        ids.add(id);
+      }
+    }
+    return ids;
+  }
+
+  private Event view(int row) {
+    try {
+      RowView view = new RowView(this, row, stringPool.valueOf(subjects[row]),
+          toDateTime(starts[row]), toDateTime(ends[row]), stringPool.valueOf(descriptions[row]),
+          stringPool.valueOf(locations[row]), publicFlags.get(row));
+      view.setAutoDecline(autoDeclineFlags.get(row));
+      view.addChangeListener(this);
+      return view;
+    } catch (InvalidDateException e) {
+      throw new IllegalStateException("Stored row " + row + " ends before it starts.", e);
+    }
+  }
+
+  private List<Event> materialize(List<Long> rows) {
+    rows.sort(null);
+    List<Event> result = new ArrayList<>(rows.size());
+    for (long row : rows) {
+      result.add(view((int) row));
+    }
+    return result;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity <= starts.length) {
+      return;
+    }
+    int newLength = Math.max(capacity, starts.length * 2);
+    starts = Arrays.copyOf(starts, newLength);
+    ends = Arrays.copyOf(ends, newLength);
+    subjects = Arrays.copyOf(subjects, newLength);
+    descriptions = Arrays.copyOf(descriptions, newLength);
+    locations = Arrays.copyOf(locations, newLength);
+  }
+
+  private void addToIndex(int row) {
+    if (sortedStale) {
+      return;
+    }
+    pending[pendingSize++] = row;
+    if (pendingSize == PENDING_LIMIT) {
+      mergePending();
+    }
+  }
+
+  /**
+   * Sorts the pending rows and merges them into the sorted key array in one linear pass.
+   */
+  private void mergePending() {
+    long[] incoming = new long[pendingSize];
+    for (int i = 0; i < pendingSize; i++) {
+      incoming[i] = keyOf(pending[i]);
+    }
+    Arrays.sort(incoming);
+    long[] merged = new long[sortedSize + incoming.length];
+    int i = 0;
+    int j = 0;
+    int k = 0;
+    while (i < sortedSize && j < incoming.length) {
+      merged[k++] = sortedKeys[i] <= incoming[j] ? sortedKeys[i++] : incoming[j++];
+    }
+    while (i < sortedSize) {
+      merged[k++] = sortedKeys[i++];
+    }
+    while (j < incoming.length) {
+      merged[k++] = incoming[j++];
+    }
+    sortedKeys = merged;
+    sortedSize = merged.length;
+    pendingSize = 0;
+  }
+
+  /**
+   * Returns the packed keys of every row whose start minute lies in {@code [from, to)}.
+   */
+  private long[] rowsStartingBetween(long from, long to) {
+    if (sortedStale) {
+      sortedKeys = new long[size()];
+      int count = 0;
+      for (int row = removedRows.nextClearBit(0); row < size;
+          row = removedRows.nextClearBit(row + 1)) {
+        sortedKeys[count++] = keyOf(row);
+      }
+      Arrays.sort(sortedKeys);
+      sortedSize = count;
+      pendingSize = 0;
+      sortedStale = false;
+    }
+    from = Math.max(from, Integer.MIN_VALUE);
+    to = Math.min(to, (long) Integer.MAX_VALUE + 1);
+    if (from >= to) {
+      return new long[0];
+    }
+    int low = lowerBound(from << 32);
+    int high = to > Integer.MAX_VALUE ? sortedSize : lowerBound(to << 32);
+    long[] result = Arrays.copyOf(Arrays.copyOfRange(sortedKeys, low, high),
+        high - low + pendingSize);
+    int count = high - low;
+    for (int i = 0; i < pendingSize; i++) {
+      long start = starts[pending[i]];
+      if (start >= from && start < to) {
+        result[count++] = keyOf(pending[i]);
+      }
+    }
+    return Arrays.copyOf(result, count);
+  }
+
+  private int lowerBound(long key) {
+    int low = 0;
+    int high = sortedSize;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (sortedKeys[mid] < key) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private long keyOf(int row) {
+    return (starts[row] << 32) | row;
+  }
+
+  private static int rowOf(long key) {
+    return (int) key;
+  }
+
+  private static long toMinute(LocalDateTime dateTime) {
+    return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+  }
+
+  private static LocalDateTime toDateTime(long minute) {
+    return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+  }
+
+  /**
+   * Sets the listener told about every row this model stores or removes. Stored rows are reported
+   * as views.
+   *
+   * @param listener the listener, or null to stop reporting
+   */
+  @Override
+  public void setStoreListener(EventStoreListener listener) {
+    this.storeListener = listener;
+  }
+}
@@ -3,17 +3,83 @@ package model;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Handles operations for editing events in a calendar model.
  */
 public class EditEventOperations implements IEditEventOperations {
 
-  private Map<RecurringEvent, Map<LocalDateTime,
-      SingleEvent>> recurringOverrides = new HashMap<>();
+  private Batch batch;
+
+  /**
+   * Bookkeeping for a batch in progress: the state of every event before the batch touched it,
+   * the series it added, the overrides it installed with their series, and the events whose
+   * conflicts are checked at the end: those whose timing it changed and the series it added.
+   */
+  private static final class Batch {
+
+    private final Map<Event, EventSnapshot> snapshots = new IdentityHashMap<>();
+    private final List<Event> added = new ArrayList<>();
+    private final Map<SingleEvent, RecurringEvent> overrides = new IdentityHashMap<>();
+    private final Set<AbstractEvent> unchecked =
+        Collections.newSetFromMap(new IdentityHashMap<>());
+  }
+
+  /**
+   * Applies a list of edits as one atomic batch. Each edit selects its events through the model's
+   * subject index, and the events are snapshotted before they are first changed. Nothing is
+   * checked for conflicts while the edits run; moved events, series split off by FROM edits and
+   * installed overrides are checked once against the model's index after the last edit, so the
+   * batch is accepted or rejected as a whole. On failure, added series are removed and every
+   * snapshot is restored.
+   *
+   * @param model The calendar model containing the events
+   * @param edits The edits to apply, in order
+   * @throws Exception If an edit fails or the batch would cause a conflict
+   */
+  @Override
+  public void editEvents(ICalendarModel model, List<EventEdit> edits) throws Exception {
+    batch = new Batch();
+    try {
+      for (EventEdit edit : edits) {
+        for (Event event : model.getEventsBySubject(edit.getSubject())) {
+          if (event instanceof AbstractEvent && !batch.snapshots.containsKey(event)) {
+            batch.snapshots.put(event, new EventSnapshot((AbstractEvent) event));
+          }
+        }
+        editEvent(model, edit.getSubject(), edit.getFrom(), edit.getProperty(),
+            edit.getNewValue(), edit.getMode());
+      }
+      for (AbstractEvent event : batch.unchecked) {
+        if (event.isAutoDecline() && !model.getConflictingEvents(event).isEmpty()) {
+          throw new IllegalArgumentException(
+              "Edit would cause a conflict for event '" + event.getSubject() + "'.");
+        }
+      }
+      for (Map.Entry<SingleEvent, RecurringEvent> override : batch.overrides.entrySet()) {
+        checkInstalledOverride(model, override.getValue(), override.getKey());
+      }
+    } catch (Exception e) {
+      rollback(model, batch);
+      throw e;
+    } finally {
+      batch = null;
+    }
+  }
+
+  private static void rollback(ICalendarModel model, Batch batch) throws InvalidDateException {
+    for (int i = batch.added.size() - 1; i >= 0; i--) {
+      model.removeEvent(batch.added.get(i));
+    }
+    for (EventSnapshot snapshot : batch.snapshots.values()) {
+      snapshot.restore();
+    }
+  }
 
   /**
    * Edits an event’s property based on the specified mode.
@@ -30,13 +96,10 @@ public class EditEventOperations implements IEditEventOperations {
   public void editEvent(ICalendarModel model, String subject, LocalDateTime from, String property,
       String newValue, ICalendarService.EditMode mode) throws Exception {
     boolean edited = false;
-    List<Event> events = model.getAllEvents();
+    List<Event> events = model.getEventsBySubject(subject);
     List<Event> newRecurringEvents = new ArrayList<>();
 
     for (Event event : events) {
-      if (!event.getSubject().equalsIgnoreCase(subject)) {
-        continue;
-      }
       if (!(event instanceof RecurringEvent)) {
         if (mode != ICalendarService.EditMode.SINGLE) {
           throw new UnsupportedOperationException(
@@ -55,30 +118,26 @@ public class EditEventOperations implements IEditEventOperations {
           edited = true;
           break;
         case SINGLE:
-          List<SingleEvent> occs = re.generateOccurrences();
           boolean found = false;
-          for (SingleEvent occ : occs) {
-            if (occ.getStartDateTime().equals(from)) {
-              SingleEvent overrideOcc = createOverride(occ, property, newValue);
-              recurringOverrides
-                  .computeIfAbsent(re, k -> new HashMap<>())
-                  .put(occ.getStartDateTime(), overrideOcc);
-              found = true;
-              edited = true;
-              break;
+          for (Event occ : re.occurrencesBetween(from, from.plusNanos(1))) {
+            SingleEvent overrideOcc = createOverride((SingleEvent) occ, property, newValue);
+            if (batch != null) {
+              batch.overrides.put(overrideOcc, re);
+            } else if (isOverrideConflict(model, re, occ.getStartDateTime(), overrideOcc)) {
+              throw new IllegalArgumentException("Edit would cause a conflict.");
             }
+            re.overrideOccurrence((SingleEvent) occ, overrideOcc);
+            found = true;
+            edited = true;
           }
           if (!found) {
             throw new Exception("No occurrence found at the specified time for recurring event.");
           }
           break;
         case FROM:
-          List<SingleEvent> allOccs = re.generateOccurrences();
           List<SingleEvent> futureOccs = new ArrayList<>();
-          for (SingleEvent occ : allOccs) {
-            if (!occ.getStartDateTime().isBefore(from)) {
-              futureOccs.add(occ);
-            }
+          for (Event occ : re.occurrencesBetween(from, LocalDateTime.MAX)) {
+            futureOccs.add((SingleEvent) occ);
           }
           if (futureOccs.isEmpty()) {
             break;
@@ -97,8 +156,14 @@ public class EditEventOperations implements IEditEventOperations {
       }
     }
     for (Event newEvent : newRecurringEvents) {
-      model.addEvent(newEvent,
-          newEvent instanceof AbstractEvent && newEvent.isAutoDecline());
+      if (batch != null) {
+        model.addEvents(Collections.singletonList(newEvent));
+        batch.added.add(newEvent);
+        batch.unchecked.add((AbstractEvent) newEvent);
+      } else {
+        model.addEvent(newEvent,
+            newEvent instanceof AbstractEvent && newEvent.isAutoDecline());
+      }
     }
     if (!edited) {
       throw new Exception("No matching event found to edit.");
@@ -118,11 +183,11 @@ public class EditEventOperations implements IEditEventOperations {
       ICalendarModel model)
       throws Exception {
     if (property.equalsIgnoreCase("subject")) {
-      event.setSubject(newValue);
+      event.setSubject(model.getStringPool().intern(newValue));
     } else if (property.equalsIgnoreCase("description")) {
-      event.setDescription(newValue);
+      event.setDescription(model.getStringPool().intern(newValue));
     } else if (property.equalsIgnoreCase("location")) {
-      event.setLocation(newValue);
+      event.setLocation(model.getStringPool().intern(newValue));
     } else if (property.equalsIgnoreCase("public")) {
       event.setPublic(Boolean.parseBoolean(newValue));
     } else if (property.equalsIgnoreCase("autodecline")) {
@@ -137,7 +202,9 @@ public class EditEventOperations implements IEditEventOperations {
         }
         LocalDateTime oldStart = event.getStartDateTime();
         event.setStartDateTime(newStart);
-        if (event.isAutoDecline() && isConflictWithOthers(event, model)) {
+        if (batch != null) {
+          batch.unchecked.add(event);
+        } else if (event.isAutoDecline() && isConflictWithOthers(event, model)) {
           event.setStartDateTime(oldStart);
           throw new IllegalArgumentException("Edit would cause a conflict.");
         }
@@ -155,7 +222,9 @@ public class EditEventOperations implements IEditEventOperations {
         SingleEvent se = (SingleEvent) event;
         LocalDateTime oldEnd = se.getEffectiveEndDateTime();
         se.setEndDateTime(newEnd);
-        if (event.isAutoDecline() && isConflictWithOthers(event, model)) {
+        if (batch != null) {
+          batch.unchecked.add(event);
+        } else if (event.isAutoDecline() && isConflictWithOthers(event, model)) {
           se.setEndDateTime(oldEnd);
           throw new IllegalArgumentException("Edit would cause a conflict.");
         }
@@ -169,18 +238,73 @@ public class EditEventOperations implements IEditEventOperations {
   }
 
   /**
-   * Checks if an updated event conflicts with others in the calendar.
+   * Checks if an updated event conflicts with others in the calendar. The model has already moved
+   * the event in its index when its time was set, so only the occurrences overlapping the new
+   * interval are looked at.
    *
    * @param updatedEvent The event being updated
    * @param model        The calendar model to check against
    * @return True if a conflict exists, false otherwise
    */
   private boolean isConflictWithOthers(AbstractEvent updatedEvent, ICalendarModel model) {
-    for (Event other : model.getAllEvents()) {
-      if (other == updatedEvent) {
-        continue;
+    return !model.getConflictingEvents(updatedEvent).isEmpty();
+  }
+
+  /**
+   * Checks an override installed by the current batch, unless a later edit in the batch has
+   * already replaced it.
+   *
+   * @param model       The calendar model to check against
+   * @param series      The series the override belongs to
+   * @param replacement The installed override
+   */
+  private void checkInstalledOverride(ICalendarModel model, RecurringEvent series,
+      SingleEvent replacement) {
+    for (Map.Entry<LocalDateTime, SingleEvent> entry
+        : series.getOccurrenceOverrides().entrySet()) {
+      if (entry.getValue() == replacement) {
+        if (isOverrideConflict(model, series, entry.getKey(), replacement)) {
+          throw new IllegalArgumentException(
+              "Edit would cause a conflict for event '" + replacement.getSubject() + "'.");
+        }
+        return;
       }
-      if (updatedEvent.conflictsWith(other) || other.conflictsWith(updatedEvent)) {
+    }
+  }
+
+  /**
+   * Checks if an override conflicts with the calendar. The occurrence it replaces is ignored, so
+   * its own series only counts when one of the series' other occurrences overlaps it.
+   *
+   * @param model         The calendar model to check against
+   * @param series        The series the override belongs to
+   * @param replacedStart The start of the occurrence being replaced
+   * @param replacement   The override
+   * @return True if a conflict exists, false otherwise
+   */
+  private boolean isOverrideConflict(ICalendarModel model, RecurringEvent series,
+      LocalDateTime replacedStart, SingleEvent replacement) {
+    boolean seriesOverlaps = false;
+    for (Event other : model.getConflictingEvents(replacement)) {
+      if (other != series) {
+        return true;
+      }
+      seriesOverlaps = true;
+    }
+    if (!seriesOverlaps) {
+      return false;
+    }
+    LocalDateTime start = replacement.getStartDateTime();
+    LocalDateTime end = replacement.getEffectiveEndDateTime();
+    List<Event> siblings = new ArrayList<>(series.getOccurrenceOverrides().values());
+    // Occurrences that are not overridden never cross midnight, so a day of look-back is enough.
+    for (Event occ : series.occurrencesBetween(start.minusDays(1), end)) {
+      siblings.add(occ);
+    }
+    for (Event sibling : siblings) {
+      if (sibling != replacement && !sibling.getStartDateTime().equals(replacedStart)
+          && sibling.getStartDateTime().isBefore(end)
+          && start.isBefore(sibling.getEffectiveEndDateTime())) {
         return true;
       }
     }
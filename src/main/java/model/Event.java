@@ -60,6 +60,16 @@ public interface Event {
    */
   List<Event> getOccurrences();
 
+  /**
+   * Returns the occurrences of this event that start at or after {@code from} and before
+   * {@code to}, in chronological order. Occurrences are produced lazily while iterating.
+   *
+   * @param from the inclusive start of the window
+   * @param to   the exclusive end of the window
+   * @return the occurrences starting inside the window
+   */
+  Iterable<Event> occurrencesBetween(LocalDateTime from, LocalDateTime to);
+
   /**
    * Indicates whether conflicting events should be auto-declined.
    *
@@ -0,0 +1,15 @@
+package model;
+
+/**
+ * Receives notifications when a mutable event is changed through one of its setters, so that
+ * structures indexing the event can be kept up to date.
+ */
+public interface EventChangeListener {
+
+  /**
+   * Called after a property of the given event has changed.
+   *
+   * @param event the event that was changed
+   */
+  void eventChanged(AbstractEvent event);
+}
@@ -1,12 +1,14 @@
 package model;
 
 import java.time.Duration;
-import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.ZonedDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
 
 /**
  * A utility class to help copy events (single or recurring) between calendar contexts.
@@ -29,40 +31,131 @@ public class EventCopyHelper {
       String eventName, LocalDateTime sourceStart,
       LocalDateTime targetStart) throws Exception {
     SingleEvent sourceEvent = getSingleEvent(sourceCal, eventName, sourceStart);
-    long durationMillis = Duration.between(sourceEvent.getStartDateTime(),
-        sourceEvent.getEffectiveEndDateTime()).toMillis();
-    LocalDateTime targetEnd = targetStart.plus(Duration.ofMillis(durationMillis));
+    return copyEventInstance(sourceEvent, targetCal, targetStart);
+  }
+
+  /**
+   * Copies an event the caller already holds into another calendar as a single event, without
+   * looking it up in the source calendar again. For a recurring event only the given occurrence is
+   * copied.
+   *
+   * @param source      The event or occurrence to copy.
+   * @param targetCal   The target calendar context.
+   * @param targetStart The desired start time in the target calendar.
+   * @return A confirmation message describing the copy action.
+   * @throws Exception If the copy is invalid or conflicts with an event in the target calendar.
+   */
+  public static String copyEventInstance(Event source, ICalendarContext targetCal,
+      LocalDateTime targetStart) throws Exception {
+    LocalDateTime targetEnd = targetStart.plus(Duration.between(source.getStartDateTime(),
+        source.getEffectiveEndDateTime()));
     targetCal.getCalendarService().addSingleEvent(
-        sourceEvent.getSubject(),
+        source.getSubject(),
         targetStart,
         targetEnd,
-        sourceEvent.getDescription(),
-        sourceEvent.getLocation(),
-        sourceEvent.isPublic(),
+        source.getDescription(),
+        source.getLocation(),
+        source.isPublic(),
         true
     );
-    return "Event '" + sourceEvent.getSubject() + "' copied to calendar '" + targetCal.getName()
+    return "Event '" + source.getSubject() + "' copied to calendar '" + targetCal.getName()
         + "' starting at " + targetStart;
   }
 
-  private static SingleEvent getSingleEvent(ICalendarContext sourceCal, String eventName,
-      LocalDateTime sourceStart) throws Exception {
-    Event found = null;
-    for (Event e : sourceCal.getCalendarService().getAllEvents()) {
-      for (Event occ : e.getOccurrences()) {
-        if (occ.getSubject().equalsIgnoreCase(eventName) &&
-            occ.getStartDateTime().equals(sourceStart)) {
-          found = occ;
+  /**
+   * Copies a batch of events the caller already holds into another calendar as single events. The
+   * copies are checked against the target calendar and against each other in start order, and
+   * every copy without a conflict is then added in one step.
+   *
+   * @param sources      The events or occurrences to copy.
+   * @param targetStarts The start time in the target calendar for each source, in the same order.
+   * @param targetCal    The target calendar context.
+   * @return One line per source, saying where it was copied to or that it conflicted.
+   * @throws InvalidDateException If a copy would end before it starts.
+   */
+  public static String copyEventInstances(List<Event> sources, List<LocalDateTime> targetStarts,
+      ICalendarContext targetCal) throws InvalidDateException {
+    ICalendarModel targetModel = targetCal.getCalendarModel();
+    StringPool pool = targetModel.getStringPool();
+    List<SingleEvent> copies = new ArrayList<>(sources.size());
+    for (int i = 0; i < sources.size(); i++) {
+      Event source = sources.get(i);
+      LocalDateTime targetStart = targetStarts.get(i);
+      copies.add(copyOf(source, targetStart, targetStart.plus(Duration.between(
+          source.getStartDateTime(), source.getEffectiveEndDateTime())), pool));
+    }
+    Event[] blockers = findConflicts(targetModel, copies);
+    List<Event> accepted = new ArrayList<>();
+    StringBuilder result = new StringBuilder();
+    for (int i = 0; i < copies.size(); i++) {
+      if (blockers[i] == null) {
+        accepted.add(copies.get(i));
+        result.append("Event '").append(sources.get(i).getSubject())
+            .append("' copied to calendar '").append(targetCal.getName())
+            .append("' starting at ").append(targetStarts.get(i)).append("\n");
+      } else {
+        result.append("Conflict for event '").append(sources.get(i).getSubject())
+            .append("'\n");
+      }
+    }
+    targetModel.addEvents(accepted);
+    return result.toString();
+  }
+
+  private static SingleEvent copyOf(Event source, LocalDateTime start, LocalDateTime end,
+      StringPool pool) throws InvalidDateException {
+    SingleEvent copy = new SingleEvent(pool.intern(source.getSubject()), start, end,
+        pool.intern(source.getDescription()), pool.intern(source.getLocation()),
+        source.isPublic());
+    copy.setAutoDecline(true);
+    return copy;
+  }
+
+  /**
+   * Sweeps the copies in start order and finds, for each one, an event it would conflict with:
+   * either a copy accepted earlier in the sweep or an event already in the target calendar. A copy
+   * with no conflict is accepted, and its entry in the result is null.
+   */
+  private static Event[] findConflicts(ICalendarModel targetModel, List<SingleEvent> copies) {
+    Integer[] order = new Integer[copies.size()];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, Comparator.comparing(i -> copies.get(i).getStartDateTime()));
+    Event[] blockers = new Event[copies.size()];
+    PriorityQueue<SingleEvent> active = new PriorityQueue<>(
+        Comparator.comparing(SingleEvent::getEffectiveEndDateTime));
+    for (int i : order) {
+      SingleEvent copy = copies.get(i);
+      while (!active.isEmpty()
+          && !active.peek().getEffectiveEndDateTime().isAfter(copy.getStartDateTime())) {
+        active.poll();
+      }
+      for (SingleEvent other : active) {
+        if (copy.conflictsWith(other)) {
+          blockers[i] = other;
           break;
         }
       }
-      if (found != null) {
-        break;
+      if (blockers[i] == null) {
+        List<Event> existing = targetModel.getConflictingEvents(copy);
+        blockers[i] = existing.isEmpty() ? null : existing.get(0);
+      }
+      if (blockers[i] == null) {
+        active.add(copy);
       }
     }
-    if (found == null) {
+    return blockers;
+  }
+
+  private static SingleEvent getSingleEvent(ICalendarContext sourceCal, String eventName,
+      LocalDateTime sourceStart) throws Exception {
+    List<Event> matches = sourceCal.getCalendarModel().getEventsAt(eventName, sourceStart);
+    if (matches.isEmpty()) {
       throw new Exception("Event '" + eventName + "' not found at " + sourceStart);
     }
+    Event found = matches.get(0).occurrencesBetween(sourceStart, sourceStart.plusNanos(1))
+        .iterator().next();
     if (!(found instanceof SingleEvent)) {
       throw new Exception("Event '" + eventName + "' is not a single event.");
     }
@@ -70,7 +163,9 @@ public class EventCopyHelper {
   }
 
   /**
-   * Copies a recurring event series from one calendar to another.
+   * Copies a recurring event series from one calendar to another. The series is copied as a rule,
+   * together with its overridden occurrences, and checked against the target calendar without
+   * expanding its occurrences.
    *
    * @param sourceCal             The source calendar context.
    * @param targetCal             The target calendar context.
@@ -86,38 +181,15 @@ public class EventCopyHelper {
       LocalDateTime targetStart) throws Exception {
     RecurringEvent sourceRecurring = getRecurringEvent(sourceCal, eventName,
         sourceOccurrenceStart);
-    ZonedDateTime sourceSeriesZDT =
-        sourceRecurring.getStartDateTime().atZone(sourceCal.getTimezone());
-    Instant seriesInstant = sourceSeriesZDT.toInstant();
-    LocalDateTime convertedSeriesStart =
-        seriesInstant.atZone(targetCal.getTimezone()).toLocalDateTime();
+    ZoneOffsetTable offsets = ZoneOffsetTable.forPair(sourceCal.getTimezone(),
+        targetCal.getTimezone());
+    LocalDateTime convertedSeriesStart = offsets.convert(sourceRecurring.getStartDateTime());
     Duration offset = Duration.between(convertedSeriesStart, targetStart);
-    LocalDateTime newSeriesStart =
-        sourceRecurring.getStartDateTime().plus(offset);
-    long durationMillis =
-        Duration.between(sourceRecurring.getStartDateTime(),
-            sourceRecurring.getEffectiveEndDateTime()).toMillis();
-    LocalDateTime newSeriesEnd = newSeriesStart.plus(Duration.ofMillis(durationMillis));
-    LocalDate newRecurrenceEndDate = null;
-    if (sourceRecurring.getRecurrenceEndDate() != null) {
-      ZonedDateTime sourceRecurrenceZDT = sourceRecurring.getRecurrenceEndDate().
-          atStartOfDay().atZone(sourceCal.getTimezone());
-      newRecurrenceEndDate = sourceRecurrenceZDT.toInstant().atZone(targetCal.
-          getTimezone()).toLocalDate();
-      newRecurrenceEndDate = newRecurrenceEndDate.plusDays(offset.toDays());
-    }
-    targetCal.getCalendarService().addRecurringEvent(
-        sourceRecurring.getSubject(),
-        newSeriesStart,
-        newSeriesEnd,
-        sourceRecurring.getDescription(),
-        sourceRecurring.getLocation(),
-        sourceRecurring.isPublic(),
-        sourceRecurring.getRecurrenceDays(),
-        sourceRecurring.getOccurrenceCount(),
-        newRecurrenceEndDate,
-        true
-    );
+    ICalendarModel targetModel = targetCal.getCalendarModel();
+    RecurringEvent copy = sourceRecurring.copyShiftedBy(offset, targetModel.getStringPool());
+    copy.setAutoDecline(true);
+    targetModel.addEvent(copy, true);
+    LocalDateTime newSeriesStart = copy.getStartDateTime();
     return "Recurring event '" + sourceRecurring.getSubject() + "' copied to calendar '" +
         targetCal.getName() + "' starting at " + newSeriesStart;
   }
@@ -126,17 +198,9 @@ public class EventCopyHelper {
       LocalDateTime sourceOccurrenceStart)
       throws Exception {
     RecurringEvent foundRecurring = null;
-    for (Event e : sourceCal.getCalendarService().getAllEvents()) {
-      if (e instanceof RecurringEvent && e.getSubject().equalsIgnoreCase(eventName)) {
-        RecurringEvent re = (RecurringEvent) e;
-        for (Event occ : re.getOccurrences()) {
-          if (occ.getStartDateTime().equals(sourceOccurrenceStart)) {
-            foundRecurring = re;
-            break;
-          }
-        }
-      }
-      if (foundRecurring != null) {
+    for (Event e : sourceCal.getCalendarModel().getEventsAt(eventName, sourceOccurrenceStart)) {
+      if (e instanceof RecurringEvent) {
+        foundRecurring = (RecurringEvent) e;
         break;
       }
     }
@@ -160,39 +224,21 @@ public class EventCopyHelper {
   public static String copyEventsOnDate(ICalendarContext sourceCal, ICalendarContext targetCal,
       LocalDate sourceDate, LocalDate targetDate)
       throws Exception {
-    List<Event> events = sourceCal.getCalendarService().getEventsOn(sourceDate);
-    if (events.isEmpty()) {
+    List<Event> occurrences = sourceCal.getCalendarModel().getOccurrencesBetween(
+        sourceDate.atStartOfDay(), sourceDate.plusDays(1).atStartOfDay());
+    if (occurrences.isEmpty()) {
       return "No events found on " + sourceDate;
     }
-    StringBuilder result = new StringBuilder();
-    for (Event e : events) {
-      for (Event occ : e.getOccurrences()) {
-        if (!occ.getStartDateTime().toLocalDate().equals(sourceDate)) {
-          continue;
-        }
-        LocalTime timeOfDay = occ.getStartDateTime().toLocalTime();
-        LocalDateTime targetStart = LocalDateTime.of(targetDate, timeOfDay);
-        try {
-          if (occ instanceof SingleEvent) {
-            String msg = copySingleEvent(sourceCal, targetCal, occ.getSubject(),
-                occ.getStartDateTime(), targetStart);
-            result.append(msg).append("\n");
-          } else if (occ instanceof RecurringEvent) {
-            String msg = copyRecurringEvent(sourceCal, targetCal, occ.getSubject(),
-                occ.getStartDateTime(), targetStart);
-            result.append(msg).append("\n");
-          }
-        } catch (EventConflictException ex) {
-          result.append("Conflict for event '").append(occ.getSubject()).append("'\n");
-        }
-      }
+    List<LocalDateTime> targetStarts = new ArrayList<>(occurrences.size());
+    for (Event occ : occurrences) {
+      targetStarts.add(LocalDateTime.of(targetDate, occ.getStartDateTime().toLocalTime()));
     }
-    return result.toString();
+    return copyEventInstances(occurrences, targetStarts, targetCal);
   }
 
   /**
    * Copies all events from a source date range into a target calendar, starting from the given
-   * target date.
+   * target date. Copies that conflict are skipped and reported, and the rest are added.
    *
    * @param sourceCal       The source calendar context.
    * @param targetCal       The target calendar context.
@@ -206,37 +252,94 @@ public class EventCopyHelper {
           targetCal,
       LocalDate sourceStartDate, LocalDate sourceEndDate,
       LocalDate targetStartDate) throws Exception {
-    List<Event> events = sourceCal.getCalendarService().getAllEvents();
-    if (events.isEmpty()) {
-      return "No events found in source calendar.";
+    return copyEventsBetweenDates(sourceCal, targetCal, sourceStartDate, sourceEndDate,
+        targetStartDate, false);
+  }
+
+  /**
+   * Copies all events from a source date range into a target calendar, starting from the given
+   * target date, as one bulk operation. The occurrences in the range come from one range query on
+   * the source, their times are shifted and converted in a single pass, and the copies are then
+   * swept in start order. Each copy is checked against the target's index and against the copies
+   * accepted before it, and all accepted copies are added to the target in one step. Every
+   * conflicting copy is reported with the event it overlaps.
+   *
+   * @param sourceCal       The source calendar context.
+   * @param targetCal       The target calendar context.
+   * @param sourceStartDate The start date of the source range.
+   * @param sourceEndDate   The end date of the source range.
+   * @param targetStartDate The start date in the target calendar to align with the source start.
+   * @param allOrNothing    Whether to copy nothing at all if any copy conflicts.
+   * @return The output, whether it threw error or events got copied.
+   * @throws Exception If an error occurs during copying.
+   */
+  public static String copyEventsBetweenDates(ICalendarContext sourceCal, ICalendarContext
+          targetCal,
+      LocalDate sourceStartDate, LocalDate sourceEndDate,
+      LocalDate targetStartDate, boolean allOrNothing) throws Exception {
+    List<Event> occurrences = sourceCal.getCalendarModel().getOccurrencesBetween(
+        sourceStartDate.atStartOfDay(), sourceEndDate.plusDays(1).atStartOfDay());
+    if (occurrences.isEmpty()) {
+      if (sourceCal.getCalendarModel().getAllEvents().isEmpty()) {
+        return "No events found in source calendar.";
+      }
+      return "No events found between " + sourceStartDate + " and " + sourceEndDate;
     }
     long dayOffset = Duration.between(sourceStartDate.atStartOfDay(),
         targetStartDate.atStartOfDay()).toDays();
+    ZoneId sourceZone = sourceCal.getTimezone();
+    ZoneId targetZone = targetCal.getTimezone();
+    ZoneOffsetTable offsets = sourceZone.equals(targetZone) ? null
+        : ZoneOffsetTable.forPair(sourceZone, targetZone);
+    int count = occurrences.size();
+    LocalDateTime[] starts = new LocalDateTime[count];
+    LocalDateTime[] ends = new LocalDateTime[count];
+    Integer[] order = new Integer[count];
+    for (int i = 0; i < count; i++) {
+      Event occ = occurrences.get(i);
+      LocalDateTime start = occ.getStartDateTime();
+      LocalDateTime converted = offsets == null ? start : offsets.convert(start);
+      starts[i] = converted.plusDays(dayOffset);
+      ends[i] = starts[i].plus(Duration.between(start, occ.getEffectiveEndDateTime()));
+      order[i] = i;
+    }
+    Arrays.sort(order, Comparator.comparing(i -> starts[i]));
+
+    ICalendarModel targetModel = targetCal.getCalendarModel();
+    StringPool pool = targetModel.getStringPool();
+    List<SingleEvent> copies = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      copies.add(copyOf(occurrences.get(i), starts[i], ends[i], pool));
+    }
+    Event[] blockers = findConflicts(targetModel, copies);
+    List<Event> accepted = new ArrayList<>();
+    String[] lines = new String[count];
+    int conflicts = 0;
+    for (int i : order) {
+      String subject = occurrences.get(i).getSubject();
+      if (blockers[i] != null) {
+        lines[i] = "Conflict for event '" + subject + "' at " + starts[i]
+            + ": overlaps '" + blockers[i].getSubject() + "'";
+        conflicts++;
+      } else {
+        accepted.add(copies.get(i));
+        lines[i] = "Copied event '" + subject + "' to " + starts[i];
+      }
+    }
+
     StringBuilder result = new StringBuilder();
-    for (Event e : events) {
-      for (Event occ : e.getOccurrences()) {
-        LocalDate occDate = occ.getStartDateTime().toLocalDate();
-        if (!occDate.isBefore(sourceStartDate) && !occDate.isAfter(sourceEndDate)) {
-          ZonedDateTime sourceZDT = occ.getStartDateTime().atZone(sourceCal.getTimezone());
-          Instant instant = sourceZDT.toInstant();
-          LocalDateTime convertedStart = instant.atZone(targetCal.getTimezone()).toLocalDateTime();
-          LocalDateTime targetStart = convertedStart.plusDays(dayOffset);
-          long durationMillis = Duration.between(occ.getStartDateTime(),
-              ((SingleEvent) occ).getEffectiveEndDateTime()).toMillis();
-          LocalDateTime targetEnd = targetStart.plus(Duration.ofMillis(durationMillis));
-          try {
-            targetCal.getCalendarService().addSingleEvent(occ.getSubject(), targetStart, targetEnd,
-                occ.getDescription(), occ.getLocation(), occ.isPublic(), true);
-            result.append("Copied event '").append(occ.getSubject())
-                .append("' to ").append(targetStart).append("\n");
-          } catch (EventConflictException ex) {
-            result.append("Conflict for event '").append(occ.getSubject()).append("'\n");
-          }
+    if (allOrNothing && conflicts > 0) {
+      result.append("No events copied: ").append(conflicts).append(" conflicts.\n");
+      for (int i : order) {
+        if (lines[i].startsWith("Conflict")) {
+          result.append(lines[i]).append("\n");
         }
       }
+      return result.toString();
     }
-    if (result.length() == 0) {
-      return "No events found between " + sourceStartDate + " and " + sourceEndDate;
+    targetModel.addEvents(accepted);
+    for (int i : order) {
+      result.append(lines[i]).append("\n");
     }
     return result.toString();
   }
@@ -256,20 +359,8 @@ public class EventCopyHelper {
   public static String copyEvent(ICalendarContext sourceCal, ICalendarContext targetCal,
       String eventName, LocalDateTime sourceStart,
       LocalDateTime targetStart) throws Exception {
-    Event found = null;
-    for (Event e : sourceCal.getCalendarService().getAllEvents()) {
-      if (e.getSubject().equalsIgnoreCase(eventName)) {
-        for (Event occ : e.getOccurrences()) {
-          if (occ.getStartDateTime().equals(sourceStart)) {
-            found = e;
-            break;
-          }
-        }
-      }
-      if (found != null) {
-        break;
-      }
-    }
+    List<Event> matches = sourceCal.getCalendarModel().getEventsAt(eventName, sourceStart);
+    Event found = matches.isEmpty() ? null : matches.get(0);
     if (found == null) {
       throw new Exception("Event '" + eventName + "' not found at " + sourceStart);
     }
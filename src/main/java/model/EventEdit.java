@@ -0,0 +1,79 @@
+package model;
+
+import java.time.LocalDateTime;
+
+/**
+ * A single mutation in a batch edit: which events to change, selected the same way as
+ * {@link IEditEventOperations#editEvent}, and the property and value to set on them.
+ */
+public final class EventEdit {
+
+  private final String subject;
+  private final LocalDateTime from;
+  private final String property;
+  private final String newValue;
+  private final ICalendarService.EditMode mode;
+
+  /**
+   * Constructs an edit.
+   *
+   * @param subject  the subject of the events to edit
+   * @param from     the start time selecting the events or occurrences to edit
+   * @param property the property to update
+   * @param newValue the new value to set
+   * @param mode     the scope of the edit (e.g., SINGLE, FROM, ALL)
+   */
+  public EventEdit(String subject, LocalDateTime from, String property, String newValue,
+      ICalendarService.EditMode mode) {
+    this.subject = subject;
+    this.from = from;
+    this.property = property;
+    this.newValue = newValue;
+    this.mode = mode;
+  }
+
+  /**
+   * Returns the subject of the events to edit.
+   *
+   * @return the subject of the events to edit
+   */
+  public String getSubject() {
+    return subject;
+  }
+
+  /**
+   * Returns the start time selecting the events or occurrences to edit.
+   *
+   * @return the start time selecting the events or occurrences to edit
+   */
+  public LocalDateTime getFrom() {
+    return from;
+  }
+
+  /**
+   * Returns the property to update.
+   *
+   * @return the property to update
+   */
+  public String getProperty() {
+    return property;
+  }
+
+  /**
+   * Returns the new value to set.
+   *
+   * @return the new value to set
+   */
+  public String getNewValue() {
+    return newValue;
+  }
+
+  /**
+   * Returns the scope of the edit.
+   *
+   * @return the scope of the edit
+   */
+  public ICalendarService.EditMode getMode() {
+    return mode;
+  }
+}
@@ -49,7 +49,8 @@ public class EventPrinter implements IEventPrinter {
   }
 
   /**
-   * Prints all events that occur between the given start and end timestamps.
+   * Prints all events that occur between the given start and end timestamps, in chronological
+   * order.
    *
    * @param start the start of the time range
    * @param end   the end of the time range
@@ -60,19 +61,13 @@ public class EventPrinter implements IEventPrinter {
   public String printEventsRange(LocalDateTime start, LocalDateTime end) throws Exception {
     StringBuilder sb = new StringBuilder();
     sb.append("Events from ").append(start).append(" to ").append(end).append(":\n");
-    List<Event> events = model.getAllEvents();
-    for (Event event : events) {
-      for (Event occurrence : event.getOccurrences()) {
-        LocalDateTime occStart = occurrence.getStartDateTime();
-        if ((occStart.equals(start) || occStart.isAfter(start)) && occStart.isBefore(end)) {
-          sb.append("- ").append(occurrence.getSubject()).append(" at ");
-          String location = occurrence.getLocation();
-          if (location != null && !location.trim().isEmpty()) {
-            sb.append(location).append(" ");
-          }
-          sb.append(occStart).append("\n");
-        }
+    for (Event occurrence : model.getOccurrencesBetween(start, end)) {
+      sb.append("- ").append(occurrence.getSubject()).append(" at ");
+      String location = occurrence.getLocation();
+      if (location != null && !location.trim().isEmpty()) {
+        sb.append(location).append(" ");
       }
+      sb.append(occurrence.getStartDateTime()).append("\n");
     }
     return sb.toString();
   }
@@ -0,0 +1,93 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.NavigableMap;
+import java.util.Objects;
+
+/**
+ * A copy of an event's mutable state, used to undo edits. Restoring goes through the event's
+ * setters, so a model holding the event re-indexes it as usual.
+ */
+final class EventSnapshot {
+
+  private final AbstractEvent event;
+  private final String subject;
+  private final LocalDateTime start;
+  private final LocalDateTime end;
+  private final String description;
+  private final String location;
+  private final boolean isPublic;
+  private final boolean autoDecline;
+  private final LocalDate recurrenceEndDate;
+  private final NavigableMap<LocalDateTime, SingleEvent> overrides;
+
+  /**
+   * Captures the current state of an event.
+   *
+   * @param event the event to capture
+   */
+  EventSnapshot(AbstractEvent event) {
+    this.event = event;
+    this.subject = event.subject;
+    this.start = event.getStartDateTime();
+    this.end = event.toDisplay(event.endDateTime);
+    this.description = event.description;
+    this.location = event.location;
+    this.isPublic = event.isPublic;
+    this.autoDecline = event.autoDecline;
+    if (event instanceof RecurringEvent) {
+      RecurringEvent series = (RecurringEvent) event;
+      this.recurrenceEndDate = series.getRecurrenceEndDate();
+      this.overrides = series.copyOverrides();
+    } else {
+      this.recurrenceEndDate = null;
+      this.overrides = null;
+    }
+  }
+
+  /**
+   * Returns the event this snapshot was taken of.
+   *
+   * @return the event
+   */
+  AbstractEvent getEvent() {
+    return event;
+  }
+
+  /**
+   * Checks whether another snapshot of the same event captured the same state.
+   *
+   * @param other the other snapshot
+   * @return true if restoring either snapshot would leave the event the same
+   */
+  boolean sameState(EventSnapshot other) {
+    return event == other.event && Objects.equals(subject, other.subject)
+        && Objects.equals(start, other.start) && Objects.equals(end, other.end)
+        && Objects.equals(description, other.description)
+        && Objects.equals(location, other.location) && isPublic == other.isPublic
+        && autoDecline == other.autoDecline
+        && Objects.equals(recurrenceEndDate, other.recurrenceEndDate)
+        && Objects.equals(overrides, other.overrides);
+  }
+
+  /**
+   * Puts the event back into the captured state.
+   *
+   * @throws InvalidDateException if the captured times are no longer accepted by the event
+   */
+  void restore() throws InvalidDateException {
+    event.setStartDateTime(start);
+    event.setEndDateTime(end);
+    event.setSubject(subject);
+    event.setDescription(description);
+    event.setLocation(location);
+    event.setPublic(isPublic);
+    event.setAutoDecline(autoDecline);
+    if (event instanceof RecurringEvent) {
+      RecurringEvent series = (RecurringEvent) event;
+      series.setRecurrenceEndDate(recurrenceEndDate);
+      series.restoreOverrides(overrides);
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package model;
+
+/**
+ * Receives notifications when a calendar model stores or removes an event, so that the changes
+ * an operation makes to the model can be recorded and later undone.
+ */
+public interface EventStoreListener {
+
+  /**
+   * Called after an event has been stored in a model.
+   *
+   * @param model the model that stored the event
+   * @param event the event that was stored
+   */
+  void eventStored(ICalendarModel model, Event event);
+
+  /**
+   * Called after an event has been removed from a model.
+   *
+   * @param model the model that removed the event
+   * @param event the event that was removed
+   */
+  void eventRemoved(ICalendarModel model, Event event);
+}
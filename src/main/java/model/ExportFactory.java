@@ -6,7 +6,8 @@ package model;
 public class ExportFactory {
 
   /**
-   * Returns an exporter for the given format.
+   * Returns an exporter for the given format: "csv" writes every occurrence as a row, and "ics"
+   * writes iCalendar with one recurrence rule per series.
    *
    * @param format the export format
    * @return the corresponding {@link Exporter}
@@ -16,6 +17,9 @@ public class ExportFactory {
     if (format.equals("csv")) {
       return new CSVExporter();
     }
+    if (format.equals("ics")) {
+      return new ICSExporter();
+    }
     throw new IllegalArgumentException("Unsupported format: " + format);
   }
 }
@@ -0,0 +1,394 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A utility class for exporting calendar events to an iCalendar (RFC 5545) file.
+ *
+ * <p>Each recurring series is written as a single VEVENT with a weekly RRULE listing its
+ * weekdays and either its occurrence count or the date of its last occurrence, instead of one
+ * entry per occurrence. Overridden occurrences follow their series as VEVENTs with the same UID
+ * and a RECURRENCE-ID naming the start the occurrence originally had. An event's UID is a
+ * name-based UUID of its calendar's identifier, its stored start and its subject, so it is unique
+ * across calendars and stays the same from one export to the next. Times are written as
+ * floating local times, as they are presented by the calendar, and events running from midnight
+ * to 23:59 are written as all-day events, as {@link CSVExporter} marks them.
+ *
+ * <p>Properties are streamed to a {@link FileChannel} through one reusable buffer, encoded as
+ * UTF-8 with text escaped and lines folded at 75 octets as they are written.
+ */
+public class ICSExporter implements Exporter {
+
+  private static final String UID_SUFFIX = "@calendar";
+  private static final LocalTime END_OF_DAY = LocalTime.of(23, 59);
+  private static final String[] BYDAY = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+
+  /**
+   * Writes content lines into a reusable buffer, folding any line longer than 75 octets onto
+   * continuation lines that start with a space.
+   */
+  private static final class LineWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1000};
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final byte[] bytes = buffer.array();
+    private int position;
+    private int lineOctets;
+
+    private LineWriter(WritableByteChannel channel) {
+      this.channel = channel;
+    }
+
+    /**
+     * Writes a whole line made of a property name and a value that needs no escaping.
+     */
+    private void line(String name, String value) throws IOException {
+      raw(name);
+      put(':');
+      raw(value);
+      endLine();
+    }
+
+    /**
+     * Writes ASCII text as it is.
+     */
+    private void raw(String value) throws IOException {
+      for (int i = 0; i < value.length(); i++) {
+        put(value.charAt(i));
+      }
+    }
+
+    /**
+     * Writes a TEXT value, escaping backslashes, semicolons, commas and line breaks. A CRLF pair
+     * becomes a single escaped line break.
+     */
+    private void text(String value) throws IOException {
+      int length = value.length();
+      for (int i = 0; i < length; i++) {
+        char c = value.charAt(i);
+        if (c == '\\' || c == ';' || c == ',') {
+          put('\\');
+          put(c);
+        } else if (c == '\n' || c == '\r') {
+          if (c == '\r' && i + 1 < length && value.charAt(i + 1) == '\n') {
+            i++;
+          }
+          put('\\');
+          put('n');
+        } else if (c < 0x80) {
+          put(c);
+        } else if (c < 0x800) {
+          reserve(2);
+          bytes[position++] = (byte) (0xC0 | (c >> 6));
+          bytes[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && i + 1 < length
+            && Character.isLowSurrogate(value.charAt(i + 1))) {
+          int codePoint = Character.toCodePoint(c, value.charAt(++i));
+          reserve(4);
+          bytes[position++] = (byte) (0xF0 | (codePoint >> 18));
+          bytes[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+          bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+          bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+          put('?');
+        } else {
+          reserve(3);
+          bytes[position++] = (byte) (0xE0 | (c >> 12));
+          bytes[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+          bytes[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+      }
+    }
+
+    /**
+     * Writes a date as {@code yyyyMMdd}.
+     */
+    private void date(LocalDate date) throws IOException {
+      int year = date.getYear();
+      if (year < 0 || year > 9999) {
+        throw new IOException("iCalendar dates must fall in the years 0 to 9999: " + date);
+      }
+      digits(year, 4);
+      digits(date.getMonthValue(), 2);
+      digits(date.getDayOfMonth(), 2);
+    }
+
+    /**
+     * Writes a date and time as {@code yyyyMMdd'T'HHmmss}. Fractions of a second are dropped.
+     */
+    private void dateTime(LocalDateTime dateTime) throws IOException {
+      date(dateTime.toLocalDate());
+      put('T');
+      digits(dateTime.getHour(), 2);
+      digits(dateTime.getMinute(), 2);
+      digits(dateTime.getSecond(), 2);
+    }
+
+    private void endLine() throws IOException {
+      if (position + 2 > bytes.length) {
+        flush();
+      }
+      bytes[position++] = '\r';
+      bytes[position++] = '\n';
+      lineOctets = 0;
+    }
+
+    private void put(char c) throws IOException {
+      reserve(1);
+      bytes[position++] = (byte) c;
+    }
+
+    /**
+     * Makes room for one character of {@code length} octets, folding the line first if the
+     * character would not fit on it, so that no character is split across two lines.
+     */
+    private void reserve(int length) throws IOException {
+      if (position + length + 3 > bytes.length) {
+        flush();
+      }
+      if (lineOctets + length > MAX_LINE_OCTETS) {
+        bytes[position++] = '\r';
+        bytes[position++] = '\n';
+        bytes[position++] = ' ';
+        lineOctets = 1;
+      }
+      lineOctets += length;
+    }
+
+    private void digits(int value, int width) throws IOException {
+      for (int i = width - 1; i >= 0; i--) {
+        put((char) ('0' + value / POWERS_OF_TEN[i] % 10));
+      }
+    }
+
+    private void flush() throws IOException {
+      buffer.limit(position).position(0);
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      buffer.clear();
+      position = 0;
+    }
+  }
+
+  /**
+   * Exports all events from the calendar to an iCalendar file, encoded as UTF-8.
+   *
+   * @param calendar The calendar model to export
+   * @param fileName The name of the file to create
+   * @return The full path of the exported file
+   * @throws IOException If the export fails, or an event falls outside the years 0 to 9999
+   */
+  @Override
+  public String export(ICalendarModel calendar, String fileName) throws IOException {
+    String filePath = Paths.get(System.getProperty("user.dir"), fileName).toString();
+    try (FileChannel channel = FileChannel.open(Paths.get(filePath),
+        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+        StandardOpenOption.WRITE)) {
+      LineWriter out = new LineWriter(channel);
+      LocalDateTime stamp = LocalDateTime.now(ZoneOffset.UTC);
+      out.line("BEGIN", "VCALENDAR");
+      out.line("VERSION", "2.0");
+      out.line("PRODID", "-//Calendar//Calendar Export//EN");
+
+      Set<UUID> uids = new HashSet<>();
+      for (Event event : calendar.getAllEvents()) {
+        String uid = uid(calendar.getCalendarId(), event, uids);
+        if (event instanceof SingleEvent) {
+          writeEvent(event, uid, stamp, out);
+        } else if (event instanceof RecurringEvent) {
+          writeSeries((RecurringEvent) event, uid, stamp, out);
+        }
+      }
+      out.line("END", "VCALENDAR");
+      out.flush();
+    }
+    return filePath;
+  }
+
+  /**
+   * Derives the UID of an event from its calendar, stored start and subject. Events that agree
+   * on all three are told apart by the order they are exported in.
+   *
+   * @param calendarId The identifier of the event's calendar
+   * @param event      The event
+   * @param used       The UUIDs given out so far in this export, updated with the new one
+   * @return The UID
+   */
+  private String uid(UUID calendarId, Event event, Set<UUID> used) {
+    String name = calendarId + "/" + ((AbstractEvent) event).storedStart() + "/"
+        + event.getSubject();
+    UUID uuid = UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+    for (int copy = 1; !used.add(uuid); copy++) {
+      uuid = UUID.nameUUIDFromBytes((name + "/" + copy).getBytes(StandardCharsets.UTF_8));
+    }
+    return uuid + UID_SUFFIX;
+  }
+
+  /**
+   * Writes a single event as a VEVENT.
+   *
+   * @param event The event to write
+   * @param uid   The UID of the event
+   * @param stamp The time of the export, in UTC
+   * @param out   The writer for the file
+   * @throws IOException If writing fails
+   */
+  private void writeEvent(Event event, String uid, LocalDateTime stamp, LineWriter out)
+      throws IOException {
+    LocalDateTime start = event.getStartDateTime();
+    LocalDateTime end = event.getEffectiveEndDateTime();
+    beginEvent(event, uid, stamp, out);
+    writeTimes(start, end, out);
+    out.line("END", "VEVENT");
+  }
+
+  /**
+   * Writes a recurring series as one VEVENT with an RRULE, followed by a VEVENT for each live
+   * override. A series with no occurrences is not written.
+   *
+   * @param series The series to write
+   * @param uid    The UID shared by the series and its overrides
+   * @param stamp  The time of the export, in UTC
+   * @param out    The writer for the file
+   * @throws IOException If writing fails
+   */
+  private void writeSeries(RecurringEvent series, String uid, LocalDateTime stamp,
+      LineWriter out) throws IOException {
+    LocalDate firstDate = series.getFirstOccurrenceDate();
+    if (firstDate == null) {
+      return;
+    }
+    LocalDateTime seriesStart = series.getStartDateTime();
+    Duration length = Duration.between(seriesStart, series.getEffectiveEndDateTime());
+    LocalDateTime start = LocalDateTime.of(firstDate, seriesStart.toLocalTime());
+    LocalDateTime end = start.plus(length);
+    boolean allDay = isAllDayEvent(start, end);
+
+    beginEvent(series, uid, stamp, out);
+    writeTimes(start, end, out);
+    out.raw("RRULE:FREQ=WEEKLY;BYDAY=");
+    Set<DayOfWeek> days = series.getRecurrenceDays();
+    boolean first = true;
+    for (DayOfWeek day : DayOfWeek.values()) {
+      if (days.contains(day)) {
+        if (!first) {
+          out.put(',');
+        }
+        out.raw(BYDAY[day.ordinal()]);
+        first = false;
+      }
+    }
+    if (series.getRecurrenceEndDate() == null) {
+      out.raw(";COUNT=");
+      out.raw(Integer.toString(Math.max(series.getOccurrenceCount(), 1)));
+    } else {
+      out.raw(";UNTIL=");
+      LocalDate last = series.getLastOccurrenceDate();
+      if (allDay) {
+        out.date(last);
+      } else {
+        out.dateTime(last.atTime(LocalTime.MAX));
+      }
+    }
+    out.endLine();
+    out.line("END", "VEVENT");
+
+    for (Map.Entry<LocalDateTime, SingleEvent> entry
+        : series.getOccurrenceOverrides().entrySet()) {
+      SingleEvent override = entry.getValue();
+      beginEvent(override, uid, stamp, out);
+      if (allDay) {
+        out.raw("RECURRENCE-ID;VALUE=DATE:");
+        out.date(entry.getKey().toLocalDate());
+      } else {
+        out.raw("RECURRENCE-ID:");
+        out.dateTime(entry.getKey());
+      }
+      out.endLine();
+      writeTimes(override.getStartDateTime(), override.getEffectiveEndDateTime(), out);
+      out.line("END", "VEVENT");
+    }
+  }
+
+  /**
+   * Opens a VEVENT and writes the properties that do not depend on its times.
+   */
+  private void beginEvent(Event event, String uid, LocalDateTime stamp, LineWriter out)
+      throws IOException {
+    out.line("BEGIN", "VEVENT");
+    out.line("UID", uid);
+    out.raw("DTSTAMP:");
+    out.dateTime(stamp);
+    out.put('Z');
+    out.endLine();
+    out.raw("SUMMARY:");
+    out.text(event.getSubject());
+    out.endLine();
+    if (event.getDescription() != null && !event.getDescription().isEmpty()) {
+      out.raw("DESCRIPTION:");
+      out.text(event.getDescription());
+      out.endLine();
+    }
+    if (event.getLocation() != null && !event.getLocation().isEmpty()) {
+      out.raw("LOCATION:");
+      out.text(event.getLocation());
+      out.endLine();
+    }
+    out.line("CLASS", event.isPublic() ? "PUBLIC" : "PRIVATE");
+  }
+
+  /**
+   * Writes DTSTART and DTEND, as dates for an all-day event and as date-times otherwise.
+   */
+  private void writeTimes(LocalDateTime start, LocalDateTime end, LineWriter out)
+      throws IOException {
+    if (isAllDayEvent(start, end)) {
+      out.raw("DTSTART;VALUE=DATE:");
+      out.date(start.toLocalDate());
+      out.endLine();
+      out.raw("DTEND;VALUE=DATE:");
+      out.date(start.toLocalDate().plusDays(1));
+    } else {
+      out.raw("DTSTART:");
+      out.dateTime(start);
+      out.endLine();
+      out.raw("DTEND:");
+      out.dateTime(end);
+    }
+    out.endLine();
+  }
+
+  /**
+   * Checks if an event is an all-day event.
+   *
+   * @param start The start of the event
+   * @param end   The effective end of the event
+   * @return True if the event spans a full day (midnight to 23:59), false otherwise
+   */
+  private boolean isAllDayEvent(LocalDateTime start, LocalDateTime end) {
+    return start.toLocalDate().equals(end.toLocalDate())
+        && start.toLocalTime().equals(LocalTime.MIDNIGHT)
+        && end.toLocalTime().equals(END_OF_DAY);
+  }
+}
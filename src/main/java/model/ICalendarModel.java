@@ -3,6 +3,7 @@ package model;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Interface for the calendar model that stores and retrieves events.
@@ -18,6 +19,30 @@ public interface ICalendarModel {
    */
   void addEvent(Event event, boolean autoDecline) throws EventConflictException;
 
+  /**
+   * Adds several events in one step without checking them for conflicts. Callers are expected to
+   * have checked the events against the model already.
+   *
+   * @param events the events to add, in order
+   */
+  void addEvents(List<Event> events);
+
+  /**
+   * Removes a stored event from the model.
+   *
+   * @param event the event to remove
+   * @return true if the event was stored and has been removed, false otherwise
+   */
+  boolean removeEvent(Event event);
+
+  /**
+   * Removes several stored events in one step. Events that are not stored are skipped.
+   *
+   * @param events the events to remove
+   * @return the number of events removed
+   */
+  int removeEvents(List<Event> events);
+
   /**
    * Returns all events scheduled on the given date.
    *
@@ -33,6 +58,44 @@ public interface ICalendarModel {
    */
   List<Event> getAllEvents();
 
+  /**
+   * Returns the occurrences starting at or after {@code start} and before {@code end}, in
+   * chronological order. Occurrences starting at the same time keep the order their events were
+   * added in.
+   *
+   * @param start the inclusive start of the range
+   * @param end   the exclusive end of the range
+   * @return the occurrences in the range
+   */
+  List<Event> getOccurrencesBetween(LocalDateTime start, LocalDateTime end);
+
+  /**
+   * Returns the stored events that conflict with the given event, in the order they were added.
+   *
+   * @param event the event to check
+   * @return the conflicting events, empty if there are none
+   */
+  List<Event> getConflictingEvents(Event event);
+
+  /**
+   * Returns the stored events whose subject equals the given one, ignoring case, in the order they
+   * were added.
+   *
+   * @param subject the subject to look up
+   * @return the matching events, empty if there are none
+   */
+  List<Event> getEventsBySubject(String subject);
+
+  /**
+   * Returns the stored events whose subject equals the given one, ignoring case, and that have an
+   * occurrence starting exactly at {@code start}, in the order they were added.
+   *
+   * @param subject the subject to look up
+   * @param start   the start of the occurrence
+   * @return the matching events, empty if there are none
+   */
+  List<Event> getEventsAt(String subject, LocalDateTime start);
+
   /**
    * Checks whether the calendar is busy at a specific date and time.
    *
@@ -40,5 +103,27 @@ public interface ICalendarModel {
    * @return true if there is a conflict, false otherwise
    */
   boolean isBusyAt(LocalDateTime dateTime);
-}
 
+  /**
+   * Returns the pool that subjects, descriptions and locations of this calendar are interned in.
+   *
+   * @return the calendar's string pool
+   */
+  StringPool getStringPool();
+
+  /**
+   * Returns a random identifier fixed when the calendar is created, which tells its events apart
+   * from those of every other calendar when they are exported.
+   *
+   * @return the calendar's identifier
+   */
+  UUID getCalendarId();
+
+  /**
+   * Sets the listener told about every event this model stores or removes, replacing any previous
+   * listener.
+   *
+   * @param listener the listener, or null to stop reporting
+   */
+  void setStoreListener(EventStoreListener listener);
+}
@@ -82,6 +82,14 @@ public interface ICalendarService {
   void editEvent(String subject, LocalDateTime from, String property, String newValue,
       EditMode mode) throws Exception;
 
+  /**
+   * Applies several edits atomically: either all of them take effect or none do.
+   *
+   * @param edits the edits to apply, in order
+   * @throws Exception if an edit fails or the batch would cause a conflict
+   */
+  void editEvents(List<EventEdit> edits) throws Exception;
+
   /**
    * Exports the calendar to the specified format and path.
    *
@@ -121,6 +129,14 @@ public interface ICalendarService {
    */
   String printEventsRange(LocalDateTime start, LocalDateTime end) throws Exception;
 
+  /**
+   * Reports how many event strings were deduplicated by the calendar's string pool.
+   *
+   * @return the memory report
+   * @throws Exception if no calendar is available
+   */
+  String getStringPoolReport() throws Exception;
+
   /**
    * For different EditModes.
    */
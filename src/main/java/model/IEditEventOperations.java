@@ -1,6 +1,7 @@
 package model;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Defines operations for editing an event in the calendar.
@@ -24,4 +25,15 @@ public interface IEditEventOperations {
       String property,
       String newValue,
       ICalendarService.EditMode mode) throws Exception;
+
+  /**
+   * Applies a list of edits as one atomic batch. Conflicts caused by moved events are checked once,
+   * after every edit has been applied, so intermediate states may overlap. If any edit fails or
+   * the final state has a conflict, every change made by the batch is undone.
+   *
+   * @param model the calendar model
+   * @param edits the edits to apply, in order
+   * @throws Exception if an edit fails or the batch would cause a conflict
+   */
+  void editEvents(ICalendarModel model, List<EventEdit> edits) throws Exception;
 }
@@ -76,6 +76,38 @@ public interface IMultiCalendarService extends ICalendarService {
   String copyEventsBetween(LocalDate sourceStartDate, LocalDate sourceEndDate,
       String targetCalendarName, LocalDate targetStartDate) throws Exception;
 
+  /**
+   * Copies all events in a date range to a target date in another calendar, optionally copying
+   * nothing if any of the copies would conflict.
+   *
+   * @param sourceStartDate    the start of the source range
+   * @param sourceEndDate      the end of the source range
+   * @param targetCalendarName the target calendar
+   * @param targetStartDate    the date to start copying to
+   * @param allOrNothing       whether a single conflict cancels the whole copy
+   * @return success message or error
+   * @throws Exception if copying fails
+   */
+  String copyEventsBetween(LocalDate sourceStartDate, LocalDate sourceEndDate,
+      String targetCalendarName, LocalDate targetStartDate, boolean allOrNothing)
+      throws Exception;
+
+  /**
+   * Reverses the most recent event or timezone change that has not been undone.
+   *
+   * @return a message naming the undone operation, or saying there is nothing to undo
+   * @throws Exception if the operation can no longer be reversed
+   */
+  String undo() throws Exception;
+
+  /**
+   * Applies again the most recently undone operation.
+   *
+   * @return a message naming the redone operation, or saying there is nothing to redo
+   * @throws Exception if the operation can no longer be applied
+   */
+  String redo() throws Exception;
+
   /**
    * Gets the name and timezone of the current calendar.
    *
@@ -6,7 +6,8 @@ package model;
 public class ImportFactory {
 
   /**
-   * Returns an importer for the specified format.
+   * Returns an importer for the specified format. The {@code csv-mapped} format reads CSV files
+   * through a memory mapping, for files too large to stream through a reader.
    *
    * @param format the import format
    * @return the corresponding importer
@@ -16,6 +17,9 @@ public class ImportFactory {
     if (format.equals("csv")) {
       return new CSVImporter();
     }
+    if (format.equals("csv-mapped")) {
+      return new MappedCSVImporter();
+    }
     throw new IllegalArgumentException("Unsupported format: " + format);
   }
 }
@@ -0,0 +1,301 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An augmented interval tree over half-open {@code [start, end)} intervals expressed as epoch
+ * seconds. Nodes are ordered by start (ties broken by a caller supplied sequence number) and every
+ * node tracks the maximum end of its subtree, so overlap queries only descend into subtrees that
+ * can contain a match. The tree is kept balanced as a treap with deterministic priorities.
+ *
+ * @param <T> the type of value attached to each interval
+ */
+public class IntervalTree<T> {
+
+  private Node<T> root;
+  private int size;
+  private boolean removed;
+
+  /**
+   * A single interval stored in the tree.
+   *
+   * @param <T> the type of value attached to the interval
+   */
+  public static final class Node<T> {
+
+    private long start;
+    private long end;
+    private final long seq;
+    private final int priority;
+    private final T value;
+    private long maxEnd;
+    private Node<T> left;
+    private Node<T> right;
+
+    private Node(long start, long end, long seq, T value) {
+      this.start = start;
+      this.end = end;
+      this.seq = seq;
+      this.value = value;
+      this.maxEnd = end;
+      this.priority = mix(start * 31 + seq);
+    }
+
+    /**
+     * Returns the inclusive start of the interval.
+     *
+     * @return the start in epoch seconds
+     */
+    public long getStart() {
+      return start;
+    }
+
+    /**
+     * Returns the exclusive end of the interval.
+     *
+     * @return the end in epoch seconds
+     */
+    public long getEnd() {
+      return end;
+    }
+
+    /**
+     * Returns the sequence number the interval was inserted with.
+     *
+     * @return the sequence number
+     */
+    public long getSeq() {
+      return seq;
+    }
+
+    /**
+     * Returns the value attached to the interval.
+     *
+     * @return the value
+     */
+    public T getValue() {
+      return value;
+    }
+  }
+
+  /**
+   * Inserts an interval into the tree.
+   *
+   * @param start the start of the interval
+   * @param end   the end of the interval
+   * @param seq   a sequence number; {@code (start, seq)} must be unique within the tree
+   * @param value the value attached to the interval
+   * @return the node handle, used to remove the interval later
+   */
+  public Node<T> insert(long start, long end, long seq, T value) {
+    Node<T> node = new Node<>(start, end, seq, value);
+    root = insert(root, node);
+    size++;
+    return node;
+  }
+
+  /**
+   * Removes a previously inserted interval.
+   *
+   * @param node the handle returned by {@link #insert}
+   * @return true if the interval was present, false otherwise
+   */
+  public boolean remove(Node<T> node) {
+    removed = false;
+    root = remove(root, node);
+    if (removed) {
+      size--;
+    }
+    return removed;
+  }
+
+  /**
+   * Moves a previously inserted interval to new bounds, keeping its node, sequence number and
+   * value. The node is unlinked and linked back at its new position, so nothing is allocated.
+   *
+   * @param node  the handle returned by {@link #insert}
+   * @param start the new start of the interval
+   * @param end   the new end of the interval
+   * @return true if the interval was present and has been moved, false otherwise
+   */
+  public boolean move(Node<T> node, long start, long end) {
+    removed = false;
+    root = remove(root, node);
+    if (!removed) {
+      return false;
+    }
+    node.start = start;
+    node.end = end;
+    node.maxEnd = end;
+    node.left = null;
+    node.right = null;
+    root = insert(root, node);
+    return true;
+  }
+
+  /**
+   * Returns every interval that strictly overlaps {@code [start, end)}, in start order.
+   *
+   * @param start the start of the query window
+   * @param end   the end of the query window
+   * @return the overlapping nodes
+   */
+  public List<Node<T>> overlapping(long start, long end) {
+    List<Node<T>> result = new ArrayList<>();
+    collect(root, start, end, result);
+    return result;
+  }
+
+  /**
+   * Returns every interval whose start lies in {@code [from, to)}, in start order.
+   *
+   * @param from the inclusive lower bound on the start
+   * @param to   the exclusive upper bound on the start
+   * @return the matching nodes
+   */
+  public List<Node<T>> startingBetween(long from, long to) {
+    List<Node<T>> result = new ArrayList<>();
+    collectStarts(root, from, to, result);
+    return result;
+  }
+
+  /**
+   * Returns the number of intervals in the tree.
+   *
+   * @return the size
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Removes all intervals.
+   */
+  public void clear() {
+    root = null;
+    size = 0;
+  }
+
+  private void collect(Node<T> node, long start, long end, List<Node<T>> out) {
+    if (node == null || node.maxEnd <= start) {
+      return;
+    }
+    collect(node.left, start, end, out);
+    if (node.start >= end) {
+      return;
+    }
+    if (start < node.end) {
+      out.add(node);
+    }
+    collect(node.right, start, end, out);
+  }
+
+  private void collectStarts(Node<T> node, long from, long to, List<Node<T>> out) {
+    if (node == null) {
+      return;
+    }
+    if (node.start >= from) {
+      collectStarts(node.left, from, to, out);
+    }
+    if (node.start >= from && node.start < to) {
+      out.add(node);
+    }
+    if (node.start < to) {
+      collectStarts(node.right, from, to, out);
+    }
+  }
+
+  private Node<T> insert(Node<T> current, Node<T> node) {
+    if (current == null) {
+      return node;
+    }
+    if (compare(node, current) < 0) {
+      current.left = insert(current.left, node);
+      if (current.left.priority > current.priority) {
+        return rotateRight(current);
+      }
+    } else {
+      current.right = insert(current.right, node);
+      if (current.right.priority > current.priority) {
+        return rotateLeft(current);
+      }
+    }
+    update(current);
+    return current;
+  }
+
+  private Node<T> remove(Node<T> current, Node<T> node) {
+    if (current == null) {
+      return null;
+    }
+    if (current == node) {
+      removed = true;
+      return merge(current.left, current.right);
+    }
+    if (compare(node, current) < 0) {
+      current.left = remove(current.left, node);
+    } else {
+      current.right = remove(current.right, node);
+    }
+    update(current);
+    return current;
+  }
+
+  private Node<T> merge(Node<T> a, Node<T> b) {
+    if (a == null) {
+      return b;
+    }
+    if (b == null) {
+      return a;
+    }
+    if (a.priority > b.priority) {
+      a.right = merge(a.right, b);
+      update(a);
+      return a;
+    }
+    b.left = merge(a, b.left);
+    update(b);
+    return b;
+  }
+
+  private Node<T> rotateRight(Node<T> node) {
+    Node<T> pivot = node.left;
+    node.left = pivot.right;
+    pivot.right = node;
+    update(node);
+    update(pivot);
+    return pivot;
+  }
+
+  private Node<T> rotateLeft(Node<T> node) {
+    Node<T> pivot = node.right;
+    node.right = pivot.left;
+    pivot.left = node;
+    update(node);
+    update(pivot);
+    return pivot;
+  }
+
+  private static <T> void update(Node<T> node) {
+    long max = node.end;
+    if (node.left != null && node.left.maxEnd > max) {
+      max = node.left.maxEnd;
+    }
+    if (node.right != null && node.right.maxEnd > max) {
+      max = node.right.maxEnd;
+    }
+    node.maxEnd = max;
+  }
+
+  private static <T> int compare(Node<T> a, Node<T> b) {
+    int c = Long.compare(a.start, b.start);
+    return c != 0 ? c : Long.compare(a.seq, b.seq);
+  }
+
+  private static int mix(long x) {
+    x = (x ^ (x >>> 30)) * 0xbf58476d1ce4e5b9L;
+    x = (x ^ (x >>> 27)) * 0x94d049bb133111ebL;
+    return (int) (x ^ (x >>> 31));
+  }
+}
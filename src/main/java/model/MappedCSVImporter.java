@@ -0,0 +1,349 @@
+package model;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Imports calendar events from a CSV file by memory-mapping it, for files too large to stream
+ * through a reader. Records and delimiters are found by scanning the mapped bytes directly, with
+ * the same quoting rules as {@link CSVTokenizer}, and only the fields an event needs are decoded:
+ * dates and times are read digit by digit, and text is decoded as UTF-8 straight from the
+ * mapping, so no line string or token array is ever built.
+ *
+ * <p>The file is mapped in windows of at most 256 MB, so files of any size can be imported. A
+ * window ends after the last complete record it holds and the next window starts at the record
+ * that was cut off. Rows are added in file order with the same conflict checks, line numbers and
+ * messages as {@link CSVImporter}; a field that does not have the usual form is handed to the
+ * {@code java.time} parsers so that its error message is the same as well.
+ */
+public class MappedCSVImporter implements Importer {
+
+  /**
+   * The size of the windows the file is mapped in when no size is given.
+   */
+  static final long DEFAULT_WINDOW_BYTES = 256L * 1024 * 1024;
+
+  private static final int FIELDS = CSVImporter.FIELDS;
+
+  private final long windowBytes;
+
+  /**
+   * Reads the records of a mapped window.
+   */
+  private static final class FieldReader {
+
+    private final MappedByteBuffer buffer;
+    private final int[] starts = new int[FIELDS];
+    private final int[] ends = new int[FIELDS];
+    private final boolean[] quoted = new boolean[FIELDS];
+    private int fieldCount;
+    private boolean malformed;
+    private int lines;
+    private byte[] scratch = new byte[256];
+
+    private FieldReader(MappedByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    /**
+     * Finds the end of the record starting at {@code from} and the bounds of its first nine
+     * fields. Unquoted fields are trimmed as {@code String.trim} would; quoted fields keep their
+     * quotes and are unescaped and trimmed when they are decoded.
+     *
+     * @param from       the offset of the record in the window
+     * @param limit      the size of the window
+     * @param lastWindow whether the window ends at the end of the file
+     * @return the offset just after the record and its line terminator, or -1 if the window ends
+     *     inside the record and more of the file follows
+     */
+    private int scan(int from, int limit, boolean lastWindow) {
+      fieldCount = 0;
+      malformed = false;
+      lines = 1;
+      int i = from;
+      while (true) {
+        int fieldStart = i;
+        boolean isQuoted = i < limit && buffer.get(i) == '"';
+        if (isQuoted) {
+          i++;
+          while (true) {
+            if (i == limit) {
+              if (!lastWindow) {
+                return -1;
+              }
+              malformed = true;
+              addField(fieldStart, limit, true);
+              return limit;
+            }
+            byte b = buffer.get(i++);
+            if (i == limit && !lastWindow && (b == '"' || b == '\r')) {
+              return -1;
+            }
+            if (b == '"') {
+              if (i == limit || buffer.get(i) != '"') {
+                break;
+              }
+              i++;
+            } else if (b == '\n' || (b == '\r' && (i == limit || buffer.get(i) != '\n'))) {
+              lines++;
+            }
+          }
+        }
+        while (true) {
+          if (i == limit) {
+            if (!lastWindow) {
+              return -1;
+            }
+            addField(fieldStart, limit, isQuoted);
+            return limit;
+          }
+          byte b = buffer.get(i);
+          if (b == ',') {
+            addField(fieldStart, i, isQuoted);
+            i++;
+            break;
+          }
+          if (b == '\n') {
+            addField(fieldStart, i, isQuoted);
+            return i + 1;
+          }
+          if (b == '\r') {
+            if (i + 1 == limit && !lastWindow) {
+              return -1;
+            }
+            addField(fieldStart, i, isQuoted);
+            return i + 1 < limit && buffer.get(i + 1) == '\n' ? i + 2 : i + 1;
+          }
+          i++;
+        }
+      }
+    }
+
+    private void addField(int start, int end, boolean isQuoted) {
+      if (fieldCount < FIELDS) {
+        if (!isQuoted) {
+          while (start < end && (buffer.get(start) & 0xFF) <= ' ') {
+            start++;
+          }
+          while (end > start && (buffer.get(end - 1) & 0xFF) <= ' ') {
+            end--;
+          }
+        }
+        starts[fieldCount] = start;
+        ends[fieldCount] = end;
+        quoted[fieldCount] = isQuoted;
+      }
+      fieldCount++;
+    }
+
+    private int length(int field) {
+      return ends[field] - starts[field];
+    }
+
+    /**
+     * Decodes a field. A quoted field is unescaped first and then trimmed.
+     */
+    private String text(int field) {
+      int length = length(field);
+      if (length == 0) {
+        return "";
+      }
+      if (scratch.length < length) {
+        scratch = new byte[Math.max(length, 2 * scratch.length)];
+      }
+      if (!quoted[field]) {
+        for (int i = 0; i < length; i++) {
+          scratch[i] = buffer.get(starts[field] + i);
+        }
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+      }
+      int size = 0;
+      boolean inQuotes = true;
+      for (int i = starts[field] + 1; i < ends[field]; i++) {
+        byte b = buffer.get(i);
+        if (b == '"' && inQuotes) {
+          if (i + 1 < ends[field] && buffer.get(i + 1) == '"') {
+            i++;
+          } else {
+            inQuotes = false;
+            continue;
+          }
+        }
+        scratch[size++] = b;
+      }
+      String value = new String(scratch, 0, size, StandardCharsets.UTF_8).trim();
+      return value.isEmpty() ? "" : value;
+    }
+
+    /**
+     * Reads a date in the form {@code yyyy-MM-dd}, or hands the field to
+     * {@link LocalDate#parse} if it has any other form or is not a valid date.
+     */
+    private LocalDate date(int field) {
+      int at = starts[field];
+      if (!quoted[field] && length(field) == 10 && buffer.get(at + 4) == '-'
+          && buffer.get(at + 7) == '-') {
+        int year = digits(at, 4);
+        int month = digits(at + 5, 2);
+        int day = digits(at + 8, 2);
+        if (year >= 0 && month >= 0 && day >= 0) {
+          try {
+            return LocalDate.of(year, month, day);
+          } catch (DateTimeException e) {
+            // Parsed again below for the parser's message.
+          }
+        }
+      }
+      return LocalDate.parse(text(field));
+    }
+
+    /**
+     * Reads a time in the form {@code HH:mm} or {@code HH:mm:ss}, or hands the field to
+     * {@link LocalTime#parse} if it has any other form or is not a valid time.
+     */
+    private LocalTime time(int field) {
+      int at = starts[field];
+      int length = length(field);
+      if (!quoted[field] && (length == 5 || length == 8) && buffer.get(at + 2) == ':'
+          && (length == 5 || buffer.get(at + 5) == ':')) {
+        int hour = digits(at, 2);
+        int minute = digits(at + 3, 2);
+        int second = length == 8 ? digits(at + 6, 2) : 0;
+        if (hour >= 0 && minute >= 0 && second >= 0) {
+          try {
+            return LocalTime.of(hour, minute, second);
+          } catch (DateTimeException e) {
+            // Parsed again below for the parser's message.
+          }
+        }
+      }
+      return LocalTime.parse(text(field));
+    }
+
+    private boolean isTrue(int field) {
+      if (quoted[field]) {
+        return "true".equalsIgnoreCase(text(field));
+      }
+      if (length(field) != 4) {
+        return false;
+      }
+      int at = starts[field];
+      return (buffer.get(at) | 0x20) == 't' && (buffer.get(at + 1) | 0x20) == 'r'
+          && (buffer.get(at + 2) | 0x20) == 'u' && (buffer.get(at + 3) | 0x20) == 'e';
+    }
+
+    /**
+     * Reads a run of ASCII digits as a number.
+     *
+     * @return the number, or -1 if any byte is not a digit
+     */
+    private int digits(int at, int count) {
+      int value = 0;
+      for (int i = at; i < at + count; i++) {
+        int digit = buffer.get(i) - '0';
+        if (digit < 0 || digit > 9) {
+          return -1;
+        }
+        value = value * 10 + digit;
+      }
+      return value;
+    }
+  }
+
+  /**
+   * Creates an importer that maps files in windows of {@link #DEFAULT_WINDOW_BYTES}.
+   */
+  public MappedCSVImporter() {
+    this(DEFAULT_WINDOW_BYTES);
+  }
+
+  /**
+   * Creates an importer that maps files in windows of the given size. Every record of an imported
+   * file must fit in one window.
+   *
+   * @param windowBytes the size of the mapped windows
+   * @throws IllegalArgumentException if the size is not positive or over 2 GB
+   */
+  MappedCSVImporter(long windowBytes) {
+    if (windowBytes < 1 || windowBytes > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Invalid window size: " + windowBytes);
+    }
+    this.windowBytes = windowBytes;
+  }
+
+  @Override
+  public String importData(ICalendarModel model, String fileName) throws IOException {
+    CSVImporter.Report report = new CSVImporter.Report();
+    try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size == 0) {
+        return "Error: CSV file is empty.";
+      }
+      int lineNumber = 1;
+      long windowStart = 0;
+      while (windowStart < size) {
+        int limit = (int) Math.min(windowBytes, size - windowStart);
+        boolean lastWindow = windowStart + limit == size;
+        FieldReader reader = new FieldReader(
+            channel.map(FileChannel.MapMode.READ_ONLY, windowStart, limit));
+
+        int recordStart = 0;
+        while (recordStart < limit) {
+          int next = reader.scan(recordStart, limit, lastWindow);
+          if (next < 0) {
+            break;
+          }
+          if (windowStart + recordStart > 0) {
+            report.add(parseRecord(reader, lineNumber), model);
+          }
+          lineNumber += reader.lines;
+          recordStart = next;
+        }
+        if (recordStart == 0) {
+          throw new IOException("The record on line " + lineNumber + " is longer than the "
+              + "mapping window of " + windowBytes + " bytes.");
+        }
+        windowStart += recordStart;
+      }
+    }
+    return report.summary();
+  }
+
+  /**
+   * Parses event fields from the record the reader has just scanned.
+   *
+   * @param reader     the reader of the window
+   * @param lineNumber the line number the record starts on
+   * @return the parsed row
+   */
+  private static CSVImporter.Row parseRecord(FieldReader reader, int lineNumber) {
+    CSVImporter.Row row = new CSVImporter.Row(lineNumber);
+    if (reader.malformed) {
+      row.error = CSVImporter.UNTERMINATED_QUOTE;
+      return row;
+    }
+    if (reader.fieldCount < FIELDS) {
+      row.error = CSVImporter.TOO_FEW_FIELDS;
+      return row;
+    }
+    row.subject = reader.text(0);
+    row.description = reader.text(6);
+    row.location = reader.text(7);
+    try {
+      row.start = LocalDateTime.of(reader.date(1), reader.time(2));
+      row.end = LocalDateTime.of(reader.date(3), reader.time(4));
+    } catch (Exception e) {
+      row.error = e.getMessage();
+    }
+    row.isPublic = !reader.isTrue(8);
+    return row;
+  }
+}
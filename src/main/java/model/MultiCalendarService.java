@@ -9,11 +9,13 @@ import java.util.Set;
 
 /**
  * Provides calendar services that support managing multiple calendars and delegating event
- * operations.
+ * operations. Every operation that changes events or a calendar's timezone is recorded in an
+ * {@link OperationJournal}, so it can be undone and redone.
  */
 public class MultiCalendarService implements IMultiCalendarService {
 
   private ICalendarManager calendarManager;
+  private final OperationJournal journal;
 
   /**
    * Constructs a MultiCalendarService with the given calendar manager.
@@ -21,7 +23,19 @@ public class MultiCalendarService implements IMultiCalendarService {
    * @param calendarManager the calendar manager used to handle calendar contexts
    */
   public MultiCalendarService(ICalendarManager calendarManager) {
+    this(calendarManager, OperationJournal.DEFAULT_DEPTH);
+  }
+
+  /**
+   * Constructs a MultiCalendarService with the given calendar manager, keeping up to
+   * {@code undoDepth} operations that can be undone.
+   *
+   * @param calendarManager the calendar manager used to handle calendar contexts
+   * @param undoDepth       the number of operations kept for undo
+   */
+  public MultiCalendarService(ICalendarManager calendarManager, int undoDepth) {
     this.calendarManager = calendarManager;
+    this.journal = new OperationJournal(undoDepth);
   }
 
   @Override
@@ -58,15 +72,15 @@ public class MultiCalendarService implements IMultiCalendarService {
       }
       return true;
     } else if (property.equalsIgnoreCase("timezone")) {
-      ZoneId oldZone = cal.getTimezone();
-      ZoneId newZone;
+      ZoneId previous = cal.getTimezone();
       try {
-        newZone = ZoneId.of(newValue);
+        cal.setTimezone(newValue);
       } catch (Exception e) {
         throw new Exception("Invalid timezone: " + newValue);
       }
-      cal.setTimezone(newValue);
-      EventMigrationHelper.migrateEvents(cal, oldZone, newZone);
+      journal.begin("edit calendar '" + calendarName + "'");
+      journal.recordZoneChange(cal, previous, cal.getTimezone());
+      journal.end();
       return true;
     }
     return false;
@@ -94,8 +108,14 @@ public class MultiCalendarService implements IMultiCalendarService {
   public void addSingleEvent(String subject, LocalDateTime start, LocalDateTime end,
       String description, String location, boolean isPublic,
       boolean autoDecline) throws Exception {
-    getCurrentCalendar().getCalendarService()
-        .addSingleEvent(subject, start, end, description, location, isPublic, true);
+    ICalendarContext cal = getCurrentCalendar();
+    journal.begin("create event '" + subject + "'", cal.getCalendarModel());
+    try {
+      cal.getCalendarService()
+          .addSingleEvent(subject, start, end, description, location, isPublic, true);
+    } finally {
+      journal.end();
+    }
   }
 
   @Override
@@ -104,9 +124,15 @@ public class MultiCalendarService implements IMultiCalendarService {
       Set<DayOfWeek> recurrenceDays,
       int occurrenceCount, LocalDate recurrenceEndDate,
       boolean autoDecline) throws Exception {
-    getCurrentCalendar().getCalendarService()
-        .addRecurringEvent(subject, start, end, description, location,
-            isPublic, recurrenceDays, occurrenceCount, recurrenceEndDate, true);
+    ICalendarContext cal = getCurrentCalendar();
+    journal.begin("create event '" + subject + "'", cal.getCalendarModel());
+    try {
+      cal.getCalendarService()
+          .addRecurringEvent(subject, start, end, description, location,
+              isPublic, recurrenceDays, occurrenceCount, recurrenceEndDate, true);
+    } finally {
+      journal.end();
+    }
   }
 
   @Override
@@ -139,7 +165,34 @@ public class MultiCalendarService implements IMultiCalendarService {
   @Override
   public void editEvent(String subject, LocalDateTime from, String property,
       String newValue, EditMode mode) throws Exception {
-    getCurrentCalendar().getCalendarService().editEvent(subject, from, property, newValue, mode);
+    ICalendarContext cal = getCurrentCalendar();
+    ICalendarModel model = cal.getCalendarModel();
+    journal.begin("edit event '" + subject + "'", model);
+    try {
+      for (Event event : model.getEventsBySubject(subject)) {
+        journal.snapshot(event);
+      }
+      cal.getCalendarService().editEvent(subject, from, property, newValue, mode);
+    } finally {
+      journal.end();
+    }
+  }
+
+  @Override
+  public void editEvents(List<EventEdit> edits) throws Exception {
+    ICalendarContext cal = getCurrentCalendar();
+    ICalendarModel model = cal.getCalendarModel();
+    journal.begin("batch of " + edits.size() + " edits", model);
+    try {
+      for (EventEdit edit : edits) {
+        for (Event event : model.getEventsBySubject(edit.getSubject())) {
+          journal.snapshot(event);
+        }
+      }
+      cal.getCalendarService().editEvents(edits);
+    } finally {
+      journal.end();
+    }
   }
 
   @Override
@@ -149,7 +202,13 @@ public class MultiCalendarService implements IMultiCalendarService {
 
   @Override
   public String importFrom(String format, String path) throws Exception {
-    return getCurrentCalendar().getCalendarService().importFrom(format, path);
+    ICalendarContext cal = getCurrentCalendar();
+    journal.begin("import from " + path, cal.getCalendarModel());
+    try {
+      return cal.getCalendarService().importFrom(format, path);
+    } finally {
+      journal.end();
+    }
   }
 
   @Override
@@ -162,6 +221,11 @@ public class MultiCalendarService implements IMultiCalendarService {
     return getCurrentCalendar().getCalendarService().printEventsRange(start, end);
   }
 
+  @Override
+  public String getStringPoolReport() throws Exception {
+    return getCurrentCalendar().getCalendarService().getStringPoolReport();
+  }
+
   @Override
   public String copyEvent(String eventName, LocalDateTime sourceStart,
       String targetCalendarName, LocalDateTime targetStart) throws Exception {
@@ -170,7 +234,13 @@ public class MultiCalendarService implements IMultiCalendarService {
     if (targetCal == null) {
       throw new Exception("Target calendar not found: " + targetCalendarName);
     }
-    return EventCopyHelper.copyEvent(sourceCal, targetCal, eventName, sourceStart, targetStart);
+    journal.begin("copy event '" + eventName + "'", targetCal.getCalendarModel());
+    try {
+      return EventCopyHelper.copyEvent(sourceCal, targetCal, eventName, sourceStart,
+          targetStart);
+    } finally {
+      journal.end();
+    }
   }
 
   @Override
@@ -181,20 +251,49 @@ public class MultiCalendarService implements IMultiCalendarService {
     if (targetCal == null) {
       throw new Exception("Target calendar not found: " + targetCalendarName);
     }
-    return EventCopyHelper.copyEventsOnDate(sourceCal, targetCal, sourceDate, targetDate);
+    journal.begin("copy events on " + sourceDate, targetCal.getCalendarModel());
+    try {
+      return EventCopyHelper.copyEventsOnDate(sourceCal, targetCal, sourceDate, targetDate);
+    } finally {
+      journal.end();
+    }
   }
 
   @Override
   public String copyEventsBetween(LocalDate sourceStartDate, LocalDate sourceEndDate,
       String targetCalendarName, LocalDate targetStartDate)
       throws Exception {
+    return copyEventsBetween(sourceStartDate, sourceEndDate, targetCalendarName,
+        targetStartDate, false);
+  }
+
+  @Override
+  public String copyEventsBetween(LocalDate sourceStartDate, LocalDate sourceEndDate,
+      String targetCalendarName, LocalDate targetStartDate, boolean allOrNothing)
+      throws Exception {
     ICalendarContext sourceCal = getCurrentCalendar();
     ICalendarContext targetCal = calendarManager.getCalendar(targetCalendarName);
     if (targetCal == null) {
       throw new Exception("Target calendar not found: " + targetCalendarName);
     }
-    return EventCopyHelper.copyEventsBetweenDates(sourceCal, targetCal, sourceStartDate,
-        sourceEndDate, targetStartDate);
+    journal.begin("copy events between " + sourceStartDate + " and " + sourceEndDate,
+        targetCal.getCalendarModel());
+    try {
+      return EventCopyHelper.copyEventsBetweenDates(sourceCal, targetCal, sourceStartDate,
+          sourceEndDate, targetStartDate, allOrNothing);
+    } finally {
+      journal.end();
+    }
+  }
+
+  @Override
+  public String undo() throws Exception {
+    return journal.undo();
+  }
+
+  @Override
+  public String redo() throws Exception {
+    return journal.redo();
   }
 
   @Override
@@ -0,0 +1,425 @@
+package model;
+
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the changes made by each calendar operation so that they can be undone and redone. An
+ * operation is recorded as the smallest delta that reverses it, never as a copy of a calendar:
+ * the events it stored in or removed from a model, a snapshot of each event it edited taken
+ * before and after the edit, and the timezones it changed. Undoing an operation therefore costs
+ * as much as the operation itself, however large the calendars are.
+ *
+ * <p>Only the most recent operations are kept, up to the journal's depth; older ones are dropped
+ * and can no longer be undone. The journal also has a budget on the number of changes it holds,
+ * counting every stored or removed event, event snapshot and timezone change, and drops the
+ * oldest operations once the budget is exceeded. The most recent operation is always kept, even
+ * when it alone exceeds the budget. Recording a new operation clears the operations that were
+ * undone.
+ */
+public class OperationJournal implements EventStoreListener {
+
+  /**
+   * The number of operations kept when no depth is given.
+   */
+  public static final int DEFAULT_DEPTH = 100;
+
+  /**
+   * The number of changes kept across all operations when no budget is given.
+   */
+  public static final int DEFAULT_CHANGE_BUDGET = 1_000_000;
+
+  private final int depth;
+  private final int changeBudget;
+  private long recordedChanges;
+  private final Deque<Operation> undoStack = new ArrayDeque<>();
+  private final Deque<Operation> redoStack = new ArrayDeque<>();
+  private Operation current;
+
+  /**
+   * The recorded delta of one operation.
+   */
+  private static final class Operation {
+
+    private final String label;
+    private final List<ICalendarModel> models = new ArrayList<>();
+    private final List<StoreChange> stores = new ArrayList<>();
+    private final Map<AbstractEvent, EventSnapshot> before = new IdentityHashMap<>();
+    private final List<EventSnapshot> after = new ArrayList<>();
+    private final List<ZoneChange> zones = new ArrayList<>();
+
+    private Operation(String label) {
+      this.label = label;
+    }
+
+    private boolean isEmpty() {
+      return stores.isEmpty() && after.isEmpty() && zones.isEmpty();
+    }
+
+    private int changeCount() {
+      return stores.size() + before.size() + after.size() + zones.size();
+    }
+  }
+
+  /**
+   * An event stored in or removed from a model.
+   */
+  private static final class StoreChange {
+
+    private final ICalendarModel model;
+    private final Event event;
+    private final boolean stored;
+
+    private StoreChange(ICalendarModel model, Event event, boolean stored) {
+      this.model = model;
+      this.event = event;
+      this.stored = stored;
+    }
+  }
+
+  /**
+   * A change of a calendar's timezone.
+   */
+  private static final class ZoneChange {
+
+    private final ICalendarContext calendar;
+    private final ZoneId from;
+    private final ZoneId to;
+
+    private ZoneChange(ICalendarContext calendar, ZoneId from, ZoneId to) {
+      this.calendar = calendar;
+      this.from = from;
+      this.to = to;
+    }
+  }
+
+  /**
+   * One reversible step of undoing an operation.
+   */
+  private static final class Step {
+
+    private final Action undo;
+    private final Action redo;
+    private final boolean idempotent;
+
+    private Step(Action undo, Action redo, boolean idempotent) {
+      this.undo = undo;
+      this.redo = redo;
+      this.idempotent = idempotent;
+    }
+  }
+
+  /**
+   * An action of a step, which may fail.
+   */
+  @FunctionalInterface
+  private interface Action {
+
+    void run() throws Exception;
+  }
+
+  /**
+   * Creates a journal keeping up to {@link #DEFAULT_DEPTH} operations.
+   */
+  public OperationJournal() {
+    this(DEFAULT_DEPTH);
+  }
+
+  /**
+   * Creates a journal keeping up to the given number of operations and up to
+   * {@link #DEFAULT_CHANGE_BUDGET} changes.
+   *
+   * @param depth the number of operations that can be undone
+   * @throws IllegalArgumentException if the depth is not positive
+   */
+  public OperationJournal(int depth) {
+    this(depth, DEFAULT_CHANGE_BUDGET);
+  }
+
+  /**
+   * Creates a journal keeping up to the given numbers of operations and changes.
+   *
+   * @param depth        the number of operations that can be undone
+   * @param changeBudget the number of changes kept across all operations
+   * @throws IllegalArgumentException if the depth or the budget is not positive
+   */
+  public OperationJournal(int depth, int changeBudget) {
+    if (depth < 1) {
+      throw new IllegalArgumentException("Journal depth must be positive: " + depth);
+    }
+    if (changeBudget < 1) {
+      throw new IllegalArgumentException("Journal change budget must be positive: "
+          + changeBudget);
+    }
+    this.depth = depth;
+    this.changeBudget = changeBudget;
+  }
+
+  /**
+   * Starts recording an operation. Events stored in or removed from the given models are recorded
+   * until the operation is ended.
+   *
+   * @param label  a short description of the operation, used in undo and redo messages
+   * @param models the models the operation may change
+   */
+  void begin(String label, ICalendarModel... models) {
+    current = new Operation(label);
+    for (ICalendarModel model : models) {
+      model.setStoreListener(this);
+      current.models.add(model);
+    }
+  }
+
+  /**
+   * Captures the state of an event before the current operation edits it. Only the first capture
+   * of each event within an operation is kept.
+   *
+   * @param event the event about to be edited
+   */
+  void snapshot(Event event) {
+    if (current != null && event instanceof AbstractEvent
+        && !current.before.containsKey(event)) {
+      current.before.put((AbstractEvent) event, new EventSnapshot((AbstractEvent) event));
+    }
+  }
+
+  /**
+   * Records that the current operation changed the timezone of a calendar.
+   *
+   * @param calendar the calendar
+   * @param from     the timezone before the change
+   * @param to       the timezone after the change
+   */
+  void recordZoneChange(ICalendarContext calendar, ZoneId from, ZoneId to) {
+    if (current != null && !from.equals(to)) {
+      current.zones.add(new ZoneChange(calendar, from, to));
+    }
+  }
+
+  /**
+   * Ends the current operation. Whatever it changed is kept, even if it failed part of the way;
+   * an operation that changed nothing is dropped.
+   */
+  void end() {
+    Operation operation = current;
+    current = null;
+    if (operation == null) {
+      return;
+    }
+    for (ICalendarModel model : operation.models) {
+      model.setStoreListener(null);
+    }
+    for (EventSnapshot snapshot : new ArrayList<>(operation.before.values())) {
+      EventSnapshot now = new EventSnapshot(snapshot.getEvent());
+      if (snapshot.sameState(now)) {
+        operation.before.remove(snapshot.getEvent());
+      } else {
+        operation.after.add(now);
+      }
+    }
+    if (operation.isEmpty()) {
+      return;
+    }
+    for (Operation undone : redoStack) {
+      recordedChanges -= undone.changeCount();
+    }
+    redoStack.clear();
+    undoStack.addLast(operation);
+    recordedChanges += operation.changeCount();
+    while (undoStack.size() > depth
+        || (recordedChanges > changeBudget && undoStack.size() > 1)) {
+      recordedChanges -= undoStack.removeFirst().changeCount();
+    }
+  }
+
+  @Override
+  public void eventStored(ICalendarModel model, Event event) {
+    record(model, event, true);
+  }
+
+  @Override
+  public void eventRemoved(ICalendarModel model, Event event) {
+    record(model, event, false);
+  }
+
+  /**
+   * Records a store change, cancelling it against the opposite change of the same event made
+   * earlier in the operation, so that a step the operation rolled back itself leaves no trace.
+   */
+  private void record(ICalendarModel model, Event event, boolean stored) {
+    if (current == null) {
+      return;
+    }
+    List<StoreChange> stores = current.stores;
+    if (!stores.isEmpty()) {
+      StoreChange last = stores.get(stores.size() - 1);
+      if (last.model == model && last.event == event && last.stored != stored) {
+        stores.remove(stores.size() - 1);
+        return;
+      }
+    }
+    stores.add(new StoreChange(model, event, stored));
+  }
+
+  /**
+   * Reverses the most recent operation that has not been undone. If a step fails, the steps
+   * already taken are reverted and the operation stays undoable.
+   *
+   * @return a message naming the undone operation, or saying there is nothing to undo
+   * @throws Exception if an edited event can no longer be put back
+   */
+  public String undo() throws Exception {
+    Operation operation = undoStack.peekLast();
+    if (operation == null) {
+      return "Nothing to undo.";
+    }
+    run(undoSteps(operation), true);
+    redoStack.addLast(undoStack.removeLast());
+    return "Undid " + operation.label + ".";
+  }
+
+  /**
+   * Applies again the most recently undone operation. If a step fails, the steps already taken
+   * are reverted and the operation stays redoable.
+   *
+   * @return a message naming the redone operation, or saying there is nothing to redo
+   * @throws Exception if an edited event can no longer be put back
+   */
+  public String redo() throws Exception {
+    Operation operation = redoStack.peekLast();
+    if (operation == null) {
+      return "Nothing to redo.";
+    }
+    List<Step> steps = undoSteps(operation);
+    Collections.reverse(steps);
+    run(steps, false);
+    undoStack.addLast(redoStack.removeLast());
+    return "Redid " + operation.label + ".";
+  }
+
+  /**
+   * Lists the steps that undo an operation, in order: the runs of store changes from the last to
+   * the first, the snapshots taken before the operation, and the timezone changes from the last
+   * to the first. Redoing the operation takes the same steps the other way, in reverse order.
+   */
+  private static List<Step> undoSteps(Operation operation) {
+    List<Step> steps = new ArrayList<>();
+    List<StoreChange> stores = operation.stores;
+    for (int end = stores.size(); end > 0; ) {
+      int start = runStart(stores, end);
+      List<Event> run = new ArrayList<>(end - start);
+      for (int i = start; i < end; i++) {
+        run.add(stores.get(i).event);
+      }
+      StoreChange first = stores.get(start);
+      steps.add(new Step(() -> apply(first, run, true), () -> apply(first, run, false), false));
+      end = start;
+    }
+    Map<AbstractEvent, EventSnapshot> after = new IdentityHashMap<>();
+    for (EventSnapshot snapshot : operation.after) {
+      after.put(snapshot.getEvent(), snapshot);
+    }
+    for (EventSnapshot snapshot : operation.before.values()) {
+      steps.add(new Step(snapshot::restore, after.get(snapshot.getEvent())::restore, true));
+    }
+    for (int i = operation.zones.size() - 1; i >= 0; i--) {
+      ZoneChange change = operation.zones.get(i);
+      steps.add(new Step(() -> change.calendar.setTimezone(change.from.getId()),
+          () -> change.calendar.setTimezone(change.to.getId()), true));
+    }
+    return steps;
+  }
+
+  /**
+   * Takes the steps in order. If one fails, the steps already taken are reverted in reverse
+   * order, along with the failed step itself when reverting it twice is harmless, and the failure
+   * is rethrown with any failures of the revert suppressed into it.
+   */
+  private static void run(List<Step> steps, boolean undo) throws Exception {
+    int taken = 0;
+    try {
+      for (; taken < steps.size(); taken++) {
+        Step step = steps.get(taken);
+        (undo ? step.undo : step.redo).run();
+      }
+    } catch (Exception e) {
+      int last = taken < steps.size() && steps.get(taken).idempotent ? taken : taken - 1;
+      for (int i = last; i >= 0; i--) {
+        Step step = steps.get(i);
+        try {
+          (undo ? step.redo : step.undo).run();
+        } catch (Exception revertFailure) {
+          e.addSuppressed(revertFailure);
+        }
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the number of operations that can currently be undone.
+   *
+   * @return the number of recorded operations
+   */
+  public int undoableCount() {
+    return undoStack.size();
+  }
+
+  /**
+   * Returns the number of undone operations that can currently be redone.
+   *
+   * @return the number of undone operations
+   */
+  public int redoableCount() {
+    return redoStack.size();
+  }
+
+  /**
+   * Returns the number of changes held by the operations that can be undone or redone.
+   *
+   * @return the number of recorded changes
+   */
+  public long recordedChanges() {
+    return recordedChanges;
+  }
+
+  /**
+   * Stores or removes a run of events recorded with the same model and kind, in one call to the
+   * model. Undoing a store removes the events, and undoing a removal stores them again.
+   */
+  private static void apply(StoreChange first, List<Event> events, boolean undo) {
+    if (first.stored == undo) {
+      first.model.removeEvents(events);
+    } else {
+      first.model.addEvents(events);
+    }
+  }
+
+  private static int runStart(List<StoreChange> stores, int end) {
+    StoreChange last = stores.get(end - 1);
+    int start = end - 1;
+    while (start > 0 && sameRun(stores.get(start - 1), last)) {
+      start--;
+    }
+    return start;
+  }
+
+  private static int runEnd(List<StoreChange> stores, int start) {
+    StoreChange first = stores.get(start);
+    int end = start + 1;
+    while (end < stores.size() && sameRun(stores.get(end), first)) {
+      end++;
+    }
+    return end;
+  }
+
+  private static boolean sameRun(StoreChange a, StoreChange b) {
+    return a.model == b.model && a.stored == b.stored;
+  }
+}
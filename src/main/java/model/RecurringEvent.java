@@ -1,20 +1,47 @@
 package model;
 
+import java.lang.ref.SoftReference;
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Represents a recurring event that generates multiple single event occurrences.
+ * Represents a recurring event that generates multiple single event occurrences. The start times
+ * of all occurrences are memoized behind a soft reference, so the garbage collector may reclaim
+ * them under memory pressure, and they are discarded whenever one of the event's setters runs.
+ * Every read builds fresh occurrence events from the memoized start times, so a caller changing a
+ * returned occurrence never changes what later callers see.
+ *
+ * <p>Individual occurrences can be replaced by overrides, kept in an overlay keyed by the start
+ * the occurrence originally had. Every way of reading the series applies the overlay: the
+ * replacement is returned in place of the original occurrence, at its own start time.
  */
 public class RecurringEvent extends AbstractEvent {
 
-  private Set<DayOfWeek> recurrenceDays;
+  private static final AtomicLong CACHE_HITS = new AtomicLong();
+  private static final AtomicLong CACHE_MISSES = new AtomicLong();
+
+  private int recurrenceMask;
   private int occurrenceCount = -1;
   private LocalDate recurrenceEndDate;
+  private SoftReference<Expansion> occurrenceCache;
+  private NavigableMap<LocalDateTime, SingleEvent> overrides = new TreeMap<>();
+  private int overrideVersion;
 
   /**
    * Constructs a RecurringEvent with the specified parameters.
@@ -47,7 +74,7 @@ public class RecurringEvent extends AbstractEvent {
           + "recurrence end date must be provided.");
     }
     this.endDateTime = endDateTime;
-    this.recurrenceDays = recurrenceDays;
+    this.recurrenceMask = WeekdayMask.of(recurrenceDays);
     this.occurrenceCount = occurrenceCount;
     this.recurrenceEndDate = recurrenceEndDate;
   }
@@ -58,42 +85,381 @@ public class RecurringEvent extends AbstractEvent {
    * @return a list of SingleEvent occurrences
    */
   public List<SingleEvent> generateOccurrences() {
-    List<SingleEvent> occurrences = new ArrayList<>();
-    LocalDate currentDate = startDateTime.toLocalDate();
-    int count = 0;
-    while (true) {
-      if (recurrenceDays.contains(currentDate.getDayOfWeek())) {
-        LocalDateTime occurrenceStart = LocalDateTime.of(currentDate, startDateTime.toLocalTime());
-        LocalDateTime occurrenceEnd = LocalDateTime.of(currentDate, endDateTime.toLocalTime());
-        try {
-          SingleEvent occurrence = new SingleEvent(subject, occurrenceStart,
-              occurrenceEnd, description, location, isPublic);
-          occurrences.add(occurrence);
-        } catch (InvalidDateException e) {
-          // In case of an invalid occurrence, skip to the next date.
+    Expansion expansion = cachedOccurrences();
+    List<SingleEvent> occurrences = new ArrayList<>(expansion.size());
+    for (int i = 0; i < expansion.size(); i++) {
+      occurrences.add(expansion.occurrence(i));
+    }
+    return occurrences;
+  }
+
+  /**
+   * Returns the memoized expansion of the series, expanding the series if it is not cached.
+   *
+   * @return the start times and overrides of all occurrences
+   */
+  private Expansion cachedOccurrences() {
+    Expansion cached = occurrenceCache == null ? null : occurrenceCache.get();
+    if (cached != null) {
+      CACHE_HITS.incrementAndGet();
+      return cached;
+    }
+    CACHE_MISSES.incrementAndGet();
+    cached = new Expansion();
+    occurrenceCache = new SoftReference<>(cached);
+    return cached;
+  }
+
+  /**
+   * Lazily iterates over the occurrences that start at or after {@code from} and before
+   * {@code to}. Iteration begins at the first matching day inside the window rather than at the
+   * start of the series, and only the occurrences actually returned are allocated.
+   *
+   * @param from the inclusive start of the window, as stored
+   * @param to   the exclusive end of the window, as stored
+   * @return the occurrences in the window, in chronological order
+   */
+  @Override
+  Iterable<Event> storedOccurrencesBetween(LocalDateTime from, LocalDateTime to) {
+    Expansion cached;
+    if (from.equals(LocalDateTime.MIN) && to.equals(LocalDateTime.MAX)) {
+      cached = cachedOccurrences();
+    } else {
+      cached = occurrenceCache == null ? null : occurrenceCache.get();
+      if (cached == null) {
+        return () -> iterate(from, to);
+      }
+      CACHE_HITS.incrementAndGet();
+    }
+    Expansion expansion = cached;
+    int low = expansion.firstStartingAtOrAfter(from);
+    int high = Math.max(low, expansion.firstStartingAtOrAfter(to));
+    return () -> expansion.occurrences(low, high);
+  }
+
+  /**
+   * Starts a lazy walk over the window with the overlay applied. Overrides that kept their
+   * original start are substituted by the walk itself; overrides that were moved are few, so the
+   * ones landing in the window are collected up front and merged in by start time.
+   */
+  private Iterator<Event> iterate(LocalDateTime from, LocalDateTime to) {
+    Iterator<Event> base = new OccurrenceIterator(from, to, true);
+    List<SingleEvent> moved = new ArrayList<>();
+    for (Map.Entry<LocalDateTime, SingleEvent> entry : overrides.entrySet()) {
+      LocalDateTime start = entry.getValue().startDateTime;
+      if (!start.equals(entry.getKey()) && !start.isBefore(from) && start.isBefore(to)
+          && occursAt(entry.getKey())) {
+        moved.add(entry.getValue());
+      }
+    }
+    if (moved.isEmpty()) {
+      return base;
+    }
+    moved.sort(Comparator.comparing(SingleEvent::storedStart));
+    return new MergingIterator(base, moved.iterator());
+  }
+
+  /**
+   * Checks whether the rule itself, ignoring the overlay, produces an occurrence at a start time.
+   */
+  private boolean occursAt(LocalDateTime start) {
+    return new OccurrenceIterator(start, start.plusNanos(1), false).hasNext();
+  }
+
+  /**
+   * Merges two iterators that are each in chronological order.
+   */
+  private static final class MergingIterator implements Iterator<Event> {
+
+    private final Iterator<Event> first;
+    private final Iterator<SingleEvent> second;
+    private Event nextFirst;
+    private SingleEvent nextSecond;
+
+    private MergingIterator(Iterator<Event> first, Iterator<SingleEvent> second) {
+      this.first = first;
+      this.second = second;
+      this.nextFirst = first.hasNext() ? first.next() : null;
+      this.nextSecond = second.hasNext() ? second.next() : null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return nextFirst != null || nextSecond != null;
+    }
+
+    @Override
+    public Event next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      Event result;
+      if (nextSecond == null || (nextFirst != null
+          && !nextSecond.startDateTime.isBefore(((AbstractEvent) nextFirst).startDateTime))) {
+        result = nextFirst;
+        nextFirst = first.hasNext() ? first.next() : null;
+      } else {
+        result = nextSecond;
+        nextSecond = second.hasNext() ? second.next() : null;
+      }
+      return result;
+    }
+  }
+
+  /**
+   * The memoized expansion of the series: the start time of every occurrence, in order, and the
+   * override standing in for it, if any. Occurrences without an override are built on demand, so
+   * no caller ever holds an occurrence another caller was given.
+   */
+  private final class Expansion {
+
+    private final LocalDateTime[] starts;
+    private final SingleEvent[] replaced;
+    private final Duration length;
+
+    private Expansion() {
+      Set<SingleEvent> overridden = Collections.newSetFromMap(new IdentityHashMap<>());
+      overridden.addAll(overrides.values());
+      List<LocalDateTime> startList = new ArrayList<>();
+      List<SingleEvent> replacedList = new ArrayList<>();
+      Iterator<Event> it = iterate(LocalDateTime.MIN, LocalDateTime.MAX);
+      while (it.hasNext()) {
+        SingleEvent occurrence = (SingleEvent) it.next();
+        startList.add(occurrence.startDateTime);
+        replacedList.add(overridden.contains(occurrence) ? occurrence : null);
+      }
+      this.starts = startList.toArray(new LocalDateTime[0]);
+      this.replaced = replacedList.toArray(new SingleEvent[0]);
+      this.length = Duration.between(startDateTime, storedEnd());
+    }
+
+    private int size() {
+      return starts.length;
+    }
+
+    private SingleEvent occurrence(int index) {
+      SingleEvent override = replaced[index];
+      return override != null ? override : newOccurrence(starts[index], length);
+    }
+
+    private Iterator<Event> occurrences(int from, int to) {
+      return new Iterator<Event>() {
+        private int index = from;
+
+        @Override
+        public boolean hasNext() {
+          return index < to;
         }
-        count++;
-        if (occurrenceCount != -1 && count >= occurrenceCount) {
-          break;
+
+        @Override
+        public Event next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          return occurrence(index++);
+        }
+      };
+    }
+
+    private int firstStartingAtOrAfter(LocalDateTime time) {
+      int low = 0;
+      int high = starts.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (starts[mid].isBefore(time)) {
+          low = mid + 1;
+        } else {
+          high = mid;
         }
       }
-      currentDate = currentDate.plusDays(1);
-      if (recurrenceEndDate != null && currentDate.isAfter(recurrenceEndDate)) {
-        break;
+      return low;
+    }
+  }
+
+  /**
+   * Builds the occurrence starting at {@code start}, as stored, with this series' fields.
+   *
+   * @param start  the stored start of the occurrence
+   * @param length the length of each occurrence
+   * @return the occurrence, or null if it cannot be built
+   */
+  private SingleEvent newOccurrence(LocalDateTime start, Duration length) {
+    try {
+      SingleEvent occurrence = new SingleEvent(subject, start, start.plus(length), description,
+          location, isPublic);
+      occurrence.zone = zone;
+      return occurrence;
+    } catch (InvalidDateException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns how many occurrence queries were answered from the memoized occurrence lists, across
+   * all recurring events.
+   *
+   * @return the number of cache hits
+   */
+  public static long getCacheHits() {
+    return CACHE_HITS.get();
+  }
+
+  /**
+   * Returns how many times a series had to be fully expanded because its occurrences were not
+   * memoized, across all recurring events.
+   *
+   * @return the number of cache misses
+   */
+  public static long getCacheMisses() {
+    return CACHE_MISSES.get();
+  }
+
+  /**
+   * Resets the cache hit and miss counters.
+   */
+  public static void resetCacheStatistics() {
+    CACHE_HITS.set(0);
+    CACHE_MISSES.set(0);
+  }
+
+  /**
+   * Discards the memoized occurrences before notifying listeners, so they observe the new state.
+   */
+  @Override
+  protected void fireChanged() {
+    occurrenceCache = null;
+    super.fireChanged();
+  }
+
+  /**
+   * Counts the recurrence days in {@code [first, end)}.
+   *
+   * @param first the first date to count
+   * @param end   the exclusive end date
+   * @return the number of dates in the range falling on a recurrence day
+   */
+  private long countMatchingDays(LocalDate first, LocalDate end) {
+    long days = ChronoUnit.DAYS.between(first, end);
+    if (days <= 0) {
+      return 0;
+    }
+    return (days / 7) * Integer.bitCount(recurrenceMask)
+        + WeekdayMask.countInRun(recurrenceMask, first.getDayOfWeek(), (int) (days % 7));
+  }
+
+  /**
+   * Returns the number of occurrences the count allows. The first occurrence is always produced,
+   * so counts below one behave like one.
+   */
+  private int countLimit() {
+    return Math.max(occurrenceCount, 1);
+  }
+
+  /**
+   * Walks the series inside a window, jumping straight from one matching day to the next. The
+   * series' first day is always considered, even when it falls after the recurrence end date.
+   */
+  private final class OccurrenceIterator implements Iterator<Event> {
+
+    private final LocalDate seriesStart;
+    private final LocalTime startTime;
+    private final Duration length;
+    private final LocalDateTime to;
+    private LocalDate date;
+    private long count;
+    private final boolean applyOverrides;
+    private SingleEvent next;
+    private boolean done;
+
+    private OccurrenceIterator(LocalDateTime from, LocalDateTime to, boolean applyOverrides) {
+      this.seriesStart = startDateTime.toLocalDate();
+      this.startTime = startDateTime.toLocalTime();
+      this.length = Duration.between(startDateTime, storedEnd());
+      this.to = to;
+      this.applyOverrides = applyOverrides;
+      LocalDate first = from.toLocalDate();
+      if (LocalDateTime.of(first, startTime).isBefore(from)) {
+        first = first.plusDays(1);
       }
+      if (first.isBefore(seriesStart)) {
+        first = seriesStart;
+      }
+      this.date = first;
+      this.count = countMatchingDays(seriesStart, first);
+      this.done = recurrenceMask == 0;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (next == null && !done) {
+        advance();
+      }
+      return next != null;
+    }
+
+    @Override
+    public Event next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      SingleEvent result = next;
+      next = null;
+      return result;
+    }
+
+    private void advance() {
+      date = date.plusDays(WeekdayMask.daysToNext(recurrenceMask, date.getDayOfWeek()));
+      if ((occurrenceCount != -1 && count >= countLimit())
+          || (recurrenceEndDate != null && date.isAfter(recurrenceEndDate)
+          && !date.equals(seriesStart))
+          || !LocalDateTime.of(date, startTime).isBefore(to)) {
+        done = true;
+        return;
+      }
+      count++;
+      LocalDateTime start = LocalDateTime.of(date, startTime);
+      SingleEvent override = applyOverrides ? overrides.get(start) : null;
+      if (override != null) {
+        if (override.startDateTime.equals(start)) {
+          next = override;
+        }
+      } else {
+        // In case of an invalid occurrence, skip to the next date.
+        next = newOccurrence(start, length);
+      }
+      date = date.plusDays(1);
     }
-    return occurrences;
   }
 
   /**
-   * Checks if this recurring event conflicts with another event by comparing each occurrence.
+   * Checks if this recurring event conflicts with another event. Conflicts with another recurring
+   * series and with single events are decided arithmetically from the two rules, without expanding
+   * any occurrences. Once either series has overrides, the two series are stored in different
+   * zones, or an occurrence runs past midnight in its storage zone, this series is walked
+   * occurrence by occurrence and each one is checked against the other series.
    *
    * @param other the other event to compare
    * @return true if any occurrence conflicts, false otherwise
    */
   @Override
   public boolean conflictsWith(Event other) {
-    for (SingleEvent occurrence : this.generateOccurrences()) {
+    if (other instanceof RecurringEvent) {
+      RecurringEvent series = (RecurringEvent) other;
+      if (overrides.isEmpty() && series.overrides.isEmpty() && sameFrame(series.zone)
+          && !crossesMidnight() && !series.crossesMidnight()) {
+        return conflictsWithSeries(series);
+      }
+      for (Event occurrence : occurrencesBetween(LocalDateTime.MIN, LocalDateTime.MAX)) {
+        if (series.conflictsWithSingle((SingleEvent) occurrence)) {
+          return true;
+        }
+      }
+      return false;
+    }
+    if (other instanceof SingleEvent) {
+      return other.conflictsWith(this);
+    }
+    for (Event occurrence : occurrencesBetween(LocalDateTime.MIN, LocalDateTime.MAX)) {
       if (other.conflictsWith(occurrence)) {
         return true;
       }
@@ -101,6 +467,166 @@ public class RecurringEvent extends AbstractEvent {
     return false;
   }
 
+  /**
+   * Decides whether two series share a day on which their time-of-day windows overlap. Both series
+   * occur on every one of their recurrence days between their first and last occurrence, so only
+   * the weekday sets, the date ranges and the two time windows need to be compared.
+   *
+   * @param other the other series
+   * @return true if some pair of occurrences overlaps
+   */
+  private boolean conflictsWithSeries(RecurringEvent other) {
+    LocalTime start1 = startDateTime.toLocalTime();
+    LocalTime end1 = storedEnd().toLocalTime();
+    LocalTime start2 = other.startDateTime.toLocalTime();
+    LocalTime end2 = other.storedEnd().toLocalTime();
+    if (!start1.isBefore(end2) || !start2.isBefore(end1)) {
+      return false;
+    }
+    LocalDate first1 = firstStoredDate();
+    LocalDate first2 = other.firstStoredDate();
+    if (first1 == null || first2 == null) {
+      return false;
+    }
+    LocalDate from = first1.isAfter(first2) ? first1 : first2;
+    LocalDate last1 = lastStoredDate();
+    LocalDate last2 = other.lastStoredDate();
+    LocalDate to = last1.isBefore(last2) ? last1 : last2;
+    int shared = recurrenceMask & other.recurrenceMask;
+    return shared != 0 && !from.isAfter(to)
+        && !from.plusDays(WeekdayMask.daysToNext(shared, from.getDayOfWeek())).isAfter(to);
+  }
+
+  /**
+   * Decides whether a single event overlaps any occurrence of this series. Only days covered by
+   * both the event and the series are visited, plus the day before when occurrences run past
+   * midnight, and a match is always found within a week of the first such day if one exists.
+   * Overridden occurrences are skipped by the rule and their replacements checked directly.
+   *
+   * @param single the single event
+   * @return true if the event overlaps an occurrence
+   */
+  boolean conflictsWithSingle(SingleEvent single) {
+    LocalTime startTime = startDateTime.toLocalTime();
+    Duration length = Duration.between(startDateTime, storedEnd());
+    LocalDate first = firstStoredDate();
+    if (first == null || length.isNegative()) {
+      return false;
+    }
+    LocalDate last = lastStoredDate();
+    LocalDateTime start = startInZone(single);
+    LocalDateTime end = endInZone(single);
+    LocalDate earliest = crossesMidnight() ? start.toLocalDate().minusDays(1)
+        : start.toLocalDate();
+    LocalDate day = earliest.isAfter(first) ? earliest : first;
+    LocalDate to = end.toLocalDate().isBefore(last) ? end.toLocalDate() : last;
+    for (; !day.isAfter(to); day = day.plusDays(1)) {
+      day = day.plusDays(WeekdayMask.daysToNext(recurrenceMask, day.getDayOfWeek()));
+      LocalDateTime occurrenceStart = LocalDateTime.of(day, startTime);
+      if (!day.isAfter(to) && start.isBefore(occurrenceStart.plus(length))
+          && occurrenceStart.isBefore(end) && !overrides.containsKey(occurrenceStart)) {
+        return true;
+      }
+    }
+    for (Map.Entry<LocalDateTime, SingleEvent> entry : overrides.entrySet()) {
+      if (single.conflictsWith(entry.getValue()) && occursAt(entry.getKey())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the stored intervals that together cover every occurrence: the span of the rule from
+   * its first start to its last end, followed by the interval of each override, so a range query
+   * per interval finds everything the series can overlap without expanding it.
+   *
+   * @return pairs of stored start and end times, empty if the series never occurs
+   */
+  List<LocalDateTime[]> storedSpans() {
+    List<LocalDateTime[]> spans = new ArrayList<>();
+    LocalDate first = firstStoredDate();
+    if (first != null) {
+      LocalTime startTime = startDateTime.toLocalTime();
+      Duration length = Duration.between(startDateTime, storedEnd());
+      spans.add(new LocalDateTime[]{LocalDateTime.of(first, startTime),
+          LocalDateTime.of(lastStoredDate(), startTime).plus(length)});
+    }
+    for (SingleEvent override : overrides.values()) {
+      spans.add(new LocalDateTime[]{override.startDateTime, override.storedEnd()});
+    }
+    return spans;
+  }
+
+  /**
+   * Checks whether an occurrence ends on a later day than it starts, in the storage zone. A series
+   * is created with occurrences inside one day, but the storage zone of its calendar may split
+   * them across midnight.
+   */
+  private boolean crossesMidnight() {
+    return !storedEnd().toLocalDate().equals(startDateTime.toLocalDate());
+  }
+
+  /**
+   * Returns the date of the first occurrence of the series.
+   *
+   * @return the first occurrence date, or null if the series never occurs
+   */
+  public LocalDate getFirstOccurrenceDate() {
+    return toDisplayDate(firstStoredDate());
+  }
+
+  private LocalDate firstStoredDate() {
+    LocalDate start = startDateTime.toLocalDate();
+    if (recurrenceMask == 0) {
+      return null;
+    }
+    LocalDate date = start.plusDays(WeekdayMask.daysToNext(recurrenceMask, start.getDayOfWeek()));
+    if (!date.equals(start) && recurrenceEndDate != null && date.isAfter(recurrenceEndDate)) {
+      return null;
+    }
+    return date;
+  }
+
+  /**
+   * Returns the date of the last occurrence of the series, computed from the occurrence count
+   * and the recurrence end date without walking the series.
+   *
+   * @return the last occurrence date, or null if the series never occurs
+   */
+  public LocalDate getLastOccurrenceDate() {
+    return toDisplayDate(lastStoredDate());
+  }
+
+  private LocalDate lastStoredDate() {
+    LocalDate first = firstStoredDate();
+    if (first == null) {
+      return null;
+    }
+    LocalDate last = null;
+    if (occurrenceCount != -1) {
+      int perWeek = Integer.bitCount(recurrenceMask);
+      int limit = countLimit();
+      LocalDate date = first.plusWeeks((limit - 1) / perWeek);
+      int remaining = (limit - 1) % perWeek;
+      for (; remaining > 0; remaining--) {
+        date = date.plusDays(1);
+        date = date.plusDays(WeekdayMask.daysToNext(recurrenceMask, date.getDayOfWeek()));
+      }
+      last = date;
+    }
+    if (recurrenceEndDate != null && !first.isAfter(recurrenceEndDate)) {
+      LocalDate date = recurrenceEndDate.minusDays(
+          WeekdayMask.daysSincePrevious(recurrenceMask, recurrenceEndDate.getDayOfWeek()));
+      if (last == null || date.isBefore(last)) {
+        last = date;
+      }
+    } else if (recurrenceEndDate != null) {
+      last = first;
+    }
+    return last;
+  }
+
   /**
    * Returns the list of occurrences for this recurring event.
    *
@@ -112,8 +638,13 @@ public class RecurringEvent extends AbstractEvent {
   }
 
 
+  /**
+   * Returns the days on which the series recurs.
+   *
+   * @return a new {@link java.util.EnumSet} holding the recurrence days
+   */
   public Set<DayOfWeek> getRecurrenceDays() {
-    return recurrenceDays;
+    return WeekdayMask.toSet(WeekdayMask.shift(recurrenceMask, displayDayShift()));
   }
 
   public int getOccurrenceCount() {
@@ -121,11 +652,192 @@ public class RecurringEvent extends AbstractEvent {
   }
 
   public LocalDate getRecurrenceEndDate() {
+    return toDisplayDate(recurrenceEndDate);
+  }
+
+  /**
+   * Returns the recurrence end date as stored, in the storage zone of the series' calendar.
+   *
+   * @return the stored recurrence end date, or null
+   */
+  LocalDate storedRecurrenceEndDate() {
     return recurrenceEndDate;
   }
 
+  /**
+   * Returns how many days the presented start date is ahead of the stored one.
+   */
+  private int displayDayShift() {
+    return (int) ChronoUnit.DAYS.between(startDateTime.toLocalDate(),
+        getStartDateTime().toLocalDate());
+  }
+
+  /**
+   * Converts a stored rule date into the presented zone, as the date an occurrence on that day
+   * is presented on.
+   */
+  private LocalDate toDisplayDate(LocalDate stored) {
+    if (stored == null || zone == null || !zone.isShifted()) {
+      return stored;
+    }
+    return toDisplay(LocalDateTime.of(stored, startDateTime.toLocalTime())).toLocalDate();
+  }
+
+  /**
+   * Converts a presented rule date into the storage zone, the inverse of
+   * {@link #toDisplayDate}.
+   */
+  private LocalDate toStoredDate(LocalDate display) {
+    if (display == null || zone == null || !zone.isShifted()) {
+      return display;
+    }
+    return toStored(LocalDateTime.of(display, getStartDateTime().toLocalTime())).toLocalDate();
+  }
+
+  /**
+   * Creates an unattached copy of the series moved by a fixed amount, built from its rule rather
+   * than its occurrences. Every occurrence of the copy is the matching occurrence of this series,
+   * as presented, moved by {@code shift}: the weekdays and the recurrence end date move with the
+   * start date, the occurrence count is kept, and each live override is copied and moved too.
+   *
+   * @param shift the amount every occurrence is moved by
+   * @param pool  the pool the text fields of the copy are interned in
+   * @return the copy
+   * @throws InvalidDateException if the moved times are invalid
+   */
+  RecurringEvent copyShiftedBy(Duration shift, StringPool pool) throws InvalidDateException {
+    LocalDateTime start = getStartDateTime();
+    LocalDateTime newStart = start.plus(shift);
+    int dayShift = (int) ChronoUnit.DAYS.between(start.toLocalDate(), newStart.toLocalDate());
+    LocalDate endDate = getRecurrenceEndDate();
+    RecurringEvent copy = new RecurringEvent(pool.intern(subject), newStart,
+        getEffectiveEndDateTime().plus(shift), pool.intern(description), pool.intern(location),
+        isPublic, WeekdayMask.toSet(WeekdayMask.shift(
+            WeekdayMask.of(getRecurrenceDays()), dayShift)),
+        occurrenceCount, endDate == null ? null : endDate.plusDays(dayShift));
+    NavigableMap<LocalDateTime, SingleEvent> moved = new TreeMap<>();
+    for (Map.Entry<LocalDateTime, SingleEvent> entry : getOccurrenceOverrides().entrySet()) {
+      SingleEvent override = entry.getValue();
+      moved.put(entry.getKey().plus(shift), new SingleEvent(pool.intern(override.getSubject()),
+          override.getStartDateTime().plus(shift),
+          override.getEffectiveEndDateTime().plus(shift),
+          pool.intern(override.getDescription()), pool.intern(override.getLocation()),
+          override.isPublic()));
+    }
+    if (!moved.isEmpty()) {
+      copy.restoreOverrides(moved);
+    }
+    return copy;
+  }
+
+  /**
+   * Moves the series into a calendar zone together with its rule and overrides. The presented
+   * start, weekdays and end date are kept; the stored weekdays shift with the start date when
+   * the two zones are on different days.
+   *
+   * @param newZone the zone of the calendar taking the series, or null
+   */
+  @Override
+  void attachZone(CalendarZone newZone) {
+    if (newZone == zone) {
+      return;
+    }
+    int presentedMask = WeekdayMask.shift(recurrenceMask, displayDayShift());
+    LocalDate presentedEndDate = getRecurrenceEndDate();
+    NavigableMap<LocalDateTime, SingleEvent> presentedOverrides = new TreeMap<>();
+    for (Map.Entry<LocalDateTime, SingleEvent> entry : overrides.entrySet()) {
+      presentedOverrides.put(toDisplay(entry.getKey()), entry.getValue());
+    }
+    super.attachZone(newZone);
+    recurrenceMask = WeekdayMask.shift(presentedMask, -displayDayShift());
+    recurrenceEndDate = toStoredDate(presentedEndDate);
+    overrides = new TreeMap<>();
+    for (Map.Entry<LocalDateTime, SingleEvent> entry : presentedOverrides.entrySet()) {
+      entry.getValue().attachZone(newZone);
+      overrides.put(toStored(entry.getKey()), entry.getValue());
+    }
+    occurrenceCache = null;
+  }
+
+  /**
+   * Replaces one occurrence of the series with an override. The occurrence may be one this series
+   * produced, or an override returned by it earlier, which is then replaced again.
+   *
+   * @param occurrence  the occurrence to replace
+   * @param replacement the event to return in its place
+   * @throws IllegalArgumentException if the occurrence does not belong to this series
+   */
+  public void overrideOccurrence(SingleEvent occurrence, SingleEvent replacement) {
+    LocalDateTime key = startInZone(occurrence);
+    for (Map.Entry<LocalDateTime, SingleEvent> entry : overrides.entrySet()) {
+      if (entry.getValue() == occurrence) {
+        key = entry.getKey();
+        break;
+      }
+    }
+    if (!occursAt(key)) {
+      throw new IllegalArgumentException("No occurrence of '" + subject + "' starts at "
+          + toDisplay(key));
+    }
+    replacement.attachZone(zone);
+    overrides.put(key, replacement);
+    overrideVersion++;
+    fireChanged();
+  }
+
+  /**
+   * Returns the overridden occurrences, keyed by the start each occurrence originally had.
+   * Overrides whose occurrence is no longer part of the series are not included.
+   *
+   * @return an unmodifiable map from original start to replacement
+   */
+  public NavigableMap<LocalDateTime, SingleEvent> getOccurrenceOverrides() {
+    NavigableMap<LocalDateTime, SingleEvent> live = new TreeMap<>();
+    for (Map.Entry<LocalDateTime, SingleEvent> entry : overrides.entrySet()) {
+      if (occursAt(entry.getKey())) {
+        live.put(toDisplay(entry.getKey()), entry.getValue());
+      }
+    }
+    return Collections.unmodifiableNavigableMap(live);
+  }
+
+  /**
+   * Returns a copy of the override overlay, including overrides that no longer apply.
+   *
+   * @return a copy of the overlay
+   */
+  NavigableMap<LocalDateTime, SingleEvent> copyOverrides() {
+    return new TreeMap<>(overrides);
+  }
+
+  /**
+   * Replaces the whole override overlay, e.g. with one taken earlier by {@link #copyOverrides}.
+   *
+   * @param restored the overlay to install
+   */
+  void restoreOverrides(NavigableMap<LocalDateTime, SingleEvent> restored) {
+    overrides = new TreeMap<>(restored);
+    overrideVersion++;
+    fireChanged();
+  }
+
+  /**
+   * Returns a counter that changes every time an override is added or replaced.
+   *
+   * @return the override version
+   */
+  int getOverrideVersion() {
+    return overrideVersion;
+  }
+
+  /**
+   * Updates the last date on which the series may recur.
+   *
+   * @param newEndDate the new recurrence end date
+   */
   public void setRecurrenceEndDate(LocalDate newEndDate) {
-    this.recurrenceEndDate = newEndDate;
+    this.recurrenceEndDate = toStoredDate(newEndDate);
+    fireChanged();
   }
 
 
@@ -43,18 +43,12 @@ public class SingleEvent extends AbstractEvent {
     if (other instanceof SingleEvent) {
       SingleEvent o = (SingleEvent) other;
       LocalDateTime start1 = this.startDateTime;
-      LocalDateTime end1 = this.getEffectiveEndDateTime();
-      LocalDateTime start2 = o.getStartDateTime();
-      LocalDateTime end2 = o.getEffectiveEndDateTime();
+      LocalDateTime end1 = storedEnd();
+      LocalDateTime start2 = startInZone(o);
+      LocalDateTime end2 = endInZone(o);
       return start1.isBefore(end2) && start2.isBefore(end1);
     } else if (other instanceof RecurringEvent) {
-      RecurringEvent rec = (RecurringEvent) other;
-      for (SingleEvent occurrence : rec.generateOccurrences()) {
-        if (this.conflictsWith(occurrence)) {
-          return true;
-        }
-      }
-      return false;
+      return ((RecurringEvent) other).conflictsWithSingle(this);
     }
     return false;
   }
@@ -69,4 +63,19 @@ public class SingleEvent extends AbstractEvent {
   public List<Event> getOccurrences() {
     return Collections.singletonList(this);
   }
+
+  /**
+   * Returns this event if it starts inside the window, otherwise nothing.
+   *
+   * @param from the inclusive start of the window, as stored
+   * @param to   the exclusive end of the window, as stored
+   * @return a singleton or empty list
+   */
+  @Override
+  Iterable<Event> storedOccurrencesBetween(LocalDateTime from, LocalDateTime to) {
+    if (startDateTime.isBefore(from) || !startDateTime.isBefore(to)) {
+      return Collections.emptyList();
+    }
+    return Collections.singletonList(this);
+  }
 }
@@ -0,0 +1,127 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A calendar-scoped dictionary of the subjects, descriptions and locations used by its events.
+ * Interning hands back one shared instance per distinct value, so repeated strings such as
+ * "Standup" or "Room 4B" are only kept once, and every value also gets a small integer id that
+ * compact stores can keep instead of a reference. The pool counts how many strings it was handed
+ * and how many of them were duplicates, and can report the memory this saved.
+ */
+public class StringPool {
+
+  /**
+   * The id used for a {@code null} value.
+   */
+  public static final int NO_ID = -1;
+
+  private static final int STRING_OVERHEAD_BYTES = 40;
+
+  private final Map<String, Integer> ids = new HashMap<>();
+  private final List<String> values = new ArrayList<>();
+  private long requests;
+  private long duplicates;
+  private long bytesSaved;
+
+  /**
+   * Returns the shared instance equal to the given string, adding it to the pool if it is new.
+   *
+   * @param value the string to intern, may be null
+   * @return the pooled instance, or null if the value was null
+   */
+  public String intern(String value) {
+    int id = idOf(value);
+    return id == NO_ID ? null : values.get(id);
+  }
+
+  /**
+   * Returns the id of the given string, adding it to the pool if it is new.
+   *
+   * @param value the string to look up, may be null
+   * @return the id of the string, or {@link #NO_ID} if the value was null
+   */
+  public int idOf(String value) {
+    if (value == null) {
+      return NO_ID;
+    }
+    requests++;
+    Integer id = ids.get(value);
+    if (id != null) {
+      if (values.get(id) != value) {
+        duplicates++;
+        bytesSaved += estimateBytes(value);
+      }
+      return id;
+    }
+    id = values.size();
+    values.add(value);
+    ids.put(value, id);
+    return id;
+  }
+
+  /**
+   * Returns the string with the given id.
+   *
+   * @param id an id returned by {@link #idOf}, or {@link #NO_ID}
+   * @return the pooled string, or null for {@link #NO_ID}
+   */
+  public String valueOf(int id) {
+    return id == NO_ID ? null : values.get(id);
+  }
+
+  /**
+   * Returns the number of distinct strings in the pool.
+   *
+   * @return the number of distinct strings
+   */
+  public int size() {
+    return values.size();
+  }
+
+  /**
+   * Returns how many non-null strings have been interned, duplicates included.
+   *
+   * @return the number of intern requests
+   */
+  public long getRequests() {
+    return requests;
+  }
+
+  /**
+   * Returns how many interned strings were separate copies of a value already in the pool.
+   *
+   * @return the number of duplicates replaced by the pooled instance
+   */
+  public long getDuplicates() {
+    return duplicates;
+  }
+
+  /**
+   * Returns an estimate of the heap freed by replacing duplicates with the pooled instance.
+   *
+   * @return the estimated number of bytes saved
+   */
+  public long getBytesSaved() {
+    return bytesSaved;
+  }
+
+  /**
+   * Returns a one-line summary of the pool and the memory it saved.
+   *
+   * @return the memory report
+   */
+  public String getReport() {
+    long percent = requests == 0 ? 0 : duplicates * 100 / requests;
+    return "String pool: " + values.size() + " distinct of " + requests + " strings, "
+        + duplicates + " duplicates (" + percent + "%), about " + (bytesSaved / 1024)
+        + " KB saved.";
+  }
+
+  private static long estimateBytes(String value) {
+    return STRING_OVERHEAD_BYTES + 2L * value.length();
+  }
+}
@@ -0,0 +1,137 @@
+package model;
+
+import java.time.DayOfWeek;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Helpers for a set of weekdays packed into a 7-bit mask, with Monday in bit 0 and Sunday in bit
+ * 6. Distances to the next and previous matching weekday are precomputed for all 128 masks, so
+ * stepping through a recurrence never needs to test days one at a time.
+ */
+final class WeekdayMask {
+
+  /**
+   * The mask with every weekday set.
+   */
+  static final int ALL = 0x7F;
+
+  private static final byte[][] NEXT = new byte[ALL + 1][7];
+  private static final byte[][] PREVIOUS = new byte[ALL + 1][7];
+
+  static {
+    for (int mask = 1; mask <= ALL; mask++) {
+      for (int day = 0; day < 7; day++) {
+        int next = 0;
+        while ((mask & (1 << ((day + next) % 7))) == 0) {
+          next++;
+        }
+        int previous = 0;
+        while ((mask & (1 << ((day - previous + 7) % 7))) == 0) {
+          previous++;
+        }
+        NEXT[mask][day] = (byte) next;
+        PREVIOUS[mask][day] = (byte) previous;
+      }
+    }
+  }
+
+  private WeekdayMask() {
+  }
+
+  /**
+   * Packs a set of weekdays into a mask.
+   *
+   * @param days the weekdays
+   * @return the mask
+   */
+  static int of(Set<DayOfWeek> days) {
+    int mask = 0;
+    for (DayOfWeek day : days) {
+      mask |= bit(day);
+    }
+    return mask;
+  }
+
+  /**
+   * Unpacks a mask into a new set of weekdays.
+   *
+   * @param mask the mask
+   * @return the weekdays in the mask
+   */
+  static Set<DayOfWeek> toSet(int mask) {
+    Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+    for (DayOfWeek day : DayOfWeek.values()) {
+      if ((mask & bit(day)) != 0) {
+        days.add(day);
+      }
+    }
+    return days;
+  }
+
+  /**
+   * Checks whether a weekday is in the mask.
+   *
+   * @param mask the mask
+   * @param day  the weekday
+   * @return true if the weekday is set
+   */
+  static boolean contains(int mask, DayOfWeek day) {
+    return (mask & bit(day)) != 0;
+  }
+
+  /**
+   * Returns the number of days from {@code day} to the next weekday in the mask, counting
+   * {@code day} itself as zero.
+   *
+   * @param mask a non-empty mask
+   * @param day  the weekday to start from
+   * @return a distance between 0 and 6
+   */
+  static int daysToNext(int mask, DayOfWeek day) {
+    return NEXT[mask][day.ordinal()];
+  }
+
+  /**
+   * Returns the number of days back from {@code day} to the closest earlier weekday in the mask,
+   * counting {@code day} itself as zero.
+   *
+   * @param mask a non-empty mask
+   * @param day  the weekday to start from
+   * @return a distance between 0 and 6
+   */
+  static int daysSincePrevious(int mask, DayOfWeek day) {
+    return PREVIOUS[mask][day.ordinal()];
+  }
+
+  /**
+   * Counts the weekdays in the mask among the {@code length} consecutive days starting at
+   * {@code day}.
+   *
+   * @param mask   the mask
+   * @param day    the first weekday of the run
+   * @param length the number of days in the run, at most 7
+   * @return the number of matching days in the run
+   */
+  static int countInRun(int mask, DayOfWeek day, int length) {
+    int shift = day.ordinal();
+    int rotated = ((mask >>> shift) | (mask << (7 - shift))) & ALL;
+    return Integer.bitCount(rotated & ((1 << length) - 1));
+  }
+
+  /**
+   * Moves every weekday in the mask by the same number of days, wrapping around the week.
+   *
+   * @param mask the mask
+   * @param days the number of days to move forward, negative to move back
+   * @return the shifted mask
+   */
+  static int shift(int mask, int days) {
+    int shift = Math.floorMod(days, 7);
+    return ((mask << shift) | (mask >>> (7 - shift))) & ALL;
+  }
+
+  private static int bit(DayOfWeek day) {
+    return 1 << day.ordinal();
+  }
+}
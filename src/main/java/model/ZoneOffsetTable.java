@@ -0,0 +1,166 @@
+package model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts wall-clock times from one zone to another with a precomputed table. Over a range of
+ * source times the difference between the two zones only changes at the offset transitions of
+ * either zone, so the range is split at those points and the difference is computed once per
+ * segment. Converting a time is then a binary search for its segment plus an addition, with no
+ * {@link ZoneRules} lookup. Times outside the range are converted directly.
+ *
+ * <p>The result is the same as {@code local.atZone(from).withZoneSameInstant(to)}: a time in a
+ * gap of the source zone is moved forward by the length of the gap, and a time in an overlap
+ * takes the earlier offset.
+ */
+public final class ZoneOffsetTable {
+
+  private static final LocalDateTime DEFAULT_START = LocalDate.of(1970, 1, 1).atStartOfDay();
+  private static final LocalDateTime DEFAULT_END = LocalDate.of(2100, 1, 1).atStartOfDay();
+  private static final long MARGIN_SECONDS = 2 * 24 * 3600;
+  private static final Map<ZoneId, Map<ZoneId, ZoneOffsetTable>> CACHE =
+      new ConcurrentHashMap<>();
+
+  private final ZoneId from;
+  private final ZoneId to;
+  private final long low;
+  private final long high;
+  private final long[] starts;
+  private final int[] deltas;
+
+  private ZoneOffsetTable(ZoneId from, ZoneId to, long low, long high, long[] starts,
+      int[] deltas) {
+    this.from = from;
+    this.to = to;
+    this.low = low;
+    this.high = high;
+    this.starts = starts;
+    this.deltas = deltas;
+  }
+
+  /**
+   * Returns the shared table for a pair of zones, covering the years 1970 to 2099. Tables are
+   * built on first use and kept for the lifetime of the application.
+   *
+   * @param from the zone times are converted from
+   * @param to   the zone times are converted to
+   * @return the table for the pair
+   */
+  public static ZoneOffsetTable forPair(ZoneId from, ZoneId to) {
+    return CACHE.computeIfAbsent(from, z -> new ConcurrentHashMap<>())
+        .computeIfAbsent(to, z -> between(from, to, DEFAULT_START, DEFAULT_END));
+  }
+
+  /**
+   * Builds a table for a pair of zones covering the source times in {@code [start, end)}.
+   *
+   * @param from  the zone times are converted from
+   * @param to    the zone times are converted to
+   * @param start the first source time covered
+   * @param end   the end of the covered range, exclusive
+   * @return the new table
+   */
+  public static ZoneOffsetTable between(ZoneId from, ZoneId to, LocalDateTime start,
+      LocalDateTime end) {
+    long low = key(start);
+    long high = Math.max(low, key(end));
+    ZoneRules sourceRules = from.getRules();
+    ZoneRules targetRules = to.getRules();
+    Instant scanStart = Instant.ofEpochSecond(low - MARGIN_SECONDS);
+    Instant scanEnd = Instant.ofEpochSecond(high + MARGIN_SECONDS);
+
+    TreeSet<Long> bounds = new TreeSet<>();
+    Set<Integer> sourceOffsets = new HashSet<>();
+    sourceOffsets.add(sourceRules.getOffset(scanStart).getTotalSeconds());
+    for (ZoneOffsetTransition t = sourceRules.nextTransition(scanStart);
+        t != null && t.getInstant().isBefore(scanEnd);
+        t = sourceRules.nextTransition(t.getInstant())) {
+      sourceOffsets.add(t.getOffsetAfter().getTotalSeconds());
+      LocalDateTime before = t.getDateTimeBefore();
+      LocalDateTime after = t.getDateTimeAfter();
+      bounds.add(key(before.isAfter(after) ? before : after));
+    }
+    for (ZoneOffsetTransition t = targetRules.nextTransition(scanStart);
+        t != null && t.getInstant().isBefore(scanEnd);
+        t = targetRules.nextTransition(t.getInstant())) {
+      for (int offset : sourceOffsets) {
+        bounds.add(t.getInstant().getEpochSecond() + offset);
+      }
+    }
+
+    Set<Long> inside = bounds.subSet(low, false, high, false);
+    long[] starts = new long[inside.size() + 1];
+    int[] deltas = new int[starts.length];
+    starts[0] = low;
+    int i = 1;
+    for (long bound : inside) {
+      starts[i++] = bound;
+    }
+    for (i = 0; i < starts.length; i++) {
+      LocalDateTime local = LocalDateTime.ofEpochSecond(starts[i], 0, ZoneOffset.UTC);
+      deltas[i] = (int) (key(convertDirectly(local, from, to)) - starts[i]);
+    }
+    return new ZoneOffsetTable(from, to, low, high, starts, deltas);
+  }
+
+  /**
+   * Converts a wall-clock time in the source zone into the target zone.
+   *
+   * @param local the time in the source zone
+   * @return the same instant as a wall-clock time in the target zone
+   */
+  public LocalDateTime convert(LocalDateTime local) {
+    long key = key(local);
+    if (key < low || key >= high) {
+      return convertDirectly(local, from, to);
+    }
+    int index = Arrays.binarySearch(starts, key);
+    if (index < 0) {
+      index = -index - 2;
+    }
+    return local.plusSeconds(deltas[index]);
+  }
+
+  /**
+   * Converts a batch of wall-clock times in the source zone into the target zone.
+   *
+   * @param locals the times in the source zone
+   * @return the converted times, in the same order
+   */
+  public LocalDateTime[] convertAll(LocalDateTime[] locals) {
+    LocalDateTime[] converted = new LocalDateTime[locals.length];
+    for (int i = 0; i < locals.length; i++) {
+      converted[i] = convert(locals[i]);
+    }
+    return converted;
+  }
+
+  /**
+   * Returns the number of segments the covered range was split into.
+   *
+   * @return the number of segments
+   */
+  public int size() {
+    return starts.length;
+  }
+
+  private static LocalDateTime convertDirectly(LocalDateTime local, ZoneId from, ZoneId to) {
+    return local.atZone(from).withZoneSameInstant(to).toLocalDateTime();
+  }
+
+  private static long key(LocalDateTime local) {
+    return local.toEpochSecond(ZoneOffset.UTC);
+  }
+}
@@ -7,6 +7,7 @@ import java.time.YearMonth;
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
+import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
@@ -66,11 +67,15 @@ public class CalendarGUI extends JFrame implements ICalendarView {
     monthLabel = new JLabel("", SwingConstants.CENTER);
     JButton newEventButton = new JButton("New Event");
     JButton editMultipleButton = new JButton("Edit Multiple Events");
+    JButton undoButton = new JButton("Undo");
+    JButton redoButton = new JButton("Redo");
     navigationPanel.add(prevButton);
     navigationPanel.add(monthLabel);
     navigationPanel.add(nextButton);
     navigationPanel.add(newEventButton);
     navigationPanel.add(editMultipleButton);
+    navigationPanel.add(undoButton);
+    navigationPanel.add(redoButton);
     topPanel.add(navigationPanel, BorderLayout.CENTER);
 
     monthViewPanel = new MonthViewPanel(controller);
@@ -112,6 +117,16 @@ public class CalendarGUI extends JFrame implements ICalendarView {
       SwingUtilities.invokeLater(refreshMonthViewRunnable);
     });
 
+    undoButton.addActionListener(e -> {
+      JOptionPane.showMessageDialog(this, controller.undo());
+      SwingUtilities.invokeLater(refreshMonthViewRunnable);
+    });
+
+    redoButton.addActionListener(e -> {
+      JOptionPane.showMessageDialog(this, controller.redo());
+      SwingUtilities.invokeLater(refreshMonthViewRunnable);
+    });
+
     updateMonthLabel();
   }
 
@@ -111,6 +111,17 @@ public class CopyEventsBetweenCommandParserTest {
     assertTrue("Should handle date parse error",
         cmd.execute().contains("Error processing copy events between command"));
   }
-}
 
+  @Test
+  public void testAtomicOption() throws Exception {
+    IMultiCalendarService service = new MultiCalendarService(new CalendarManager());
+    CopyEventsBetweenCommandParser parser = new CopyEventsBetweenCommandParser(service);
+    String[] input = {"copy", "events", "between", "2025-03-01", "and", "2025-03-03",
+        "--target", "TargetCal", "to", "2025-06-01", "--atomic"};
+    assertTrue(parser.parse(input) instanceof CopyEventsBetweenCommand);
 
+    String[] unknown = {"copy", "events", "between", "2025-03-01", "and", "2025-03-03",
+        "--target", "TargetCal", "to", "2025-06-01", "--fast"};
+    assertTrue(parser.parse(unknown).execute().contains("Unknown option '--fast'"));
+  }
+}
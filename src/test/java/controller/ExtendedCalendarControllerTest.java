@@ -49,4 +49,20 @@ public class ExtendedCalendarControllerTest {
     String result = controller.processCommand("print events on not-a-date");
     assertTrue(result.toLowerCase().contains("invalid date format"));
   }
+
+  @Test
+  public void testUndoAndRedoCommands() {
+    CalendarManager manager = new CalendarManager();
+    IMultiCalendarService service = new MultiCalendarService(manager);
+    ExtendedCalendarController controller = new ExtendedCalendarController(service);
+    controller.processCommand("create calendar --name Work --timezone UTC");
+    controller.processCommand("use calendar --name Work");
+    controller.processCommand("create event Meeting from 2025-03-03T09:00 to 2025-03-03T10:00");
+
+    assertEquals("Undid create event 'Meeting'.", controller.processCommand("undo"));
+    assertEquals("Available", controller.processCommand("show status on 2025-03-03T09:30"));
+    assertEquals("Redid create event 'Meeting'.", controller.processCommand("REDO"));
+    assertEquals("Busy", controller.processCommand("show status on 2025-03-03T09:30"));
+    assertEquals("Invalid undo command.", controller.processCommand("undo twice"));
+  }
 }
@@ -226,5 +226,14 @@ public class GUIControllerTest {
     assertEquals("Unknown calendar property: color", result);
   }
 
-
-}
\ No newline at end of file
+  @Test
+  public void undoAndRedo() {
+    controller.createSingleEvent("Meeting", "2025-04-10T10:00", "2025-04-10T11:00", "", "",
+        true, true);
+
+    assertEquals("Undid create event 'Meeting'.", controller.undo());
+    assertEquals("Nothing to undo.", controller.undo());
+    assertEquals("Redid create event 'Meeting'.", controller.redo());
+    assertTrue(controller.printEventsOn(LocalDate.of(2025, 4, 10)).contains("Meeting"));
+  }
+}
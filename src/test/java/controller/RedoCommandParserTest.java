@@ -0,0 +1,35 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import model.CalendarManager;
+import model.IMultiCalendarService;
+import model.MultiCalendarService;
+import org.junit.Test;
+
+/**
+ * Test Cases for {@link RedoCommandParser}.
+ */
+public class RedoCommandParserTest {
+
+  @Test
+  public void testValidCommandParse() {
+    IMultiCalendarService service = new MultiCalendarService(new CalendarManager());
+    RedoCommandParser parser = new RedoCommandParser(service);
+
+    assertTrue(parser.parse(new String[]{"redo"}) instanceof RedoCommand);
+  }
+
+  @Test
+  public void testExtraTokensRejected() throws Exception {
+    IMultiCalendarService service = new MultiCalendarService(new CalendarManager());
+    RedoCommandParser parser = new RedoCommandParser(service);
+
+    Command command = parser.parse(new String[]{"redo", "all"});
+
+    assertFalse(command instanceof RedoCommand);
+    assertEquals("Invalid redo command.", command.execute());
+  }
+}
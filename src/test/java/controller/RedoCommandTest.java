@@ -0,0 +1,37 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDateTime;
+import model.CalendarManager;
+import model.IMultiCalendarService;
+import model.MultiCalendarService;
+import org.junit.Test;
+
+/**
+ * JUnit Test Cases for RedoCommand.
+ */
+public class RedoCommandTest {
+
+  @Test
+  public void testRedoCreate() throws Exception {
+    IMultiCalendarService service = new MultiCalendarService(new CalendarManager());
+    service.createCalendar("Work", "UTC");
+    service.useCalendar("Work");
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    service.addSingleEvent("Meeting", start, start.plusHours(1), "", "", true, true);
+    service.undo();
+
+    String result = new RedoCommand(service).execute();
+
+    assertEquals("Redid create event 'Meeting'.", result);
+    assertEquals(1, service.getAllEvents().size());
+  }
+
+  @Test
+  public void testNothingToRedo() throws Exception {
+    IMultiCalendarService service = new MultiCalendarService(new CalendarManager());
+
+    assertEquals("Nothing to redo.", new RedoCommand(service).execute());
+  }
+}
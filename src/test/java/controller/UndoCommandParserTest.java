@@ -0,0 +1,35 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import model.CalendarManager;
+import model.IMultiCalendarService;
+import model.MultiCalendarService;
+import org.junit.Test;
+
+/**
+ * Test Cases for {@link UndoCommandParser}.
+ */
+public class UndoCommandParserTest {
+
+  @Test
+  public void testValidCommandParse() {
+    IMultiCalendarService service = new MultiCalendarService(new CalendarManager());
+    UndoCommandParser parser = new UndoCommandParser(service);
+
+    assertTrue(parser.parse(new String[]{"undo"}) instanceof UndoCommand);
+  }
+
+  @Test
+  public void testExtraTokensRejected() throws Exception {
+    IMultiCalendarService service = new MultiCalendarService(new CalendarManager());
+    UndoCommandParser parser = new UndoCommandParser(service);
+
+    Command command = parser.parse(new String[]{"undo", "all"});
+
+    assertFalse(command instanceof UndoCommand);
+    assertEquals("Invalid undo command.", command.execute());
+  }
+}
@@ -0,0 +1,37 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import model.CalendarManager;
+import model.IMultiCalendarService;
+import model.MultiCalendarService;
+import org.junit.Test;
+
+/**
+ * JUnit Test Cases for UndoCommand.
+ */
+public class UndoCommandTest {
+
+  @Test
+  public void testUndoCreate() throws Exception {
+    IMultiCalendarService service = new MultiCalendarService(new CalendarManager());
+    service.createCalendar("Work", "UTC");
+    service.useCalendar("Work");
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    service.addSingleEvent("Meeting", start, start.plusHours(1), "", "", true, true);
+
+    String result = new UndoCommand(service).execute();
+
+    assertEquals("Undid create event 'Meeting'.", result);
+    assertTrue(service.getAllEvents().isEmpty());
+  }
+
+  @Test
+  public void testNothingToUndo() throws Exception {
+    IMultiCalendarService service = new MultiCalendarService(new CalendarManager());
+
+    assertEquals("Nothing to undo.", new UndoCommand(service).execute());
+  }
+}
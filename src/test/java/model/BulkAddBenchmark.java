@@ -0,0 +1,68 @@
+package model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures adding events to a {@link CalendarModel} in shuffled order, followed by one
+ * {@link CalendarModel#isBusyAt} lookup, and compares it with keeping the busy view sorted on
+ * every add, as the model used to do. Not part of the test suite; run it directly after
+ * {@code mvn test-compile}:
+ *
+ * <pre>
+ * java -Xmx2g -cp target/classes:target/test-classes model.BulkAddBenchmark
+ * </pre>
+ */
+public class BulkAddBenchmark {
+
+  private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args unused
+   * @throws Exception if building a calendar fails
+   */
+  public static void main(String[] args) throws Exception {
+    System.out.printf("%10s %14s %18s%n", "events", "model ms", "sorted insert ms");
+    for (int count : new int[]{50_000, 200_000, 1_000_000}) {
+      List<SingleEvent> events = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        LocalDateTime start = BASE.plusMinutes(45L * i);
+        events.add(new SingleEvent("Event", start, start.plusMinutes(30), "", "", true));
+      }
+      Collections.shuffle(events, new Random(count));
+
+      CalendarModel model = new CalendarModel();
+      long start = System.nanoTime();
+      for (SingleEvent event : events) {
+        model.addEvent(event, false);
+      }
+      model.isBusyAt(BASE);
+      double added = (System.nanoTime() - start) / 1e6;
+
+      String sorted = "skipped";
+      if (count <= 200_000) {
+        start = System.nanoTime();
+        sortedInsert(events);
+        sorted = String.format("%.0f", (System.nanoTime() - start) / 1e6);
+      }
+      System.out.printf("%10d %14.0f %18s%n", count, added, sorted);
+    }
+  }
+
+  /**
+   * Adds the busy interval of every event to a {@link BusyIntervals} in the given order, which is
+   * what each add used to cost on top of indexing the event.
+   */
+  private static void sortedInsert(List<SingleEvent> events) {
+    BusyIntervals busy = new BusyIntervals();
+    for (SingleEvent event : events) {
+      busy.add(CalendarModel.toKey(event.getStartDateTime()),
+          CalendarModel.toKey(event.getEffectiveEndDateTime()));
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * JUnit Test Case for {@link BusyIntervals}.
+ */
+public class BusyIntervalsTest {
+
+  @Test
+  public void testBoundariesAreNotBusy() {
+    BusyIntervals busy = new BusyIntervals();
+    busy.add(10, 20);
+    busy.add(20, 30);
+    assertFalse(busy.contains(10));
+    assertTrue(busy.contains(15));
+    assertFalse("The instant between back-to-back intervals is free.", busy.contains(20));
+    assertTrue(busy.contains(25));
+    assertFalse(busy.contains(30));
+    assertEquals(2, busy.size());
+  }
+
+  @Test
+  public void testOverlappingIntervalsMerge() {
+    BusyIntervals busy = new BusyIntervals();
+    busy.add(40, 50);
+    busy.add(10, 20);
+    busy.add(30, 35);
+    busy.add(15, 45);
+    assertEquals(1, busy.size());
+    assertTrue(busy.contains(32));
+    assertFalse(busy.contains(50));
+  }
+
+  @Test
+  public void testMatchesBruteForce() {
+    Random random = new Random(3);
+    BusyIntervals busy = new BusyIntervals();
+    List<long[]> intervals = new ArrayList<>();
+    for (int i = 0; i < 3000; i++) {
+      long start = random.nextInt(200000);
+      long end = start + random.nextInt(300);
+      busy.add(start, end);
+      intervals.add(new long[]{start, end});
+    }
+    for (int q = 0; q < 5000; q++) {
+      long time = random.nextInt(200500);
+      boolean expected = false;
+      for (long[] interval : intervals) {
+        expected |= interval[0] < time && time < interval[1];
+      }
+      assertEquals("At " + time, expected, busy.contains(time));
+    }
+  }
+
+  @Test
+  public void testRemoveEnclosing() {
+    BusyIntervals busy = new BusyIntervals();
+    busy.add(10, 20);
+    busy.add(15, 30);
+    busy.add(40, 50);
+
+    long[] removed = busy.removeEnclosing(15, 30);
+    assertEquals(10, removed[0]);
+    assertEquals(30, removed[1]);
+    assertEquals(1, busy.size());
+    assertFalse(busy.contains(12));
+    assertTrue(busy.contains(45));
+    assertEquals(null, busy.removeEnclosing(30, 40));
+    assertEquals(null, busy.removeEnclosing(45, 45));
+  }
+
+  @Test
+  public void testAppendOnlyAcceptsTheEnd() {
+    BusyIntervals busy = new BusyIntervals();
+    assertTrue(busy.append(10, 20));
+    assertTrue(busy.append(10, 30));
+    assertTrue(busy.append(25, 40));
+    assertTrue(busy.append(50, 60));
+    assertFalse(busy.append(45, 55));
+    assertEquals(2, busy.size());
+    assertTrue(busy.contains(35));
+    assertFalse(busy.contains(45));
+  }
+}
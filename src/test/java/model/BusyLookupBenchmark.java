@@ -0,0 +1,85 @@
+package model;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Random;
+
+/**
+ * Measures {@link CalendarModel#isBusyAt} latency at 10k, 100k and 1M stored occurrences and
+ * compares it with a linear scan over every occurrence, as the model used to do. Not part of the
+ * test suite; run it directly after {@code mvn test-compile}:
+ *
+ * <pre>
+ * java -Xmx2g -cp target/classes:target/test-classes model.BusyLookupBenchmark
+ * </pre>
+ */
+public class BusyLookupBenchmark {
+
+  private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+  private static final int MINUTES = 60 * 24 * 365 * 3;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args unused
+   * @throws Exception if building a calendar fails
+   */
+  public static void main(String[] args) throws Exception {
+    System.out.printf("%12s %16s %16s%n", "occurrences", "indexed ns/op", "linear ns/op");
+    for (int occurrences : new int[]{10_000, 100_000, 1_000_000}) {
+      CalendarModel model = build(occurrences);
+      Random random = new Random(1);
+      LocalDateTime[] queries = new LocalDateTime[200_000];
+      for (int i = 0; i < queries.length; i++) {
+        queries[i] = BASE.plusMinutes(random.nextInt(MINUTES));
+      }
+      model.isBusyAt(queries[0]);
+
+      int busy = 0;
+      long start = System.nanoTime();
+      for (LocalDateTime query : queries) {
+        busy += model.isBusyAt(query) ? 1 : 0;
+      }
+      double indexed = (System.nanoTime() - start) / (double) queries.length;
+
+      int linearQueries = Math.max(20, 2_000_000 / occurrences);
+      start = System.nanoTime();
+      for (int i = 0; i < linearQueries; i++) {
+        busy += linearIsBusyAt(model, queries[i]) ? 1 : 0;
+      }
+      double linear = (System.nanoTime() - start) / (double) linearQueries;
+      System.out.printf("%12d %16.0f %16.0f   (%d busy)%n", occurrences, indexed, linear, busy);
+    }
+  }
+
+  /**
+   * Fills a calendar with the given number of occurrences, half from single events and half from
+   * weekly series of 100 occurrences each.
+   */
+  private static CalendarModel build(int occurrences) throws Exception {
+    CalendarModel model = new CalendarModel();
+    Random random = new Random(occurrences);
+    for (int i = 0; i < occurrences / 2; i++) {
+      LocalDateTime start = BASE.plusMinutes(random.nextInt(MINUTES));
+      model.addEvent(new SingleEvent("Event", start, start.plusMinutes(30), "", "", true), false);
+    }
+    for (int i = 0; i < occurrences / 200; i++) {
+      LocalDateTime start = BASE.plusDays(random.nextInt(365)).plusMinutes(random.nextInt(1380));
+      model.addEvent(new RecurringEvent("Series", start, start.plusMinutes(30), "", "", true,
+          EnumSet.of(start.getDayOfWeek()), 100, null), false);
+    }
+    return model;
+  }
+
+  private static boolean linearIsBusyAt(ICalendarModel model, LocalDateTime dateTime) {
+    for (Event event : model.getAllEvents()) {
+      for (Event occurrence : event.getOccurrences()) {
+        if (occurrence.getStartDateTime().isBefore(dateTime)
+            && occurrence.getEffectiveEndDateTime().isAfter(dateTime)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,97 @@
+package model;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures {@link CSVExporter} on a calendar of 1M single events and compares it with the exporter
+ * it replaced, which built a string for every row and wrote it through a {@link FileWriter}. Not
+ * part of the test suite; run it directly after {@code mvn test-compile}:
+ *
+ * <pre>
+ * java -Xmx2g -cp target/classes:target/test-classes model.CSVExportBenchmark
+ * </pre>
+ */
+public class CSVExportBenchmark {
+
+  private static final String FILE = "export-benchmark.csv";
+  private static final int EVENTS = 1_000_000;
+  private static final int ROUNDS = 5;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args unused
+   * @throws Exception if building the calendar or writing the file fails
+   */
+  public static void main(String[] args) throws Exception {
+    ICalendarModel model = build();
+    File file = new File(System.getProperty("user.dir"), FILE);
+    System.out.printf("%10s %14s %14s%n", "round", "rows/s", "string rows/s");
+    try {
+      for (int round = 1; round <= ROUNDS; round++) {
+        long start = System.nanoTime();
+        new CSVExporter().export(model, FILE);
+        double streaming = EVENTS / ((System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        exportByStrings(model, file);
+        double strings = EVENTS / ((System.nanoTime() - start) / 1e9);
+        System.out.printf("%10d %14.0f %14.0f%n", round, streaming, strings);
+      }
+    } finally {
+      file.delete();
+    }
+  }
+
+  /**
+   * Fills a calendar with 1M half-hour events with varied subjects and locations.
+   */
+  private static ICalendarModel build() throws InvalidDateException {
+    CalendarModel model = new CalendarModel();
+    Random random = new Random(21);
+    LocalDateTime base = LocalDateTime.of(2020, 1, 1, 8, 0);
+    List<Event> events = new ArrayList<>(EVENTS);
+    for (int i = 0; i < EVENTS; i++) {
+      LocalDateTime start = base.plusMinutes(45L * i);
+      events.add(new SingleEvent("Event " + (i % 1000), start, start.plusMinutes(30),
+          "Weekly sync " + random.nextInt(100), "Room " + random.nextInt(50), i % 4 != 0));
+    }
+    model.addEvents(events);
+    return model;
+  }
+
+  private static void exportByStrings(ICalendarModel model, File file) throws IOException {
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+      writer.write("Subject,Start Date,Start Time,End Date,End Time,AllDayEvent,"
+          + "Description,Location,Private");
+      writer.newLine();
+      for (Event event : model.getAllEvents()) {
+        LocalDateTime start = event.getStartDateTime();
+        LocalDateTime end = event.getEffectiveEndDateTime();
+        boolean allDay = start.toLocalDate().equals(end.toLocalDate())
+            && start.toLocalTime().equals(LocalTime.MIDNIGHT)
+            && end.toLocalTime().equals(LocalTime.of(23, 59));
+        StringBuilder row = new StringBuilder();
+        row.append(event.getSubject()).append(",");
+        row.append(start.toLocalDate()).append(",");
+        row.append(start.toLocalTime()).append(",");
+        row.append(end.toLocalDate()).append(",");
+        row.append(end.toLocalTime()).append(",");
+        row.append(allDay).append(",");
+        row.append(event.getDescription()).append(",");
+        row.append(event.getLocation()).append(",");
+        row.append(event.isPublic() ? "false" : "true");
+        writer.write(row.toString());
+        writer.newLine();
+      }
+    }
+  }
+}
@@ -9,9 +9,14 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.DayOfWeek;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import org.junit.After;
 import org.junit.Before;
@@ -136,4 +141,85 @@ public class CSVExporterTest {
     assertTrue("File path should contain the test file name.", filePath.contains(testFile));
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testTimesFormattedLikeToString()
+      throws IOException, InvalidDateException, EventConflictException {
+    LocalDateTime[] starts = {
+        LocalDateTime.of(2025, 3, 1, 9, 0, 30),
+        LocalDateTime.of(2025, 3, 2, 9, 0, 0, 120_000_000),
+        LocalDateTime.of(2025, 3, 3, 9, 0, 5, 123_456_000),
+        LocalDateTime.of(2025, 3, 4, 9, 0, 0, 1),
+        LocalDateTime.of(12025, 3, 5, 0, 0)};
+    for (LocalDateTime start : starts) {
+      calendar.addEvent(new SingleEvent("E", start, start.plusMinutes(1), "", "", true), false);
+    }
+
+    String filePath = new CSVExporter().export(calendar, testFile);
+    List<String> lines = Files.readAllLines(Paths.get(filePath), StandardCharsets.UTF_8);
+    assertEquals(starts.length + 1, lines.size());
+    for (int i = 0; i < starts.length; i++) {
+      String[] parts = lines.get(i + 1).split(",");
+      assertEquals(starts[i].toLocalDate().toString(), parts[1]);
+      assertEquals(starts[i].toLocalTime().toString(), parts[2]);
+      assertEquals(starts[i].plusMinutes(1).toLocalTime().toString(), parts[4]);
+    }
+  }
+
+  @Test
+  public void testLargeExportMatchesRowByRowOutput()
+      throws IOException, InvalidDateException, EventConflictException {
+    LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+    StringBuilder expected = new StringBuilder(
+        "Subject,Start Date,Start Time,End Date,End Time,AllDayEvent,Description,Location,Private")
+        .append("\r\n");
+    List<Event> events = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      LocalDateTime start = base.plusMinutes(37L * i);
+      LocalDateTime end = start.plusMinutes(30);
+      if (i % 100 == 0) {
+        start = start.toLocalDate().atStartOfDay();
+        end = start.toLocalDate().atTime(23, 59);
+      }
+      String subject = "Réunion \uD83D\uDCC5 " + i;
+      String location = i % 3 == 0 ? "Zürich" : "Room " + i;
+      events.add(new SingleEvent(subject, start, end, "desc " + i, location, i % 2 == 0));
+      expected.append(subject).append(',').append(start.toLocalDate()).append(',')
+          .append(start.toLocalTime()).append(',').append(end.toLocalDate()).append(',')
+          .append(end.toLocalTime()).append(',').append(i % 100 == 0).append(',')
+          .append("desc ").append(i).append(',').append(location).append(',')
+          .append(i % 2 != 0).append("\r\n");
+    }
+    calendar.addEvents(events);
+
+    String filePath = new CSVExporter().export(calendar, testFile);
+    byte[] written = Files.readAllBytes(Paths.get(filePath));
+    assertTrue(written.length > 64 * 1024);
+    assertEquals(expected.toString(), new String(written, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testSpecialCharactersSurviveImport()
+      throws IOException, InvalidDateException, EventConflictException {
+    String[] subjects = {"Lunch, team", "Say \"hi\"", "Two\r\nlines", "\"", ",", "Plain"};
+    LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+    for (int i = 0; i < subjects.length; i++) {
+      calendar.addEvent(new SingleEvent(subjects[i], start.plusHours(i), start.plusHours(i)
+          .plusMinutes(30), "a,\"b\"\nc " + i, "Room\r" + i, i % 2 == 0), false);
+    }
+
+    String filePath = new CSVExporter().export(calendar, testFile);
+    for (Importer importer : new Importer[] {new CSVImporter(), new MappedCSVImporter()}) {
+      ICalendarModel imported = new CalendarModel();
+      assertEquals("Imported " + subjects.length + " events.",
+          importer.importData(imported, filePath));
+      for (int i = 0; i < subjects.length; i++) {
+        Event event = imported.getAllEvents().get(i);
+        assertEquals(subjects[i], event.getSubject());
+        assertEquals(start.plusHours(i), event.getStartDateTime());
+        assertEquals("a,\"b\"\nc " + i, event.getDescription());
+        assertEquals("Room\r" + i, event.getLocation());
+        assertEquals(i % 2 == 0, event.isPublic());
+      }
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package model;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Measures {@link CSVImporter} and {@link MappedCSVImporter} on a file of 1M rows and compares
+ * them with importing the same file one line at a time on the calling thread, as the importer
+ * used to do. Not part of the test suite; run it directly after {@code mvn test-compile}:
+ *
+ * <pre>
+ * java -Xmx2g -cp target/classes:target/test-classes model.CSVImportBenchmark
+ * </pre>
+ */
+public class CSVImportBenchmark {
+
+  private static final int ROWS = 1_000_000;
+  private static final int ROUNDS = 5;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args unused
+   * @throws Exception if writing or reading the file fails
+   */
+  public static void main(String[] args) throws Exception {
+    File file = File.createTempFile("import-benchmark", ".csv");
+    try {
+      write(file);
+      System.out.printf("%10s %14s %14s %14s%n", "round", "chunked ms", "mapped ms", "line ms");
+      for (int round = 1; round <= ROUNDS; round++) {
+        double chunked = measure(new CSVImporter(), file);
+        double mapped = measure(new MappedCSVImporter(), file);
+        double byLine = measure((model, fileName) -> {
+          importByLine(model, fileName);
+          return "";
+        }, file);
+        System.out.printf("%10d %14.0f %14.0f %14.0f%n", round, chunked, mapped, byLine);
+      }
+    } finally {
+      file.delete();
+    }
+  }
+
+  /**
+   * Imports the file into a new calendar and returns the time taken, in milliseconds.
+   */
+  private static double measure(Importer importer, File file) throws IOException {
+    CalendarModel model = new CalendarModel();
+    long start = System.nanoTime();
+    importer.importData(model, file.getAbsolutePath());
+    double elapsed = (System.nanoTime() - start) / 1e6;
+    if (model.getAllEvents().size() != ROWS) {
+      throw new IllegalStateException("Imported " + model.getAllEvents().size() + " events.");
+    }
+    return elapsed;
+  }
+
+  /**
+   * Writes 1M back-to-back half-hour events, in start order.
+   */
+  private static void write(File file) throws IOException {
+    LocalDateTime base = LocalDateTime.of(2010, 1, 1, 8, 0);
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+      writer.write("Subject,Start Date,Start Time,End Date,End Time,AllDay,Description,Location,"
+          + "Private\n");
+      for (int i = 0; i < ROWS; i++) {
+        LocalDateTime start = base.plusMinutes(45L * i);
+        LocalDateTime end = start.plusMinutes(30);
+        writer.write("Event " + (i % 1000) + "," + start.toLocalDate() + ","
+            + start.toLocalTime() + "," + end.toLocalDate() + "," + end.toLocalTime()
+            + ",false,Sync " + (i % 100) + ",Room " + (i % 50) + "," + (i % 4 == 0) + "\n");
+      }
+    }
+  }
+
+  private static void importByLine(ICalendarModel model, String fileName) throws IOException {
+    StringPool pool = model.getStringPool();
+    try (BufferedReader reader = new BufferedReader(new FileReader(fileName))) {
+      reader.readLine();
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] tokens = line.split(",", -1);
+        try {
+          SingleEvent event = new SingleEvent(pool.intern(tokens[0].trim()),
+              LocalDateTime.of(LocalDate.parse(tokens[1].trim()),
+                  LocalTime.parse(tokens[2].trim())),
+              LocalDateTime.of(LocalDate.parse(tokens[3].trim()),
+                  LocalTime.parse(tokens[4].trim())),
+              pool.intern(tokens[6].trim()), pool.intern(tokens[7].trim()),
+              !"true".equalsIgnoreCase(tokens[8].trim()));
+          event.setAutoDecline(true);
+          model.addEvent(event, true);
+        } catch (Exception e) {
+          // Counted as not imported, as the importer does.
+        }
+      }
+    }
+  }
+}
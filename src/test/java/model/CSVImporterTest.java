@@ -1,10 +1,19 @@
 package model;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.FileWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -38,6 +47,43 @@ public class CSVImporterTest {
     assertEquals("Imported 1 events.", result);
   }
 
+  @Test
+  public void importInternsRepeatedStrings() throws Exception {
+    CSVImporter importer = new CSVImporter();
+    File tempFile = File.createTempFile("repeatedData", ".csv");
+    FileWriter writer = new FileWriter(tempFile);
+    writer.write(
+        "Subject,Start Date,Start Time,End Date,End Time,AllDay,Description,Location,Private\n");
+    writer.write("Standup,2025-04-10,10:00,2025-04-10,10:15,false,Daily,Room 4B,false\n");
+    writer.write("Standup,2025-04-11,10:00,2025-04-11,10:15,false,Daily,Room 4B,false\n");
+    writer.close();
+    ICalendarModel model = manager.getCalendar("DUMMY").getCalendarModel();
+    importer.importData(model, tempFile.getAbsolutePath());
+    Event first = model.getAllEvents().get(0);
+    Event second = model.getAllEvents().get(1);
+    assertSame(first.getSubject(), second.getSubject());
+    assertSame(first.getLocation(), second.getLocation());
+    assertEquals(3, model.getStringPool().getDuplicates());
+  }
+
+  @Test
+  public void rejectedRowsAreNotInterned() throws Exception {
+    CSVImporter importer = new CSVImporter();
+    File tempFile = File.createTempFile("rejectedData", ".csv");
+    FileWriter writer = new FileWriter(tempFile);
+    writer.write(
+        "Subject,Start Date,Start Time,End Date,End Time,AllDay,Description,Location,Private\n");
+    writer.write("Broken,2025-02-30,10:00,2025-02-30,11:00,false,Lost,Nowhere,false\n");
+    writer.write("Broken,2025-04-10,25:00,2025-04-10,11:00,false,Lost,Nowhere,false\n");
+    writer.close();
+    ICalendarModel model = manager.getCalendar("DUMMY").getCalendarModel();
+    int sizeBefore = model.getStringPool().size();
+    String result = importer.importData(model, tempFile.getAbsolutePath());
+    assertTrue(result.startsWith("Imported 0 events.\n2 errors:"));
+    assertEquals(sizeBefore, model.getStringPool().size());
+    assertEquals(0, model.getStringPool().getDuplicates());
+  }
+
   @Test
   public void importEmptyFile() throws Exception {
     CSVImporter importer = new CSVImporter();
@@ -94,4 +140,136 @@ public class CSVImporterTest {
     String result = importer.importData(model, tempFile.getAbsolutePath());
     assertEquals("Imported 1 events.\n1 errors:\nLine 3: Invalid number of fields.\n", result);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void importReadsExportedNonAsciiText() throws Exception {
+    ICalendarModel exported = new CalendarModel();
+    exported.addEvent(new SingleEvent("Café 📅", LocalDateTime.of(2025, 4, 10, 10, 0),
+        LocalDateTime.of(2025, 4, 10, 11, 0), "Crème brûlée", "Zürich", true), false);
+    String filePath = new CSVExporter().export(exported, "test_non_ascii.csv");
+    new File(filePath).deleteOnExit();
+
+    ICalendarModel model = manager.getCalendar("DUMMY").getCalendarModel();
+    assertEquals("Imported 1 events.", new CSVImporter().importData(model, filePath));
+    Event event = model.getAllEvents().get(0);
+    assertEquals("Café 📅", event.getSubject());
+    assertEquals("Crème brûlée", event.getDescription());
+    assertEquals("Zürich", event.getLocation());
+  }
+
+  @Test
+  public void importQuotedFields() throws Exception {
+    CSVImporter importer = new CSVImporter();
+    File tempFile = File.createTempFile("quotedData", ".csv");
+    FileWriter writer = new FileWriter(tempFile);
+    writer.write(
+        "Subject,Start Date,Start Time,End Date,End Time,AllDay,Description,Location,Private\r\n");
+    writer.write("\"Lunch, team\",2025-04-10,12:00,2025-04-10,13:00,false,"
+        + "\"Bring \"\"snacks\"\"\nand plates\",Office,false\r\n");
+    writer.write("Short,2025-04-11\r\n");
+    writer.write("\"Open,2025-04-12,10:00,2025-04-12,11:00,false,,,false\r\n");
+    writer.close();
+    ICalendarModel model = manager.getCalendar("DUMMY").getCalendarModel();
+    String result = importer.importData(model, tempFile.getAbsolutePath());
+    assertEquals("Imported 1 events.\n2 errors:\nLine 4: Invalid number of fields.\n"
+        + "Line 5: Unterminated quoted field.\n", result);
+    Event event = model.getAllEvents().get(0);
+    assertEquals("Lunch, team", event.getSubject());
+    assertEquals("Bring \"snacks\"\nand plates", event.getDescription());
+  }
+
+  /**
+   * Imports a file of unquoted rows one line at a time, as the importer did before it parsed in
+   * chunks, and returns the same summary the importer gives.
+   */
+  private static String importByLine(ICalendarModel model, File file) throws Exception {
+    StringPool pool = model.getStringPool();
+    int imported = 0;
+    int errors = 0;
+    StringBuilder messages = new StringBuilder();
+    List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+    for (int i = 1; i < lines.size(); i++) {
+      String[] tokens = lines.get(i).split(",", -1);
+      String error;
+      if (tokens.length < 9) {
+        error = "Invalid number of fields.";
+      } else {
+        try {
+          LocalDateTime start = LocalDateTime.of(LocalDate.parse(tokens[1].trim()),
+              LocalTime.parse(tokens[2].trim()));
+          LocalDateTime end = LocalDateTime.of(LocalDate.parse(tokens[3].trim()),
+              LocalTime.parse(tokens[4].trim()));
+          SingleEvent event = new SingleEvent(pool.intern(tokens[0].trim()), start, end,
+              pool.intern(tokens[6].trim()), pool.intern(tokens[7].trim()),
+              !"true".equalsIgnoreCase(tokens[8].trim()));
+          event.setAutoDecline(true);
+          model.addEvent(event, true);
+          imported++;
+          continue;
+        } catch (Exception e) {
+          error = e.getMessage();
+        }
+      }
+      errors++;
+      messages.append("Line ").append(i + 1).append(": ").append(error).append("\n");
+    }
+    String result = "Imported " + imported + " events.";
+    return errors == 0 ? result : result + "\n" + errors + " errors:\n" + messages;
+  }
+
+  @Test
+  public void importInChunksMatchesLineByLine() throws Exception {
+    File tempFile = File.createTempFile("chunkedData", ".csv");
+    try (FileWriter writer = new FileWriter(tempFile)) {
+      writer.write(
+          "Subject,Start Date,Start Time,End Date,End Time,AllDay,Description,Location,Private\n");
+      Random random = new Random(22);
+      for (int i = 0; i < 3000; i++) {
+        int day = 1 + random.nextInt(28);
+        int hour = random.nextInt(23);
+        if (i % 97 == 0) {
+          writer.write("Broken," + i + "\n");
+        } else if (i % 89 == 0) {
+          writer.write("Bad,2025-04-" + day + ",10:00,2025-04-10,11:00,false,,Room,false\n");
+        } else {
+          writer.write(String.format("E%d,2025-04-%02d,%02d:00,2025-04-%02d,%02d:30,false,D,R%d,"
+              + "%b%n", i % 50, day, hour, day, hour, i % 7, i % 2 == 0));
+        }
+      }
+    }
+    ICalendarModel byLine = new CalendarModel();
+    String expected = importByLine(byLine, tempFile);
+    assertTrue(expected.contains("Line 2: Invalid number of fields.\n"));
+    assertTrue(expected.contains("could not be parsed"));
+    assertTrue(expected.contains("conflicts with existing event"));
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (int chunkRows : new int[] {Integer.MAX_VALUE, 7}) {
+        ICalendarModel chunked = new CalendarModel();
+        String result = new CSVImporter(pool, chunkRows)
+            .importData(chunked, tempFile.getAbsolutePath());
+
+        assertEquals(expected, result);
+        assertEquals(byLine.getAllEvents().size(), chunked.getAllEvents().size());
+        for (int i = 0; i < byLine.getAllEvents().size(); i++) {
+          Event a = byLine.getAllEvents().get(i);
+          Event b = chunked.getAllEvents().get(i);
+          assertEquals(a.getSubject(), b.getSubject());
+          assertEquals(a.getStartDateTime(), b.getStartDateTime());
+          assertEquals(a.getLocation(), b.getLocation());
+          assertEquals(a.isPublic(), b.isPublic());
+        }
+        assertEquals(byLine.getStringPool().getDuplicates(),
+            chunked.getStringPool().getDuplicates());
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void chunkSizeMustBePositive() {
+    new CSVImporter(ForkJoinPool.commonPool(), 0);
+  }
+}
@@ -0,0 +1,145 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Unit tests for the CSVTokenizer class.
+ */
+public class CSVTokenizerTest {
+
+  /**
+   * A reader that hands out at most a few characters per read, so that records are cut at every
+   * possible point of the tokenizer's buffer.
+   */
+  private static final class TrickleReader extends Reader {
+
+    private final String text;
+    private int position;
+    private int step;
+
+    private TrickleReader(String text) {
+      this.text = text;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) {
+      if (position == text.length()) {
+        return -1;
+      }
+      int count = Math.min(Math.min(length, 1 + step++ % 3), text.length() - position);
+      text.getChars(position, position + count, buffer, offset);
+      position += count;
+      return count;
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  private static List<List<String>> records(CSVTokenizer tokenizer) throws IOException {
+    List<List<String>> records = new ArrayList<>();
+    while (tokenizer.next()) {
+      List<String> fields = new ArrayList<>();
+      for (int i = 0; i < tokenizer.getFieldCount(); i++) {
+        fields.add(tokenizer.getField(i));
+      }
+      records.add(fields);
+    }
+    return records;
+  }
+
+  @Test
+  public void testPlainRecords() throws IOException {
+    CSVTokenizer tokenizer = new CSVTokenizer(new StringReader("a,b,c\n1,,3\n"));
+    assertEquals(Arrays.asList(Arrays.asList("a", "b", "c"), Arrays.asList("1", "", "3")),
+        records(tokenizer));
+  }
+
+  @Test
+  public void testQuotedFields() throws IOException {
+    String text = "\"a,b\",\"say \"\"hi\"\"\",\"\"\n"
+        + "\"line\nbreak\",x\"y,\"closed\" tail\n";
+    List<List<String>> records = records(new CSVTokenizer(new StringReader(text)));
+    assertEquals(Arrays.asList("a,b", "say \"hi\"", ""), records.get(0));
+    assertEquals(Arrays.asList("line\nbreak", "x\"y", "closed tail"), records.get(1));
+    assertEquals(2, records.size());
+  }
+
+  @Test
+  public void testLineEndingsAndLineNumbers() throws IOException {
+    String text = "h\r\n\"two\r\nlines\"\r\r\nlast,\"a\rb\"";
+    CSVTokenizer tokenizer = new CSVTokenizer(new StringReader(text));
+    assertTrue(tokenizer.next());
+    assertEquals(1, tokenizer.getLineNumber());
+    assertTrue(tokenizer.next());
+    assertEquals(2, tokenizer.getLineNumber());
+    assertEquals("two\r\nlines", tokenizer.getField(0));
+    assertTrue(tokenizer.next());
+    assertEquals(4, tokenizer.getLineNumber());
+    assertEquals(1, tokenizer.getFieldCount());
+    assertEquals("", tokenizer.getField(0));
+    assertTrue(tokenizer.next());
+    assertEquals(5, tokenizer.getLineNumber());
+    assertEquals("a\rb", tokenizer.getField(1));
+    assertFalse(tokenizer.next());
+  }
+
+  @Test
+  public void testTrailingCommaAndEmptyInput() throws IOException {
+    CSVTokenizer tokenizer = new CSVTokenizer(new StringReader("a,"));
+    assertTrue(tokenizer.next());
+    assertEquals(2, tokenizer.getFieldCount());
+    assertFalse(tokenizer.next());
+    assertFalse(new CSVTokenizer(new StringReader("")).next());
+  }
+
+  @Test
+  public void testUnterminatedQuote() throws IOException {
+    CSVTokenizer tokenizer = new CSVTokenizer(new StringReader("a,b\n\"open,\nstill open"));
+    assertTrue(tokenizer.next());
+    assertFalse(tokenizer.isMalformed());
+    assertTrue(tokenizer.next());
+    assertTrue(tokenizer.isMalformed());
+    assertEquals("open,\nstill open", tokenizer.getField(0));
+    assertFalse(tokenizer.next());
+  }
+
+  @Test
+  public void testOffsetsPointIntoBuffer() throws IOException {
+    CSVTokenizer tokenizer = new CSVTokenizer(new StringReader("x,\"a\"\"b\""));
+    assertTrue(tokenizer.next());
+    char[] buffer = tokenizer.getBuffer();
+    assertEquals("a\"b", new String(buffer, tokenizer.getStart(1),
+        tokenizer.getEnd(1) - tokenizer.getStart(1)));
+  }
+
+  @Test
+  public void testSmallReadsAndLongRecords() throws IOException {
+    StringBuilder text = new StringBuilder();
+    List<List<String>> expected = new ArrayList<>();
+    StringBuilder longField = new StringBuilder();
+    for (int i = 0; i < 100_000; i++) {
+      longField.append((char) ('a' + i % 26));
+    }
+    for (int i = 0; i < 300; i++) {
+      String quoted = "q" + i + ",\"\n";
+      String plain = i % 50 == 0 ? longField.toString() : "p" + i;
+      text.append('"').append(quoted.replace("\"", "\"\"")).append("\",").append(plain)
+          .append(i % 2 == 0 ? "\r\n" : "\n");
+      expected.add(Arrays.asList(quoted, plain));
+    }
+    assertEquals(expected, records(new CSVTokenizer(new TrickleReader(text.toString()))));
+    assertEquals(expected, records(new CSVTokenizer(new StringReader(text.toString()))));
+  }
+}
@@ -0,0 +1,95 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Unit tests for the CSVWriter class.
+ */
+public class CSVWriterTest {
+
+  private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+  private final CSVWriter writer = new CSVWriter(Channels.newChannel(out));
+
+  private String written() throws IOException {
+    writer.flush();
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testQuotesOnlyWhenNeeded() throws IOException {
+    writer.writeField("plain text");
+    writer.writeField("a,b");
+    writer.writeField("say \"hi\"");
+    writer.writeField("line\nbreak");
+    writer.writeField("cr\r");
+    writer.writeField("");
+    writer.writeField(null);
+    writer.endRecord();
+    assertEquals("plain text,\"a,b\",\"say \"\"hi\"\"\",\"line\nbreak\",\"cr\r\",,\r\n",
+        written());
+  }
+
+  @Test
+  public void testTypedFields() throws IOException {
+    writer.writeDate(LocalDate.of(2025, 4, 9));
+    writer.writeTime(LocalTime.of(7, 5));
+    writer.writeTime(LocalTime.of(7, 5, 1, 500_000_000));
+    writer.writeBoolean(true);
+    writer.endRecord();
+    writer.writeDate(LocalDate.of(-5, 1, 1));
+    writer.endRecord();
+    assertEquals("2025-04-09,07:05,07:05:01.500,true\r\n-0005-01-01\r\n", written());
+  }
+
+  @Test
+  public void testTokenizerReadsBackWhatWasWritten() throws IOException {
+    Random random = new Random(24);
+    String alphabet = "ab ,\"\r\né€📅";
+    List<List<String>> records = new ArrayList<>();
+    for (int r = 0; r < 2000; r++) {
+      List<String> record = new ArrayList<>();
+      int fields = 1 + random.nextInt(5);
+      for (int f = 0; f < fields; f++) {
+        StringBuilder field = new StringBuilder();
+        for (int c = random.nextInt(60); c > 0; c--) {
+          int at = random.nextInt(alphabet.length() - 1);
+          field.append(alphabet.charAt(at));
+          if (Character.isHighSurrogate(alphabet.charAt(at))) {
+            field.append(alphabet.charAt(at + 1));
+          }
+        }
+        record.add(field.toString());
+        writer.writeField(field.toString());
+      }
+      writer.endRecord();
+      records.add(record);
+    }
+    writer.flush();
+
+    CSVTokenizer tokenizer = new CSVTokenizer(new InputStreamReader(
+        new ByteArrayInputStream(out.toByteArray()), StandardCharsets.UTF_8));
+    for (List<String> record : records) {
+      tokenizer.next();
+      List<String> read = new ArrayList<>();
+      for (int i = 0; i < tokenizer.getFieldCount(); i++) {
+        read.add(tokenizer.getField(i));
+      }
+      assertEquals(record, read);
+    }
+    assertFalse(tokenizer.next());
+  }
+}
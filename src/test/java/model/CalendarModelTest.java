@@ -8,8 +8,14 @@ import static org.junit.Assert.fail;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 import org.junit.Before;
 import org.junit.Test;
@@ -147,4 +153,388 @@ public class CalendarModelTest {
     LocalDateTime afterTime = LocalDateTime.of(2025, 3, 10, 14, 30);
     assertFalse("Calendar should not be busy after the event.", calendar.isBusyAt(afterTime));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testConflictAfterEditUsesNewTimes()
+      throws InvalidDateException, EventConflictException {
+    SingleEvent event = new SingleEvent("Meeting", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0), "", "", true);
+    calendar.addEvent(event, false);
+    event.setEndDateTime(LocalDateTime.of(2025, 3, 1, 12, 0));
+
+    SingleEvent late = new SingleEvent("Late", LocalDateTime.of(2025, 3, 1, 11, 0),
+        LocalDateTime.of(2025, 3, 1, 11, 30), "", "", true);
+    assertEquals(Collections.singletonList(event), calendar.getConflictingEvents(late));
+  }
+
+  /**
+   * Expands an event into the start and end of each occurrence, in epoch seconds.
+   */
+  private static long[][] spans(Event event) {
+    List<Event> occurrences = event.getOccurrences();
+    long[][] spans = new long[occurrences.size()][];
+    for (int i = 0; i < spans.length; i++) {
+      spans[i] = new long[] {
+          occurrences.get(i).getStartDateTime().toEpochSecond(ZoneOffset.UTC),
+          occurrences.get(i).getEffectiveEndDateTime().toEpochSecond(ZoneOffset.UTC)};
+    }
+    return spans;
+  }
+
+  /**
+   * Compares the indexed conflict check against a linear scan that tests every pair of expanded
+   * occurrences for overlap, over a calendar holding more than 100k events.
+   */
+  @Test
+  public void testIndexedConflictsMatchLinearScan()
+      throws InvalidDateException, EventConflictException {
+    Random random = new Random(7);
+    LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+    for (int i = 0; i < 100000; i++) {
+      LocalDateTime start = base.plusMinutes(random.nextInt(60 * 24 * 365 * 2));
+      calendar.addEvent(new SingleEvent("E" + i, start, start.plusMinutes(15
+          + random.nextInt(120)), "", "", true), false);
+    }
+    for (int i = 0; i < 200; i++) {
+      LocalDateTime start = base.plusDays(random.nextInt(700)).plusHours(random.nextInt(23));
+      Set<DayOfWeek> days = EnumSet.of(DayOfWeek.of(1 + random.nextInt(7)));
+      calendar.addEvent(new RecurringEvent("R" + i, start, start.plusMinutes(30), "", "",
+          true, days, 1 + random.nextInt(20), null), false);
+    }
+    List<Event> stored = calendar.getAllEvents();
+    List<long[][]> storedSpans = new ArrayList<>();
+    for (Event existing : stored) {
+      storedSpans.add(spans(existing));
+    }
+    for (int i = 0; i < 300; i++) {
+      LocalDateTime start = base.plusMinutes(random.nextInt(60 * 24 * 365 * 2));
+      Event probe;
+      if (i % 30 == 0) {
+        probe = new RecurringEvent("P" + i, start, start.plusMinutes(20), "", "", true,
+            EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY), 5, null);
+      } else {
+        probe = new SingleEvent("P" + i, start, start.plusMinutes(random.nextInt(90)), "", "",
+            true);
+      }
+      long[][] probeSpans = spans(probe);
+      List<Event> expected = new ArrayList<>();
+      for (int e = 0; e < stored.size(); e++) {
+        boolean overlaps = false;
+        for (long[] a : storedSpans.get(e)) {
+          for (long[] b : probeSpans) {
+            overlaps |= a[0] < b[1] && b[0] < a[1];
+          }
+        }
+        if (overlaps) {
+          expected.add(stored.get(e));
+        }
+      }
+      assertEquals(expected, calendar.getConflictingEvents(probe));
+    }
+  }
+
+  @Test
+  public void testGetEventsOnMultiDayAndOrder()
+      throws InvalidDateException, EventConflictException {
+    SingleEvent trip = new SingleEvent("Trip", LocalDateTime.of(2025, 3, 1, 18, 0),
+        LocalDateTime.of(2025, 3, 3, 9, 0), "", "", true);
+    SingleEvent lunch = new SingleEvent("Lunch", LocalDateTime.of(2025, 3, 2, 12, 0),
+        LocalDateTime.of(2025, 3, 2, 13, 0), "", "", true);
+    calendar.addEvent(trip, false);
+    calendar.addEvent(lunch, false);
+
+    assertEquals(List.of(trip), calendar.getEventsOn(LocalDate.of(2025, 3, 1)));
+    assertEquals(List.of(trip, lunch), calendar.getEventsOn(LocalDate.of(2025, 3, 2)));
+    assertEquals(List.of(trip), calendar.getEventsOn(LocalDate.of(2025, 3, 3)));
+    assertTrue(calendar.getEventsOn(LocalDate.of(2025, 3, 4)).isEmpty());
+
+    trip.setStartDateTime(LocalDateTime.of(2025, 3, 2, 8, 0));
+    assertTrue("Moved event should leave its old day.",
+        calendar.getEventsOn(LocalDate.of(2025, 3, 1)).isEmpty());
+    assertEquals("Insertion order should survive a re-index.", List.of(trip, lunch),
+        calendar.getEventsOn(LocalDate.of(2025, 3, 2)));
+  }
+
+  @Test
+  public void testGetEventsOnFollowsRecurrenceEndDate()
+      throws InvalidDateException, EventConflictException {
+    RecurringEvent weekly = new RecurringEvent("Weekly", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 10, 0), "", "", true, EnumSet.of(DayOfWeek.MONDAY), -1,
+        LocalDate.of(2025, 3, 31));
+    calendar.addEvent(weekly, false);
+    assertEquals(List.of(weekly), calendar.getEventsOn(LocalDate.of(2025, 3, 24)));
+    assertTrue(calendar.getEventsOn(LocalDate.of(2025, 3, 25)).isEmpty());
+
+    weekly.setRecurrenceEndDate(LocalDate.of(2025, 3, 10));
+    assertTrue(calendar.getEventsOn(LocalDate.of(2025, 3, 24)).isEmpty());
+    assertEquals(List.of(weekly), calendar.getEventsOn(LocalDate.of(2025, 3, 10)));
+  }
+
+  @Test
+  public void testIsBusyAtTracksEditsAndSeries()
+      throws InvalidDateException, EventConflictException {
+    SingleEvent event = new SingleEvent("Meeting", LocalDateTime.of(2025, 3, 10, 13, 0),
+        LocalDateTime.of(2025, 3, 10, 14, 0), "", "", true);
+    calendar.addEvent(event, false);
+    calendar.addEvent(new RecurringEvent("Standup", LocalDateTime.of(2025, 3, 10, 9, 0),
+        LocalDateTime.of(2025, 3, 10, 9, 15), "", "", true, EnumSet.of(DayOfWeek.MONDAY), 3,
+        null), false);
+
+    assertTrue(calendar.isBusyAt(LocalDateTime.of(2025, 3, 24, 9, 5)));
+    assertFalse(calendar.isBusyAt(LocalDateTime.of(2025, 3, 31, 9, 5)));
+
+    event.setEndDateTime(LocalDateTime.of(2025, 3, 10, 16, 0));
+    assertTrue(calendar.isBusyAt(LocalDateTime.of(2025, 3, 10, 15, 0)));
+    event.setStartDateTime(LocalDateTime.of(2025, 3, 10, 15, 30));
+    assertFalse(calendar.isBusyAt(LocalDateTime.of(2025, 3, 10, 13, 30)));
+    assertTrue(calendar.isBusyAt(LocalDateTime.of(2025, 3, 10, 15, 45)));
+  }
+
+  @Test
+  public void testSubjectIndexIgnoresCaseAndKeepsOrder()
+      throws InvalidDateException, EventConflictException {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 10, 9, 0);
+    SingleEvent first = new SingleEvent("Standup", start, start.plusMinutes(15), "", "", true);
+    RecurringEvent series = new RecurringEvent("STANDUP", start.minusDays(7),
+        start.minusDays(7).plusMinutes(15), "", "", true, EnumSet.of(DayOfWeek.MONDAY), 4, null);
+    SingleEvent other = new SingleEvent("Review", start, start.plusHours(1), "", "", true);
+    calendar.addEvent(first, false);
+    calendar.addEvent(series, false);
+    calendar.addEvent(other, false);
+
+    assertEquals(List.of(first, series), calendar.getEventsBySubject("standup"));
+    assertEquals(List.of(first, series), calendar.getEventsAt("StandUp", start));
+    assertEquals(List.of(series), calendar.getEventsAt("standup", start.plusWeeks(1)));
+    assertTrue(calendar.getEventsAt("standup", start.plusWeeks(3)).isEmpty());
+    assertTrue(calendar.getEventsAt("standup", start.plusMinutes(1)).isEmpty());
+  }
+
+  @Test
+  public void testSubjectIndexFollowsEdits() throws InvalidDateException, EventConflictException {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 10, 9, 0);
+    SingleEvent event = new SingleEvent("Standup", start, start.plusMinutes(15), "", "", true);
+    calendar.addEvent(event, false);
+
+    event.setSubject("Retro");
+    assertTrue(calendar.getEventsBySubject("standup").isEmpty());
+    assertEquals(List.of(event), calendar.getEventsAt("retro", start));
+
+    event.setStartDateTime(start.plusMinutes(5));
+    assertTrue(calendar.getEventsAt("retro", start).isEmpty());
+    assertEquals(List.of(event), calendar.getEventsAt("RETRO", start.plusMinutes(5)));
+  }
+
+  @Test
+  public void testRemoveEventClearsIndexes() throws InvalidDateException, EventConflictException {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 10, 9, 0);
+    SingleEvent event = new SingleEvent("Standup", start, start.plusHours(1), "", "", true);
+    calendar.addEvent(event, false);
+
+    assertTrue(calendar.removeEvent(event));
+    assertFalse(calendar.removeEvent(event));
+    assertTrue(calendar.getAllEvents().isEmpty());
+    assertTrue(calendar.getEventsOn(start.toLocalDate()).isEmpty());
+    assertTrue(calendar.getEventsBySubject("standup").isEmpty());
+    assertFalse(calendar.isBusyAt(start.plusMinutes(30)));
+
+    event.setStartDateTime(start.plusDays(1));
+    assertTrue(calendar.getEventsOn(start.toLocalDate().plusDays(1)).isEmpty());
+  }
+
+  @Test
+  public void testTimezoneChangeKeepsIndexes() throws InvalidDateException,
+      EventConflictException {
+    CalendarZone zone = new CalendarZone(ZoneId.of("America/New_York"));
+    CalendarModel model = new CalendarModel(zone);
+    LocalDateTime start = LocalDateTime.of(2025, 1, 10, 20, 0);
+    SingleEvent dinner = new SingleEvent("Dinner", start, start.plusHours(2), "", "", true);
+    model.addEvent(dinner, false);
+
+    zone.setZone(ZoneId.of("Europe/London"));
+
+    assertEquals(LocalDateTime.of(2025, 1, 11, 1, 0), dinner.getStartDateTime());
+    assertTrue(model.getEventsOn(LocalDate.of(2025, 1, 10)).isEmpty());
+    assertEquals(1, model.getEventsOn(LocalDate.of(2025, 1, 11)).size());
+    assertTrue(model.isBusyAt(LocalDateTime.of(2025, 1, 11, 2, 0)));
+    assertFalse(model.isBusyAt(LocalDateTime.of(2025, 1, 10, 21, 0)));
+    assertEquals(1, model.getEventsAt("dinner", LocalDateTime.of(2025, 1, 11, 1, 0)).size());
+    SingleEvent candidate = new SingleEvent("Call", LocalDateTime.of(2025, 1, 11, 2, 30),
+        LocalDateTime.of(2025, 1, 11, 3, 30), "", "", true);
+    assertEquals(1, model.getConflictingEvents(candidate).size());
+
+    dinner.setStartDateTime(LocalDateTime.of(2025, 1, 11, 0, 0));
+    assertEquals(LocalDateTime.of(2025, 1, 11, 0, 0), dinner.getStartDateTime());
+    assertTrue(model.isBusyAt(LocalDateTime.of(2025, 1, 11, 0, 30)));
+
+    assertTrue(model.removeEvent(dinner));
+    assertEquals(LocalDateTime.of(2025, 1, 11, 0, 0), dinner.getStartDateTime());
+  }
+
+  @Test
+  public void testSeriesAddedAfterTimezoneChange() throws InvalidDateException,
+      EventConflictException {
+    CalendarZone zone = new CalendarZone(ZoneId.of("Europe/London"));
+    CalendarModel model = new CalendarModel(zone);
+    zone.setZone(ZoneId.of("America/New_York"));
+
+    LocalDateTime start = LocalDateTime.of(2025, 1, 6, 19, 30);
+    RecurringEvent series = new RecurringEvent("Class", start, start.plusHours(1), "", "", true,
+        EnumSet.of(DayOfWeek.MONDAY), 3, null);
+    model.addEvent(series, false);
+
+    assertEquals(EnumSet.of(DayOfWeek.MONDAY), series.getRecurrenceDays());
+    List<Event> occurrences = model.getOccurrencesBetween(start, start.plusWeeks(3));
+    assertEquals(3, occurrences.size());
+    assertEquals(LocalDateTime.of(2025, 1, 20, 19, 30), occurrences.get(2).getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 1, 20, 20, 30),
+        occurrences.get(2).getEffectiveEndDateTime());
+    assertEquals(1, model.getEventsOn(LocalDate.of(2025, 1, 13)).size());
+    assertTrue(model.getEventsOn(LocalDate.of(2025, 1, 14)).isEmpty());
+
+    SingleEvent overlap = new SingleEvent("Late", LocalDateTime.of(2025, 1, 13, 20, 0),
+        LocalDateTime.of(2025, 1, 13, 21, 0), "", "", true);
+    assertTrue(series.conflictsWith(overlap));
+    assertEquals(1, model.getConflictingEvents(overlap).size());
+
+    LocalDateTime evening = LocalDateTime.of(2025, 1, 8, 18, 30);
+    RecurringEvent review = new RecurringEvent("Review", evening, evening.plusMinutes(90), "",
+        "", true, EnumSet.of(DayOfWeek.WEDNESDAY), 2, null);
+    model.addEvent(review, false);
+    List<Event> reviews = model.getEventsBySubject("Review").get(0).getOccurrences();
+    assertEquals(2, reviews.size());
+    assertEquals(LocalDateTime.of(2025, 1, 15, 20, 0), reviews.get(1).getEffectiveEndDateTime());
+    SingleEvent afterMidnight = new SingleEvent("Wrap-up", LocalDateTime.of(2025, 1, 15, 19, 45),
+        LocalDateTime.of(2025, 1, 15, 21, 0), "", "", true);
+    assertTrue(review.conflictsWith(afterMidnight));
+    assertFalse(review.conflictsWith(series));
+  }
+
+  @Test
+  public void testSeriesConflictsMatchOccurrenceOverlap() throws InvalidDateException,
+      EventConflictException {
+    Random random = new Random(18);
+    LocalDateTime base = LocalDateTime.of(2025, 1, 6, 0, 0);
+    List<Event> stored = new ArrayList<>();
+    for (int i = 0; i < 300; i++) {
+      LocalDateTime start = base.plusMinutes(random.nextInt(60 * 24 * 90));
+      Event event = i % 5 == 0 ? randomSeries(random, base, "R" + i)
+          : new SingleEvent("S" + i, start, start.plusMinutes(30 + random.nextInt(600)), "", "",
+              true);
+      calendar.addEvent(event, false);
+      stored.add(event);
+    }
+    RecurringEvent overridden = (RecurringEvent) stored.get(5);
+    SingleEvent occurrence = (SingleEvent) overridden.getOccurrences().get(1);
+    overridden.overrideOccurrence(occurrence, new SingleEvent("R5",
+        occurrence.getStartDateTime().plusHours(5),
+        occurrence.getEffectiveEndDateTime().plusHours(5),
+        "", "", true));
+
+    for (int i = 0; i < 100; i++) {
+      RecurringEvent candidate = randomSeries(random, base, "C" + i);
+      List<Event> expected = new ArrayList<>();
+      for (Event event : stored) {
+        if (overlapsAnyOccurrence(candidate, event)) {
+          expected.add(event);
+        }
+      }
+      assertEquals(expected, calendar.getConflictingEvents(candidate));
+    }
+  }
+
+  private static RecurringEvent randomSeries(Random random, LocalDateTime base, String subject)
+      throws InvalidDateException {
+    LocalDateTime start = base.plusDays(random.nextInt(80)).plusMinutes(random.nextInt(60 * 22));
+    Set<DayOfWeek> days = EnumSet.of(DayOfWeek.of(1 + random.nextInt(7)),
+        DayOfWeek.of(1 + random.nextInt(7)));
+    return random.nextBoolean()
+        ? new RecurringEvent(subject, start, start.plusMinutes(20 + random.nextInt(90)), "", "",
+            true, days, 1 + random.nextInt(10), null)
+        : new RecurringEvent(subject, start, start.plusMinutes(20 + random.nextInt(90)), "", "",
+            true, days, -1, start.toLocalDate().plusDays(random.nextInt(40)));
+  }
+
+  private static boolean overlapsAnyOccurrence(Event first, Event second) {
+    for (Event a : first.occurrencesBetween(LocalDateTime.MIN, LocalDateTime.MAX)) {
+      for (Event b : second.occurrencesBetween(LocalDateTime.MIN, LocalDateTime.MAX)) {
+        if (a.getStartDateTime().isBefore(b.getEffectiveEndDateTime())
+            && b.getStartDateTime().isBefore(a.getEffectiveEndDateTime())) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Test
+  public void testRemoveEventsAndStoreListener() throws InvalidDateException,
+      EventConflictException {
+    List<Event> reported = new ArrayList<>();
+    calendar.setStoreListener(new EventStoreListener() {
+      @Override
+      public void eventStored(ICalendarModel model, Event event) {
+        reported.add(event);
+      }
+
+      @Override
+      public void eventRemoved(ICalendarModel model, Event event) {
+        reported.remove(event);
+      }
+    });
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    List<Event> added = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      added.add(new SingleEvent("E" + i, start.plusHours(i), start.plusHours(i).plusMinutes(30),
+          "", "", true));
+    }
+    calendar.addEvents(added);
+    assertEquals(added, reported);
+
+    assertEquals(2, calendar.removeEvents(List.of(added.get(1), added.get(3), added.get(3))));
+    assertEquals(List.of(added.get(0), added.get(2)), calendar.getAllEvents());
+    assertEquals(reported, calendar.getAllEvents());
+    assertFalse(calendar.isBusyAt(start.plusHours(1).plusMinutes(10)));
+    assertTrue(calendar.getEventsBySubject("E3").isEmpty());
+  }
+
+  @Test
+  public void testMovedEventsMatchFreshModel() throws InvalidDateException,
+      EventConflictException {
+    Random random = new Random(20);
+    LocalDateTime base = LocalDateTime.of(2025, 1, 6, 0, 0);
+    List<SingleEvent> singles = new ArrayList<>();
+    for (int i = 0; i < 400; i++) {
+      LocalDateTime start = base.plusMinutes(random.nextInt(60 * 24 * 30));
+      SingleEvent event = new SingleEvent("S" + i, start,
+          start.plusMinutes(10 + random.nextInt(300)), "", "", true);
+      calendar.addEvent(event, false);
+      singles.add(event);
+    }
+    calendar.addEvent(new RecurringEvent("R", base.plusHours(9), base.plusHours(10), "", "",
+        true, EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY), 8, null), false);
+    assertFalse(calendar.isBusyAt(base.minusDays(1)));
+
+    for (int i = 0; i < 300; i++) {
+      SingleEvent event = singles.get(random.nextInt(singles.size()));
+      LocalDateTime start = base.plusMinutes(random.nextInt(60 * 24 * 30));
+      event.setEndDateTime(start.plusMinutes(10 + random.nextInt(300)).plusYears(1));
+      event.setStartDateTime(start);
+      event.setEndDateTime(start.plusMinutes(10 + random.nextInt(300)));
+    }
+
+    CalendarModel fresh = new CalendarModel();
+    fresh.addEvents(calendar.getAllEvents());
+    for (int i = 0; i < 2000; i++) {
+      LocalDateTime probe = base.plusMinutes(random.nextInt(60 * 24 * 31));
+      assertEquals(fresh.isBusyAt(probe), calendar.isBusyAt(probe));
+    }
+    for (int day = 0; day < 31; day++) {
+      LocalDate date = base.toLocalDate().plusDays(day);
+      assertEquals(fresh.getEventsOn(date).size(), calendar.getEventsOn(date).size());
+    }
+    for (SingleEvent event : singles) {
+      assertEquals(fresh.getConflictingEvents(event).size(),
+          calendar.getConflictingEvents(event).size());
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import org.junit.Test;
+
+/**
+ * Unit tests for the CalendarZone class.
+ */
+public class CalendarZoneTest {
+
+  @Test
+  public void testUnshiftedZoneKeepsTimes() {
+    CalendarZone zone = new CalendarZone(ZoneId.of("America/New_York"));
+    LocalDateTime time = LocalDateTime.of(2025, 3, 1, 9, 0);
+    assertFalse(zone.isShifted());
+    assertEquals(time, zone.toDisplay(time));
+    assertEquals(time, zone.toStored(time));
+
+    zone.setZone(ZoneId.of("America/New_York"));
+    assertFalse(zone.isShifted());
+  }
+
+  @Test
+  public void testShiftedZoneConvertsBothWays() {
+    CalendarZone zone = new CalendarZone(ZoneId.of("America/New_York"));
+    zone.setZone(ZoneId.of("Europe/London"));
+    assertTrue(zone.isShifted());
+    assertEquals(ZoneId.of("America/New_York"), zone.getStorageZone());
+    assertEquals(ZoneId.of("Europe/London"), zone.getZone());
+
+    LocalDateTime stored = LocalDateTime.of(2025, 1, 10, 9, 0);
+    LocalDateTime display = LocalDateTime.of(2025, 1, 10, 14, 0);
+    assertEquals(display, zone.toDisplay(stored));
+    assertEquals(stored, zone.toStored(display));
+  }
+
+  @Test
+  public void testSentinelsPassThrough() {
+    CalendarZone zone = new CalendarZone(ZoneId.of("Asia/Kolkata"));
+    zone.setZone(ZoneId.of("Pacific/Auckland"));
+    assertEquals(LocalDateTime.MIN, zone.toStored(LocalDateTime.MIN));
+    assertEquals(LocalDateTime.MAX, zone.toDisplay(LocalDateTime.MAX));
+    assertNull(zone.toStored(null));
+  }
+}
@@ -0,0 +1,242 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the CompactCalendarModel class, checking it answers queries the same way as
+ * CalendarModel.
+ */
+public class CompactCalendarModelTest {
+
+  private CompactCalendarModel calendar;
+
+  @Before
+  public void setUp() {
+    calendar = new CompactCalendarModel();
+  }
+
+  @Test
+  public void testAddAndGetEvents() throws InvalidDateException, EventConflictException {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+    calendar.addEvent(new SingleEvent("Meeting", start, start.plusHours(1), "Notes", "Room",
+        false), false);
+
+    List<Event> events = calendar.getEventsOn(LocalDate.of(2025, 3, 1));
+    assertEquals(1, events.size());
+    Event event = events.get(0);
+    assertEquals("Meeting", event.getSubject());
+    assertEquals(start, event.getStartDateTime());
+    assertEquals(start.plusHours(1), event.getEffectiveEndDateTime());
+    assertEquals("Notes", event.getDescription());
+    assertEquals("Room", event.getLocation());
+    assertFalse(event.isPublic());
+  }
+
+  @Test
+  public void testAutoDeclineConflict() throws InvalidDateException, EventConflictException {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+    calendar.addEvent(new SingleEvent("Meeting", start, start.plusHours(1), "", "", true),
+        false);
+    SingleEvent conflict = new SingleEvent("Conflict", start.plusMinutes(30),
+        start.plusMinutes(90), "", "", true);
+    conflict.setAutoDecline(true);
+
+    try {
+      calendar.addEvent(conflict, true);
+      fail("Expected EventConflictException");
+    } catch (EventConflictException e) {
+      assertEquals("Event 'Conflict' conflicts with existing event 'Meeting'.", e.getMessage());
+    }
+    assertEquals(1, calendar.size());
+  }
+
+  @Test
+  public void testRecurringEventIsFlattened() throws InvalidDateException,
+      EventConflictException {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    calendar.addEvent(new RecurringEvent("Standup", start, start.plusMinutes(15), "", "", true,
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), 4, null), false);
+
+    assertEquals(4, calendar.size());
+    List<Event> occurrences = calendar.getOccurrencesBetween(start, start.plusDays(14));
+    assertEquals(4, occurrences.size());
+    assertEquals(LocalDateTime.of(2025, 3, 12, 9, 0), occurrences.get(3).getStartDateTime());
+    assertTrue(calendar.isBusyAt(LocalDateTime.of(2025, 3, 5, 9, 5)));
+    assertFalse(calendar.isBusyAt(LocalDateTime.of(2025, 3, 4, 9, 5)));
+  }
+
+  @Test
+  public void testEditsThroughViewAreWrittenBack() throws InvalidDateException,
+      EventConflictException {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+    calendar.addEvent(new SingleEvent("Meeting", start, start.plusHours(1), "", "", true),
+        false);
+
+    Event view = calendar.getAllEvents().get(0);
+    ((AbstractEvent) view).setSubject("Review");
+    ((SingleEvent) view).setEndDateTime(start.plusDays(1).plusHours(1));
+    ((AbstractEvent) view).setStartDateTime(start.plusDays(1));
+
+    assertTrue(calendar.getEventsOn(LocalDate.of(2025, 3, 1)).isEmpty());
+    List<Event> moved = calendar.getEventsOn(LocalDate.of(2025, 3, 2));
+    assertEquals(1, moved.size());
+    assertEquals("Review", moved.get(0).getSubject());
+    assertTrue(calendar.getConflictingEvents(moved.get(0)).isEmpty());
+  }
+
+  @Test
+  public void testMatchesCalendarModel() throws InvalidDateException, EventConflictException {
+    CalendarModel reference = new CalendarModel();
+    Random random = new Random(8);
+    LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+    for (int i = 0; i < 6000; i++) {
+      LocalDateTime start = base.plusMinutes(random.nextInt(60 * 24 * 120));
+      Event event;
+      if (i % 50 == 0) {
+        start = start.toLocalDate().atTime(8 + random.nextInt(12), 0);
+        event = new RecurringEvent("R" + i, start, start.plusMinutes(45), "", "", true,
+            EnumSet.of(DayOfWeek.of(1 + random.nextInt(7))), 6, null);
+      } else {
+        event = new SingleEvent("S" + i, start, start.plusMinutes(15 + random.nextInt(600)),
+            "", "", true);
+      }
+      reference.addEvent(event, false);
+      calendar.addEvent(event, false);
+    }
+
+    for (int i = 0; i < 300; i++) {
+      LocalDateTime probe = base.plusMinutes(random.nextInt(60 * 24 * 130));
+      assertEquals(reference.isBusyAt(probe), calendar.isBusyAt(probe));
+      assertEquals(starts(reference.getOccurrencesBetween(probe, probe.plusHours(12))),
+          starts(calendar.getOccurrencesBetween(probe, probe.plusHours(12))));
+      assertEquals(reference.getEventsOn(probe.toLocalDate()).size(),
+          calendar.getEventsOn(probe.toLocalDate()).size());
+      SingleEvent candidate = new SingleEvent("P", probe, probe.plusMinutes(30), "", "", true);
+      assertEquals(reference.getConflictingEvents(candidate).isEmpty(),
+          calendar.getConflictingEvents(candidate).isEmpty());
+    }
+  }
+
+  @Test
+  public void testSubjectLookups() throws InvalidDateException, EventConflictException {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    calendar.addEvent(new RecurringEvent("Standup", start, start.plusMinutes(15), "", "", true,
+        EnumSet.of(DayOfWeek.MONDAY), 3, null), false);
+    calendar.addEvent(new SingleEvent("standup", start.plusHours(2), start.plusHours(3), "", "",
+        true), false);
+
+    assertEquals(4, calendar.getEventsBySubject("STANDUP").size());
+    List<Event> found = calendar.getEventsAt("standUp", start.plusWeeks(1));
+    assertEquals(1, found.size());
+    assertEquals(start.plusWeeks(1), found.get(0).getStartDateTime());
+    assertTrue(calendar.getEventsAt("Review", start).isEmpty());
+  }
+
+  @Test
+  public void testRemoveRow() throws InvalidDateException, EventConflictException {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+    calendar.addEvent(new SingleEvent("Meeting", start, start.plusHours(1), "", "", true),
+        false);
+    calendar.addEvent(new SingleEvent("Review", start.plusHours(2), start.plusHours(3), "", "",
+        true), false);
+
+    Event meeting = calendar.getEventsBySubject("meeting").get(0);
+    assertTrue(calendar.removeEvent(meeting));
+    assertFalse(calendar.removeEvent(meeting));
+    assertEquals(1, calendar.size());
+    assertEquals("Review", calendar.getAllEvents().get(0).getSubject());
+    assertFalse(calendar.isBusyAt(start.plusMinutes(30)));
+    assertTrue(calendar.getEventsBySubject("Meeting").isEmpty());
+  }
+
+  private static List<String> starts(List<Event> events) {
+    List<String> result = new ArrayList<>();
+    for (Event event : events) {
+      result.add(event.getSubject() + "@" + event.getStartDateTime());
+    }
+    return result;
+  }
+
+  @Test
+  public void testRemovedRowCanBeStoredAgain() throws InvalidDateException,
+      EventConflictException {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+    calendar.addEvent(new SingleEvent("Meeting", start, start.plusHours(1), "", "", true),
+        false);
+    Event view = calendar.getAllEvents().get(0);
+
+    assertEquals(1, calendar.removeEvents(List.of(view)));
+    assertFalse(calendar.isBusyAt(start.plusMinutes(30)));
+    calendar.addEvents(List.of(view));
+
+    assertEquals(1, calendar.size());
+    assertTrue(calendar.isBusyAt(start.plusMinutes(30)));
+    assertTrue(calendar.removeEvent(view));
+  }
+
+  @Test
+  public void testEventOutsideRangeLeavesNoRows() throws InvalidDateException,
+      EventConflictException {
+    LocalDateTime last = LocalDateTime.ofEpochSecond(Integer.MAX_VALUE * 60L, 0, ZoneOffset.UTC);
+    LocalDateTime start = last.toLocalDate().minusDays(2).atTime(9, 0);
+    calendar.addEvent(new SingleEvent("Before", start.minusDays(1), start.minusDays(1)
+        .plusHours(1), "", "", true), false);
+
+    Event[] rejected = {
+        new SingleEvent("After", last.plusDays(1), last.plusDays(1).plusHours(1), "", "", true),
+        new RecurringEvent("Series", start, start.plusHours(1), "", "", true,
+            EnumSet.allOf(DayOfWeek.class), 5, null)};
+    for (Event event : rejected) {
+      try {
+        calendar.addEvent(event, false);
+        fail("Expected the event to be rejected");
+      } catch (IllegalArgumentException e) {
+        assertTrue(e.getMessage().startsWith("Event start is outside the supported range"));
+      }
+    }
+
+    assertEquals(1, calendar.size());
+    assertEquals(List.of("Before@" + start.minusDays(1)), starts(calendar.getAllEvents()));
+    assertFalse(calendar.isBusyAt(start.plusMinutes(30)));
+    assertTrue(calendar.getEventsOn(start.toLocalDate()).isEmpty());
+  }
+
+  @Test
+  public void testLookBackFollowsLongestLiveRow() throws InvalidDateException,
+      EventConflictException {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+    calendar.addEvent(new SingleEvent("Trip", start, start.plusDays(3), "", "", true), false);
+    calendar.addEvent(new SingleEvent("Retreat", start.plusHours(1), start.plusDays(3), "", "",
+        true), false);
+    calendar.addEvent(new SingleEvent("Call", start.plusDays(2), start.plusDays(2).plusHours(1),
+        "", "", true), false);
+
+    SingleEvent trip = (SingleEvent) calendar.getEventsBySubject("Trip").get(0);
+    trip.setEndDateTime(start.plusDays(1));
+    assertTrue(calendar.isBusyAt(start.plusDays(2).plusHours(5)));
+    assertEquals(2, calendar.getEventsOn(start.toLocalDate().plusDays(2)).size());
+
+    assertTrue(calendar.removeEvent(calendar.getEventsBySubject("Retreat").get(0)));
+    assertFalse(calendar.isBusyAt(start.plusDays(2).plusHours(5)));
+    assertTrue(calendar.isBusyAt(start.plusHours(20)));
+    assertEquals(List.of("Call@" + start.plusDays(2)),
+        starts(calendar.getEventsOn(start.toLocalDate().plusDays(2))));
+    SingleEvent probe = new SingleEvent("Probe", start.plusHours(23), start.plusHours(25), "",
+        "", true);
+    assertEquals(List.of("Trip@" + start), starts(calendar.getConflictingEvents(probe)));
+  }
+}
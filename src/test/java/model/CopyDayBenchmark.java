@@ -0,0 +1,95 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures {@link EventCopyHelper#copyEventsOnDate} for a day with 500 events in a calendar of
+ * 100k events, and compares it with copying the same day one event at a time, where every copy
+ * first rescans the whole source calendar for the event, as the helper used to do. Not part of the
+ * test suite; run it directly after {@code mvn test-compile}:
+ *
+ * <pre>
+ * java -Xmx2g -cp target/classes:target/test-classes model.CopyDayBenchmark
+ * </pre>
+ */
+public class CopyDayBenchmark {
+
+  private static final LocalDate BUSY_DAY = LocalDate.of(2025, 6, 2);
+  private static final int EVENTS = 100_000;
+  private static final int BUSY_EVENTS = 500;
+  private static final int ROUNDS = 5;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args unused
+   * @throws Exception if building or copying a calendar fails
+   */
+  public static void main(String[] args) throws Exception {
+    CalendarContext source = build();
+    System.out.printf("%10s %14s %14s%n", "round", "batch ms", "rescan ms");
+    for (int round = 1; round <= ROUNDS; round++) {
+      CalendarContext target = new CalendarContext("Target", "America/New_York");
+      long start = System.nanoTime();
+      EventCopyHelper.copyEventsOnDate(source, target, BUSY_DAY, BUSY_DAY.plusDays(7));
+      double batch = (System.nanoTime() - start) / 1e6;
+
+      CalendarContext rescanTarget = new CalendarContext("Rescan", "America/New_York");
+      start = System.nanoTime();
+      copyByRescan(source, rescanTarget);
+      double rescan = (System.nanoTime() - start) / 1e6;
+      System.out.printf("%10d %14.2f %14.2f   (%d copied)%n", round, batch, rescan,
+          target.getCalendarModel().getAllEvents().size());
+    }
+  }
+
+  /**
+   * Fills a calendar with 100k back-to-back events spread over three years, plus 500 short events
+   * on one busy day.
+   */
+  private static CalendarContext build() throws Exception {
+    CalendarContext context = new CalendarContext("Source", "America/New_York");
+    ICalendarModel model = context.getCalendarModel();
+    Random random = new Random(15);
+    LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+    for (int i = 0; i < EVENTS - BUSY_EVENTS; i++) {
+      LocalDateTime start = base.plusMinutes(random.nextInt(60 * 24 * 365 * 3));
+      if (start.toLocalDate().equals(BUSY_DAY)) {
+        start = start.plusDays(1);
+      }
+      model.addEvent(new SingleEvent("Event " + (i % 1000), start, start.plusMinutes(30), "", "",
+          true), false);
+    }
+    for (int i = 0; i < BUSY_EVENTS; i++) {
+      LocalDateTime start = BUSY_DAY.atStartOfDay().plusSeconds(172L * i);
+      model.addEvent(new SingleEvent("Busy " + i, start, start.plusMinutes(2), "", "", true),
+          false);
+    }
+    return context;
+  }
+
+  private static void copyByRescan(ICalendarContext source, ICalendarContext target)
+      throws Exception {
+    List<Event> day = source.getCalendarModel().getOccurrencesBetween(BUSY_DAY.atStartOfDay(),
+        BUSY_DAY.plusDays(1).atStartOfDay());
+    for (Event occurrence : day) {
+      Event found = null;
+      for (Event event : source.getCalendarModel().getAllEvents()) {
+        if (event.getSubject().equals(occurrence.getSubject())
+            && event.getStartDateTime().equals(occurrence.getStartDateTime())) {
+          found = event;
+          break;
+        }
+      }
+      try {
+        EventCopyHelper.copyEventInstance(found, target,
+            LocalDateTime.of(BUSY_DAY.plusDays(7), occurrence.getStartDateTime().toLocalTime()));
+      } catch (EventConflictException e) {
+        // Counted as not copied, as the helper does.
+      }
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures moving single events in a calendar of 100k events and checking each for conflicts, as
+ * {@link EditEventOperations} does for a time edit, and compares the check with scanning every
+ * event in the calendar, as the edit used to do. Not part of the test suite; run it directly
+ * after {@code mvn test-compile}:
+ *
+ * <pre>
+ * java -Xmx2g -cp target/classes:target/test-classes model.EditEventBenchmark
+ * </pre>
+ */
+public class EditEventBenchmark {
+
+  private static final int EVENTS = 100_000;
+  private static final int EDITS = 20_000;
+  private static final int ROUNDS = 5;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args unused
+   * @throws Exception if building the calendar fails
+   */
+  public static void main(String[] args) throws Exception {
+    CalendarModel model = new CalendarModel();
+    List<SingleEvent> events = new ArrayList<>();
+    Random random = new Random(20);
+    LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+    for (int i = 0; i < EVENTS; i++) {
+      LocalDateTime start = base.plusMinutes(random.nextInt(60 * 24 * 365 * 3));
+      SingleEvent event = new SingleEvent("Event " + (i % 1000), start, start.plusMinutes(30),
+          "", "", true);
+      events.add(event);
+    }
+    model.addEvents(new ArrayList<>(events));
+    model.isBusyAt(base);
+
+    System.out.printf("%10s %14s %14s%n", "round", "edit us", "scan us");
+    for (int round = 1; round <= ROUNDS; round++) {
+      int conflicts = 0;
+      long start = System.nanoTime();
+      for (int i = 0; i < EDITS; i++) {
+        SingleEvent event = events.get(random.nextInt(EVENTS));
+        LocalDateTime moved = event.getStartDateTime().plusMinutes(random.nextInt(121) - 60);
+        event.setStartDateTime(moved);
+        event.setEndDateTime(moved.plusMinutes(30));
+        if (!model.getConflictingEvents(event).isEmpty()) {
+          conflicts++;
+        }
+      }
+      double edit = (System.nanoTime() - start) / 1e3 / EDITS;
+
+      int scanned = 0;
+      start = System.nanoTime();
+      for (int i = 0; i < EDITS / 100; i++) {
+        if (conflictsByScan(model, events.get(random.nextInt(EVENTS)))) {
+          scanned++;
+        }
+      }
+      double scan = (System.nanoTime() - start) / 1e3 / (EDITS / 100);
+      System.out.printf("%10d %14.2f %14.2f   (%d, %d conflicting)%n", round, edit, scan,
+          conflicts, scanned);
+    }
+  }
+
+  private static boolean conflictsByScan(ICalendarModel model, SingleEvent edited) {
+    for (Event event : model.getAllEvents()) {
+      if (event != edited && event.conflictsWith(edited)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
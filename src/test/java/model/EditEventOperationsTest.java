@@ -9,6 +9,7 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import org.junit.Test;
 
@@ -259,5 +260,184 @@ public class EditEventOperationsTest {
         model.getAllEvents().get(0).getStartDateTime());
   }
 
+  @Test
+  public void testSingleModeEditIsServedByQueries() throws Exception {
+    CalendarModel model = new CalendarModel();
+    RecurringEvent re = new RecurringEvent("Standup",
+        LocalDateTime.of(2025, 5, 5, 9, 0),
+        LocalDateTime.of(2025, 5, 5, 9, 15),
+        "Desc", "Room", true,
+        Collections.singleton(DayOfWeek.MONDAY), 3, null);
+    model.addEvent(re, false);
+    EditEventOperations ops = new EditEventOperations();
+    ops.editEvent(model, "Standup", LocalDateTime.of(2025, 5, 12, 9, 0),
+        "subject", "Planning", ICalendarService.EditMode.SINGLE);
+    ops.editEvent(model, "Standup", LocalDateTime.of(2025, 5, 12, 9, 0),
+        "start", "2025-05-12T09:10", ICalendarService.EditMode.SINGLE);
+
+    List<Event> occurrences = model.getOccurrencesBetween(LocalDateTime.of(2025, 5, 1, 0, 0),
+        LocalDateTime.of(2025, 6, 1, 0, 0));
+    assertEquals(3, occurrences.size());
+    assertEquals("Planning", occurrences.get(1).getSubject());
+    assertEquals(LocalDateTime.of(2025, 5, 12, 9, 10), occurrences.get(1).getStartDateTime());
+    assertFalse(model.isBusyAt(LocalDateTime.of(2025, 5, 12, 9, 5)));
+    assertTrue(model.isBusyAt(LocalDateTime.of(2025, 5, 12, 9, 12)));
+  }
+
+  @Test
+  public void testBatchEditChecksConflictsOnlyAtTheEnd() throws Exception {
+    CalendarModel model = new CalendarModel();
+    CalendarService service = new CalendarService(model);
+    service.addSingleEvent("First", LocalDateTime.of(2025, 5, 1, 9, 0),
+        LocalDateTime.of(2025, 5, 1, 10, 0), "", "", true, true);
+    service.addSingleEvent("Second", LocalDateTime.of(2025, 5, 1, 10, 0),
+        LocalDateTime.of(2025, 5, 1, 11, 0), "", "", true, true);
+
+    new EditEventOperations().editEvents(model, List.of(
+        new EventEdit("First", LocalDateTime.of(2025, 5, 1, 9, 0), "end", "2025-05-01T12:00",
+            ICalendarService.EditMode.SINGLE),
+        new EventEdit("First", LocalDateTime.of(2025, 5, 1, 9, 0), "start", "2025-05-01T11:00",
+            ICalendarService.EditMode.SINGLE),
+        new EventEdit("Second", LocalDateTime.of(2025, 5, 1, 10, 0), "start", "2025-05-01T09:00",
+            ICalendarService.EditMode.SINGLE)));
+
+    assertEquals(LocalDateTime.of(2025, 5, 1, 11, 0), model.getEventsBySubject("First").get(0)
+        .getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 5, 1, 9, 0), model.getEventsBySubject("Second").get(0)
+        .getStartDateTime());
+  }
+
+  @Test
+  public void testBatchEditRollsBackEverything() throws Exception {
+    CalendarModel model = new CalendarModel();
+    CalendarService service = new CalendarService(model);
+    service.addSingleEvent("Meeting", LocalDateTime.of(2025, 5, 1, 9, 0),
+        LocalDateTime.of(2025, 5, 1, 10, 0), "Desc", "Room", true, true);
+    service.addSingleEvent("Lunch", LocalDateTime.of(2025, 5, 1, 12, 0),
+        LocalDateTime.of(2025, 5, 1, 13, 0), "", "", true, true);
+    RecurringEvent re = new RecurringEvent("Standup", LocalDateTime.of(2025, 5, 5, 9, 0),
+        LocalDateTime.of(2025, 5, 5, 9, 15), "", "", true,
+        Collections.singleton(DayOfWeek.MONDAY), 4, null);
+    model.addEvent(re, false);
+
+    try {
+      new EditEventOperations().editEvents(model, List.of(
+          new EventEdit("Meeting", LocalDateTime.of(2025, 5, 1, 9, 0), "location", "Hall",
+              ICalendarService.EditMode.SINGLE),
+          new EventEdit("Standup", LocalDateTime.of(2025, 5, 19, 9, 0), "subject", "Sync",
+              ICalendarService.EditMode.FROM),
+          new EventEdit("Meeting", LocalDateTime.of(2025, 5, 1, 9, 0), "end", "2025-05-01T12:30",
+              ICalendarService.EditMode.SINGLE)));
+      fail("Expected the batch to be rejected");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Edit would cause a conflict for event 'Meeting'.", e.getMessage());
+    }
+
+    assertEquals(3, model.getAllEvents().size());
+    Event meeting = model.getEventsBySubject("Meeting").get(0);
+    assertEquals("Room", meeting.getLocation());
+    assertEquals(LocalDateTime.of(2025, 5, 1, 10, 0), meeting.getEffectiveEndDateTime());
+    assertTrue(model.getEventsBySubject("Sync").isEmpty());
+    assertEquals(4, re.generateOccurrences().size());
+    assertFalse(model.isBusyAt(LocalDateTime.of(2025, 5, 1, 10, 30)));
+  }
 
+  @Test
+  public void testMovingIntoSeriesOccurrenceIsRejected() throws Exception {
+    CalendarModel model = new CalendarModel();
+    model.addEvent(new RecurringEvent("Standup", LocalDateTime.of(2025, 5, 5, 9, 0),
+        LocalDateTime.of(2025, 5, 5, 9, 30), "", "", true,
+        EnumSet.of(DayOfWeek.MONDAY), 10, null), false);
+    SingleEvent meeting = new SingleEvent("Meeting", LocalDateTime.of(2025, 6, 2, 10, 0),
+        LocalDateTime.of(2025, 6, 2, 11, 0), "", "", true);
+    meeting.setAutoDecline(true);
+    model.addEvent(meeting, true);
+
+    try {
+      new EditEventOperations().editEvent(model, "Meeting", LocalDateTime.of(2025, 6, 2, 10, 0),
+          "start", "2025-06-02T09:15", ICalendarService.EditMode.SINGLE);
+      fail("Expected the edit to be rejected");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Edit would cause a conflict.", e.getMessage());
+    }
+    assertEquals(LocalDateTime.of(2025, 6, 2, 10, 0), meeting.getStartDateTime());
+    assertFalse(model.isBusyAt(LocalDateTime.of(2025, 6, 2, 9, 45)));
+    assertTrue(model.isBusyAt(LocalDateTime.of(2025, 6, 2, 10, 30)));
+  }
+
+  @Test
+  public void testConflictingOverrideIsRejected() throws Exception {
+    CalendarModel model = new CalendarModel();
+    RecurringEvent re = new RecurringEvent("Standup", LocalDateTime.of(2025, 5, 5, 9, 0),
+        LocalDateTime.of(2025, 5, 5, 9, 30), "", "", true,
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY), 6, null);
+    model.addEvent(re, false);
+    model.addEvent(new SingleEvent("Meeting", LocalDateTime.of(2025, 5, 14, 11, 0),
+        LocalDateTime.of(2025, 5, 14, 12, 0), "", "", true), false);
+    EditEventOperations ops = new EditEventOperations();
+
+    ops.editEvent(model, "Standup", LocalDateTime.of(2025, 5, 12, 9, 0),
+        "end", "2025-05-12T10:00", ICalendarService.EditMode.SINGLE);
+    LocalDateTime[] froms = {LocalDateTime.of(2025, 5, 13, 9, 0),
+        LocalDateTime.of(2025, 5, 12, 9, 0)};
+    String[] ends = {"2025-05-14T11:30", "2025-05-13T09:10"};
+    for (int i = 0; i < froms.length; i++) {
+      try {
+        ops.editEvent(model, "Standup", froms[i], "end", ends[i],
+            ICalendarService.EditMode.SINGLE);
+        fail("Expected the edit to be rejected");
+      } catch (IllegalArgumentException e) {
+        assertEquals("Edit would cause a conflict.", e.getMessage());
+      }
+    }
+    try {
+      ops.editEvents(model, List.of(
+          new EventEdit("Standup", LocalDateTime.of(2025, 5, 5, 9, 0), "subject", "Sync",
+              ICalendarService.EditMode.SINGLE),
+          new EventEdit("Standup", LocalDateTime.of(2025, 5, 6, 9, 0), "start",
+              "2025-05-06T08:00", ICalendarService.EditMode.SINGLE),
+          new EventEdit("Standup", LocalDateTime.of(2025, 5, 6, 8, 0), "end",
+              "2025-05-12T09:15", ICalendarService.EditMode.SINGLE)));
+      fail("Expected the batch to be rejected");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Edit would cause a conflict for event 'Standup'.", e.getMessage());
+    }
+
+    assertEquals(LocalDateTime.of(2025, 5, 12, 10, 0),
+        re.getOccurrenceOverrides().get(LocalDateTime.of(2025, 5, 12, 9, 0))
+            .getEffectiveEndDateTime());
+    assertEquals(1, re.getOccurrenceOverrides().size());
+    assertFalse(model.isBusyAt(LocalDateTime.of(2025, 5, 6, 8, 30)));
+  }
+
+  @Test
+  public void testBatchChecksSplitSeriesOnlyAtTheEnd() throws Exception {
+    CalendarModel model = new CalendarModel();
+    RecurringEvent re = new RecurringEvent("Standup", LocalDateTime.of(2025, 5, 5, 9, 0),
+        LocalDateTime.of(2025, 5, 5, 9, 15), "", "", true,
+        Collections.singleton(DayOfWeek.MONDAY), 4, null);
+    model.addEvent(re, false);
+    model.addEvent(new SingleEvent("Focus", LocalDateTime.of(2025, 5, 19, 9, 0),
+        LocalDateTime.of(2025, 5, 19, 10, 0), "", "", true), false);
+    EventEdit split = new EventEdit("Standup", LocalDateTime.of(2025, 5, 19, 9, 0), "subject",
+        "Sync", ICalendarService.EditMode.FROM);
+    EditEventOperations ops = new EditEventOperations();
+
+    try {
+      ops.editEvents(model, List.of(split));
+      fail("Expected the batch to be rejected");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Edit would cause a conflict for event 'Sync'.", e.getMessage());
+    }
+    assertEquals(2, model.getAllEvents().size());
+    assertEquals(4, re.generateOccurrences().size());
+
+    ops.editEvents(model, List.of(split, new EventEdit("Focus",
+        LocalDateTime.of(2025, 5, 19, 9, 0), "start", "2025-05-19T09:30",
+        ICalendarService.EditMode.SINGLE)));
+    assertEquals(3, model.getAllEvents().size());
+    assertEquals(2, re.generateOccurrences().size());
+    assertEquals(2, model.getEventsBySubject("Sync").get(0).getOccurrences().size());
+    assertTrue(model.getConflictingEvents(model.getEventsBySubject("Sync").get(0)).isEmpty());
+  }
 }
@@ -1,10 +1,14 @@
 package model;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import org.junit.Test;
 
@@ -134,5 +138,171 @@ public class EventCopyHelperTest {
     assertTrue(result.contains("No events found between 2025-08-01 and 2025-08-05"));
   }
 
-}
+  @Test
+  public void testCopyEventsBetweenDatesReportsConflicts() throws Exception {
+    CalendarContext sourceContext = new CalendarContext("RangeSrc", "America/New_York");
+    CalendarContext targetContext = new CalendarContext("RangeTgt", "America/New_York");
+    sourceContext.getCalendarService().addSingleEvent("Planning",
+        LocalDateTime.of(2025, 5, 1, 9, 0), LocalDateTime.of(2025, 5, 1, 10, 0),
+        "", "", true, true);
+    sourceContext.getCalendarService().addSingleEvent("Review",
+        LocalDateTime.of(2025, 5, 2, 14, 0), LocalDateTime.of(2025, 5, 2, 15, 0),
+        "", "", true, true);
+    targetContext.getCalendarService().addSingleEvent("Busy",
+        LocalDateTime.of(2025, 6, 1, 9, 30), LocalDateTime.of(2025, 6, 1, 11, 0),
+        "", "", true, true);
+
+    String result = EventCopyHelper.copyEventsBetweenDates(sourceContext, targetContext,
+        LocalDate.of(2025, 5, 1), LocalDate.of(2025, 5, 2), LocalDate.of(2025, 6, 1));
+
+    assertTrue(result.contains("Conflict for event 'Planning' at 2025-06-01T09:00: overlaps "
+        + "'Busy'"));
+    assertTrue(result.contains("Copied event 'Review' to 2025-06-02T14:00"));
+    assertEquals(2, targetContext.getCalendarService().getAllEvents().size());
+  }
+
+  @Test
+  public void testCopyEventsBetweenDatesAllOrNothing() throws Exception {
+    CalendarContext sourceContext = new CalendarContext("AtomicSrc", "America/New_York");
+    CalendarContext targetContext = new CalendarContext("AtomicTgt", "America/New_York");
+    sourceContext.getCalendarService().addSingleEvent("Planning",
+        LocalDateTime.of(2025, 5, 1, 9, 0), LocalDateTime.of(2025, 5, 1, 10, 0),
+        "", "", true, true);
+    sourceContext.getCalendarService().addSingleEvent("Review",
+        LocalDateTime.of(2025, 5, 2, 14, 0), LocalDateTime.of(2025, 5, 2, 15, 0),
+        "", "", true, true);
+    targetContext.getCalendarService().addSingleEvent("Busy",
+        LocalDateTime.of(2025, 6, 2, 14, 30), LocalDateTime.of(2025, 6, 2, 16, 0),
+        "", "", true, true);
+
+    String result = EventCopyHelper.copyEventsBetweenDates(sourceContext, targetContext,
+        LocalDate.of(2025, 5, 1), LocalDate.of(2025, 5, 2), LocalDate.of(2025, 6, 1), true);
+
+    assertTrue(result.startsWith("No events copied: 1 conflicts."));
+    assertTrue(result.contains("Conflict for event 'Review'"));
+    assertEquals(1, targetContext.getCalendarService().getAllEvents().size());
+
+    result = EventCopyHelper.copyEventsBetweenDates(sourceContext, targetContext,
+        LocalDate.of(2025, 5, 1), LocalDate.of(2025, 5, 2), LocalDate.of(2025, 7, 1), true);
+    assertTrue(result.contains("Copied event 'Planning' to 2025-07-01T09:00"));
+    assertEquals(3, targetContext.getCalendarService().getAllEvents().size());
+  }
+
+  @Test
+  public void testCopyEventsBetweenDatesOverlappingCopies() throws Exception {
+    CalendarContext sourceContext = new CalendarContext("OverlapSrc", "America/New_York");
+    CalendarContext targetContext = new CalendarContext("OverlapTgt", "America/New_York");
+    sourceContext.getCalendarService().addSingleEvent("First",
+        LocalDateTime.of(2025, 5, 1, 9, 0), LocalDateTime.of(2025, 5, 1, 11, 0),
+        "", "", true, false);
+    sourceContext.getCalendarService().addSingleEvent("Second",
+        LocalDateTime.of(2025, 5, 1, 10, 0), LocalDateTime.of(2025, 5, 1, 12, 0),
+        "", "", true, false);
+
+    String result = EventCopyHelper.copyEventsBetweenDates(sourceContext, targetContext,
+        LocalDate.of(2025, 5, 1), LocalDate.of(2025, 5, 1), LocalDate.of(2025, 6, 1));
+
+    assertTrue(result.contains("Copied event 'First'"));
+    assertTrue(result.contains("Conflict for event 'Second' at 2025-06-01T10:00: overlaps "
+        + "'First'"));
+    assertEquals(1, targetContext.getCalendarService().getAllEvents().size());
+  }
+
+  @Test
+  public void testCopyEventInstance() throws Exception {
+    CalendarContext targetContext = new CalendarContext("InstTgt", "America/New_York");
+    SingleEvent source = new SingleEvent("Lunch", LocalDateTime.of(2025, 5, 1, 12, 0),
+        LocalDateTime.of(2025, 5, 1, 13, 30), "Team", "Cafe", false);
 
+    String result = EventCopyHelper.copyEventInstance(source, targetContext,
+        LocalDateTime.of(2025, 5, 8, 12, 0));
+
+    assertEquals("Event 'Lunch' copied to calendar 'InstTgt' starting at 2025-05-08T12:00",
+        result);
+    Event copy = targetContext.getCalendarService().getAllEvents().get(0);
+    assertEquals(LocalDateTime.of(2025, 5, 8, 13, 30), copy.getEffectiveEndDateTime());
+    assertEquals("Cafe", copy.getLocation());
+    assertFalse(copy.isPublic());
+  }
+
+  @Test
+  public void testCopyEventsOnDateCopiesOccurrencesOnce() throws Exception {
+    CalendarContext sourceContext = new CalendarContext("DaySrc", "America/New_York");
+    CalendarContext targetContext = new CalendarContext("DayTgt", "America/New_York");
+    sourceContext.getCalendarService().addRecurringEvent("Standup",
+        LocalDateTime.of(2025, 5, 5, 9, 0), LocalDateTime.of(2025, 5, 5, 9, 15), "", "", true,
+        EnumSet.of(DayOfWeek.MONDAY), 4, null, true);
+    sourceContext.getCalendarService().addSingleEvent("Review",
+        LocalDateTime.of(2025, 5, 12, 10, 0), LocalDateTime.of(2025, 5, 12, 11, 0),
+        "", "", true, true);
+    targetContext.getCalendarService().addSingleEvent("Busy",
+        LocalDateTime.of(2025, 6, 2, 10, 30), LocalDateTime.of(2025, 6, 2, 12, 0),
+        "", "", true, true);
+
+    String result = EventCopyHelper.copyEventsOnDate(sourceContext, targetContext,
+        LocalDate.of(2025, 5, 12), LocalDate.of(2025, 6, 2));
+
+    assertTrue(result.contains("Event 'Standup' copied to calendar 'DayTgt' starting at "
+        + "2025-06-02T09:00"));
+    assertTrue(result.contains("Conflict for event 'Review'"));
+    List<Event> copied = targetContext.getCalendarService().getEventsOn(LocalDate.of(2025, 6, 2));
+    assertEquals(2, copied.size());
+    assertTrue(copied.stream().allMatch(e -> e instanceof SingleEvent));
+  }
+
+  @Test
+  public void testCopyRecurringEventKeepsRuleAndOverrides() throws Exception {
+    CalendarContext sourceContext = new CalendarContext("RuleSrc", "UTC");
+    CalendarContext targetContext = new CalendarContext("RuleTgt", "UTC");
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    sourceContext.getCalendarService().addRecurringEvent("Sync", start, start.plusHours(1),
+        "", "", true, EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), 4, null, true);
+    RecurringEvent source = (RecurringEvent) sourceContext.getCalendarModel()
+        .getEventsBySubject("Sync").get(0);
+    SingleEvent wednesday = (SingleEvent) source.occurrencesBetween(start.plusDays(2),
+        start.plusDays(3)).iterator().next();
+    source.overrideOccurrence(wednesday, new SingleEvent("Sync",
+        LocalDateTime.of(2025, 3, 5, 14, 0), LocalDateTime.of(2025, 3, 5, 15, 0), "", "", true));
+
+    EventCopyHelper.copyRecurringEvent(sourceContext, targetContext, "Sync", start,
+        start.plusDays(1));
+
+    RecurringEvent copy = (RecurringEvent) targetContext.getCalendarModel()
+        .getEventsBySubject("Sync").get(0);
+    assertEquals(EnumSet.of(DayOfWeek.TUESDAY, DayOfWeek.THURSDAY), copy.getRecurrenceDays());
+    assertEquals(4, copy.getOccurrenceCount());
+    List<Event> occurrences = targetContext.getCalendarModel().getOccurrencesBetween(
+        start, start.plusWeeks(3));
+    assertEquals(4, occurrences.size());
+    assertEquals(LocalDateTime.of(2025, 3, 4, 9, 0), occurrences.get(0).getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 3, 6, 14, 0), occurrences.get(1).getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 3, 13, 9, 0), occurrences.get(3).getStartDateTime());
+    SingleEvent copiedOverride = copy.getOccurrenceOverrides()
+        .get(LocalDateTime.of(2025, 3, 6, 9, 0));
+    assertTrue(copiedOverride != source.getOccurrenceOverrides()
+        .get(LocalDateTime.of(2025, 3, 5, 9, 0)));
+    assertEquals(LocalDateTime.of(2025, 3, 5, 14, 0),
+        sourceContext.getCalendarModel().getOccurrencesBetween(start, start.plusWeeks(3))
+            .get(1).getStartDateTime());
+  }
+
+  @Test
+  public void testCopyRecurringEventRejectsConflict() throws Exception {
+    CalendarContext sourceContext = new CalendarContext("RuleSrc", "UTC");
+    CalendarContext targetContext = new CalendarContext("RuleTgt", "UTC");
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    sourceContext.getCalendarService().addRecurringEvent("Sync", start, start.plusHours(1),
+        "", "", true, EnumSet.of(DayOfWeek.MONDAY), -1, LocalDate.of(2025, 6, 30), true);
+    targetContext.getCalendarService().addSingleEvent("Busy",
+        LocalDateTime.of(2025, 5, 19, 9, 30), LocalDateTime.of(2025, 5, 19, 11, 0), "", "",
+        true, false);
+
+    try {
+      EventCopyHelper.copyRecurringEvent(sourceContext, targetContext, "Sync", start, start);
+      fail("Expected EventConflictException");
+    } catch (EventConflictException e) {
+      assertTrue(e.getMessage().contains("'Busy'"));
+    }
+    assertEquals(1, targetContext.getCalendarModel().getAllEvents().size());
+  }
+}
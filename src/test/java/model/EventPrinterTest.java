@@ -3,8 +3,10 @@ package model;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import org.junit.Test;
 
 
@@ -75,4 +77,25 @@ public class EventPrinterTest {
     String[] lines = output.split("\n");
     assertEquals(1, lines.length);
   }
+
+  @Test
+  public void testPrintEventsRangeIsChronological() throws Exception {
+    CalendarModel model = new CalendarModel();
+    EventPrinter printer = new EventPrinter(model);
+    model.addEvent(new SingleEvent("Late", LocalDateTime.of(2025, 5, 7, 15, 0),
+        LocalDateTime.of(2025, 5, 7, 16, 0), "", "", true), false);
+    model.addEvent(new RecurringEvent("Standup", LocalDateTime.of(2025, 1, 6, 9, 0),
+        LocalDateTime.of(2025, 1, 6, 9, 15), "", "", true, EnumSet.of(DayOfWeek.MONDAY,
+        DayOfWeek.WEDNESDAY), 200, null), false);
+    model.addEvent(new SingleEvent("Early", LocalDateTime.of(2025, 5, 5, 9, 0),
+        LocalDateTime.of(2025, 5, 5, 9, 30), "", "", true), false);
+
+    String output = printer.printEventsRange(LocalDateTime.of(2025, 5, 5, 0, 0),
+        LocalDateTime.of(2025, 5, 12, 0, 0));
+    assertEquals("Events from 2025-05-05T00:00 to 2025-05-12T00:00:\n"
+        + "- Standup at 2025-05-05T09:00\n"
+        + "- Early at 2025-05-05T09:00\n"
+        + "- Standup at 2025-05-07T09:00\n"
+        + "- Late at 2025-05-07T15:00\n", output);
+  }
 }
@@ -21,5 +21,10 @@ public class ExportFactoryTest {
 
   }
 
+  @Test
+  public void getIcsExport() {
+    assertTrue(new ExportFactory().getExport("ics") instanceof ICSExporter);
+  }
+
 
 }
\ No newline at end of file
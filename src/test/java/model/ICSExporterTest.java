@@ -0,0 +1,222 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for ICSExporter.
+ */
+public class ICSExporterTest {
+
+  private final String testFile = "test_calendar.ics";
+  private final String csvFile = "test_calendar_ics.csv";
+  private ICalendarModel calendar;
+  private List<String> uids;
+
+  @Before
+  public void setUp() {
+    calendar = new CalendarModel();
+  }
+
+  @After
+  public void tearDown() {
+    new File(testFile).delete();
+    new File(csvFile).delete();
+  }
+
+  /**
+   * Exports the calendar and returns its content lines, unfolded, without the DTSTAMP and UID
+   * lines. The UIDs are kept in {@link #uids}, in order.
+   */
+  private List<String> export() throws IOException {
+    return export(calendar);
+  }
+
+  private List<String> export(ICalendarModel model) throws IOException {
+    String filePath = new ICSExporter().export(model, testFile);
+    String content = new String(Files.readAllBytes(Paths.get(filePath)), StandardCharsets.UTF_8);
+    assertTrue(content.endsWith("\r\n"));
+    for (String physical : content.split("\r\n")) {
+      assertTrue(physical.getBytes(StandardCharsets.UTF_8).length <= 75);
+    }
+    List<String> lines = new ArrayList<>();
+    uids = new ArrayList<>();
+    for (String line : content.replace("\r\n ", "").split("\r\n")) {
+      if (line.startsWith("UID:")) {
+        uids.add(line);
+      } else if (!line.startsWith("DTSTAMP:")) {
+        lines.add(line);
+      }
+    }
+    return lines;
+  }
+
+  private static List<String> event(String... lines) {
+    List<String> event = new ArrayList<>();
+    event.add("BEGIN:VEVENT");
+    event.addAll(Arrays.asList(lines));
+    event.add("END:VEVENT");
+    return event;
+  }
+
+  @SafeVarargs
+  private static List<String> calendarOf(List<String>... events) {
+    List<String> lines = new ArrayList<>(Arrays.asList("BEGIN:VCALENDAR", "VERSION:2.0",
+        "PRODID:-//Calendar//Calendar Export//EN"));
+    for (List<String> event : events) {
+      lines.addAll(event);
+    }
+    lines.add("END:VCALENDAR");
+    return lines;
+  }
+
+  @Test
+  public void testSingleEvent() throws Exception {
+    calendar.addEvent(new SingleEvent("Meeting", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 30), "desc", "Room 101", false), false);
+    calendar.addEvent(new SingleEvent("Holiday", LocalDateTime.of(2025, 3, 2, 0, 0),
+        null, "", "", true), false);
+
+    assertEquals(calendarOf(
+        event("SUMMARY:Meeting", "DESCRIPTION:desc", "LOCATION:Room 101",
+            "CLASS:PRIVATE", "DTSTART:20250301T090000", "DTEND:20250301T103000"),
+        event("SUMMARY:Holiday", "CLASS:PUBLIC",
+            "DTSTART;VALUE=DATE:20250302", "DTEND;VALUE=DATE:20250303")), export());
+  }
+
+  @Test
+  public void testSeriesWithCountStartsOnFirstOccurrence() throws Exception {
+    // 2025-03-02 is a Sunday, so the first occurrence is on Monday 2025-03-03.
+    calendar.addEvent(new RecurringEvent("Standup", LocalDateTime.of(2025, 3, 2, 9, 0),
+        LocalDateTime.of(2025, 3, 2, 9, 15), "", "", true,
+        EnumSet.of(DayOfWeek.WEDNESDAY, DayOfWeek.MONDAY), 4, null), false);
+
+    assertEquals(calendarOf(
+        event("SUMMARY:Standup", "CLASS:PUBLIC", "DTSTART:20250303T090000",
+            "DTEND:20250303T091500", "RRULE:FREQ=WEEKLY;BYDAY=MO,WE;COUNT=4")), export());
+  }
+
+  @Test
+  public void testSeriesWithEndDate() throws Exception {
+    calendar.addEvent(new RecurringEvent("Gym", LocalDateTime.of(2025, 3, 4, 18, 0),
+        LocalDateTime.of(2025, 3, 4, 19, 0), "", "", true,
+        EnumSet.of(DayOfWeek.TUESDAY, DayOfWeek.SUNDAY), -1, LocalDate.of(2025, 3, 31)), false);
+    calendar.addEvent(new RecurringEvent("Off", LocalDateTime.of(2025, 4, 1, 0, 0),
+        LocalDateTime.of(2025, 4, 1, 23, 59), "", "", true,
+        EnumSet.of(DayOfWeek.TUESDAY), 10, LocalDate.of(2025, 4, 30)), false);
+
+    List<String> lines = export();
+    assertTrue(lines.contains("RRULE:FREQ=WEEKLY;BYDAY=TU,SU;UNTIL=20250330T235959"));
+    assertTrue(lines.contains("DTSTART;VALUE=DATE:20250401"));
+    assertTrue(lines.contains("RRULE:FREQ=WEEKLY;BYDAY=TU;UNTIL=20250429"));
+  }
+
+  @Test
+  public void testOverridesWrittenWithRecurrenceId() throws Exception {
+    RecurringEvent series = new RecurringEvent("Standup", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 9, 15), "", "", true, EnumSet.of(DayOfWeek.MONDAY), 3,
+        null);
+    calendar.addEvent(series, false);
+    SingleEvent second = series.generateOccurrences().get(1);
+    series.overrideOccurrence(second, new SingleEvent("Standup, late",
+        LocalDateTime.of(2025, 3, 10, 11, 0), LocalDateTime.of(2025, 3, 10, 11, 30), "", "Hall",
+        true));
+
+    assertEquals(calendarOf(
+        event("SUMMARY:Standup", "CLASS:PUBLIC", "DTSTART:20250303T090000",
+            "DTEND:20250303T091500", "RRULE:FREQ=WEEKLY;BYDAY=MO;COUNT=3"),
+        event("SUMMARY:Standup\\, late", "LOCATION:Hall", "CLASS:PUBLIC",
+            "RECURRENCE-ID:20250310T090000", "DTSTART:20250310T110000",
+            "DTEND:20250310T113000")), export());
+    assertEquals(2, uids.size());
+    assertEquals(uids.get(0), uids.get(1));
+  }
+
+  @Test
+  public void testTextEscapedAndFolded() throws Exception {
+    StringBuilder description = new StringBuilder("a;b,c\\d\r\ne\nf");
+    for (int i = 0; i < 40; i++) {
+      description.append(" Réunion 📅");
+    }
+    calendar.addEvent(new SingleEvent("S", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0), description.toString(), "", true), false);
+
+    String expected = "DESCRIPTION:" + description.toString().replace("\\", "\\\\")
+        .replace(";", "\\;").replace(",", "\\,").replace("\r\n", "\\n").replace("\n", "\\n");
+    assertTrue(export().contains(expected));
+  }
+
+  @Test
+  public void testLongSeriesIsOneEvent() throws Exception {
+    calendar.addEvent(new RecurringEvent("Daily", LocalDateTime.of(2025, 1, 1, 8, 0),
+        LocalDateTime.of(2025, 1, 1, 8, 30), "Check in", "Desk", true,
+        EnumSet.allOf(DayOfWeek.class), -1, LocalDate.of(2029, 12, 31)), false);
+
+    List<String> lines = export();
+    assertEquals(1, lines.stream().filter("BEGIN:VEVENT"::equals).count());
+    assertTrue(lines.contains(
+        "RRULE:FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR,SA,SU;UNTIL=20291231T235959"));
+    assertFalse(lines.stream().anyMatch(line -> line.startsWith("RECURRENCE-ID")));
+
+    long icsBytes = new File(testFile).length();
+    long csvBytes = new File(new CSVExporter().export(calendar, csvFile)).length();
+    assertTrue(icsBytes * 100 < csvBytes);
+  }
+
+  @Test
+  public void testSeriesWithoutOccurrencesSkipped() throws Exception {
+    calendar.addEvent(new RecurringEvent("Never", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 9, 15), "", "", true, EnumSet.noneOf(DayOfWeek.class), 3,
+        null), false);
+    assertEquals(calendarOf(), export());
+  }
+
+  @Test
+  public void testUidsUniqueAcrossCalendarsAndStableAcrossExports() throws Exception {
+    ICalendarModel other = new CalendarModel();
+    for (ICalendarModel model : Arrays.asList(calendar, other)) {
+      model.addEvent(new SingleEvent("Meeting", LocalDateTime.of(2025, 3, 1, 9, 0),
+          LocalDateTime.of(2025, 3, 1, 10, 0), "", "", true), false);
+      model.addEvent(new SingleEvent("Meeting", LocalDateTime.of(2025, 3, 1, 9, 0),
+          LocalDateTime.of(2025, 3, 1, 10, 0), "", "", true), false);
+      model.addEvent(new RecurringEvent("Standup", LocalDateTime.of(2025, 3, 3, 9, 0),
+          LocalDateTime.of(2025, 3, 3, 9, 15), "", "", true, EnumSet.of(DayOfWeek.MONDAY), 3,
+          null), false);
+    }
+
+    export(calendar);
+    List<String> first = uids;
+    export(other);
+    List<String> second = uids;
+    assertEquals(3, new HashSet<>(first).size());
+    assertEquals(3, new HashSet<>(second).size());
+    Set<String> shared = new HashSet<>(first);
+    shared.retainAll(second);
+    assertTrue(shared.isEmpty());
+
+    calendar.addEvent(new SingleEvent("Earlier", LocalDateTime.of(2025, 2, 1, 9, 0),
+        LocalDateTime.of(2025, 2, 1, 10, 0), "", "", true), false);
+    export(calendar);
+    assertEquals(4, uids.size());
+    assertTrue(uids.containsAll(first));
+  }
+}
@@ -21,4 +21,9 @@ public class ImportFactoryTest {
     factory.getImporter("json");
   }
 
-}
\ No newline at end of file
+  @Test
+  public void getMappedImporter() {
+    Importer importer = new ImportFactory().getImporter("csv-mapped");
+    assertTrue(importer instanceof MappedCSVImporter);
+  }
+}
@@ -0,0 +1,101 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnit Test Case for {@link IntervalTree}.
+ */
+public class IntervalTreeTest {
+
+  private IntervalTree<String> tree;
+
+  @Before
+  public void setUp() {
+    tree = new IntervalTree<>();
+  }
+
+  @Test
+  public void testOverlappingIsStrict() {
+    tree.insert(10, 20, 0, "A");
+    assertEquals(1, tree.overlapping(15, 16).size());
+    assertEquals(1, tree.overlapping(5, 11).size());
+    assertTrue("Touching intervals should not overlap.", tree.overlapping(20, 30).isEmpty());
+    assertTrue("Touching intervals should not overlap.", tree.overlapping(0, 10).isEmpty());
+  }
+
+  @Test
+  public void testOverlappingReturnsStartOrder() {
+    tree.insert(30, 40, 0, "C");
+    tree.insert(10, 50, 1, "A");
+    tree.insert(20, 25, 2, "B");
+    List<IntervalTree.Node<String>> result = tree.overlapping(22, 35);
+    assertEquals(3, result.size());
+    assertEquals("A", result.get(0).getValue());
+    assertEquals("B", result.get(1).getValue());
+    assertEquals("C", result.get(2).getValue());
+  }
+
+  @Test
+  public void testRemove() {
+    IntervalTree.Node<String> a = tree.insert(10, 20, 0, "A");
+    tree.insert(10, 20, 1, "B");
+    assertTrue(tree.remove(a));
+    assertFalse("Removing twice should report absence.", tree.remove(a));
+    assertEquals(1, tree.size());
+    assertEquals("B", tree.overlapping(0, 100).get(0).getValue());
+  }
+
+  @Test
+  public void testMatchesBruteForce() {
+    Random random = new Random(42);
+    List<long[]> intervals = new ArrayList<>();
+    List<IntervalTree.Node<String>> nodes = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      long start = random.nextInt(100000);
+      long end = start + random.nextInt(500);
+      intervals.add(new long[]{start, end});
+      nodes.add(tree.insert(start, end, i, "E" + i));
+    }
+    for (int i = 0; i < 2000; i += 3) {
+      tree.remove(nodes.get(i));
+      intervals.set(i, null);
+    }
+    for (int q = 0; q < 500; q++) {
+      long start = random.nextInt(100000);
+      long end = start + random.nextInt(1000);
+      int expected = 0;
+      for (long[] interval : intervals) {
+        if (interval != null && interval[0] < end && start < interval[1]) {
+          expected++;
+        }
+      }
+      assertEquals(expected, tree.overlapping(start, end).size());
+    }
+  }
+
+  @Test
+  public void testMoveKeepsNode() {
+    IntervalTree.Node<String> a = tree.insert(10, 20, 0, "A");
+    tree.insert(30, 40, 1, "B");
+
+    assertTrue(tree.move(a, 35, 50));
+    assertEquals(2, tree.size());
+    assertTrue(tree.overlapping(10, 20).isEmpty());
+    assertEquals(2, tree.overlapping(36, 37).size());
+    assertEquals(35, a.getStart());
+    assertEquals(50, a.getEnd());
+    assertEquals("B", tree.startingBetween(0, 100).get(0).getValue());
+
+    tree.remove(a);
+    assertFalse(tree.move(a, 0, 5));
+    assertEquals(1, tree.size());
+  }
+}
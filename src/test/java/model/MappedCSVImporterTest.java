@@ -0,0 +1,145 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Unit tests for MappedCSVImporter. The results are compared with those of CSVImporter on the
+ * same files, with windows small enough that lines and line terminators are cut at window
+ * boundaries.
+ */
+public class MappedCSVImporterTest {
+
+  private static final String HEADER =
+      "Subject,Start Date,Start Time,End Date,End Time,AllDay,Description,Location,Private";
+
+  private static File write(String content) throws IOException {
+    File file = File.createTempFile("mappedData", ".csv");
+    file.deleteOnExit();
+    try (OutputStream out = new FileOutputStream(file)) {
+      out.write(content.getBytes(StandardCharsets.UTF_8));
+    }
+    return file;
+  }
+
+  private static void assertSameImport(File file, long windowBytes) throws IOException {
+    ICalendarModel expectedModel = new CalendarModel();
+    String expected = new CSVImporter().importData(expectedModel, file.getAbsolutePath());
+    ICalendarModel model = new CalendarModel();
+    String result = new MappedCSVImporter(windowBytes).importData(model, file.getAbsolutePath());
+
+    assertEquals(expected, result);
+    assertEquals(expectedModel.getAllEvents().size(), model.getAllEvents().size());
+    for (int i = 0; i < model.getAllEvents().size(); i++) {
+      Event a = expectedModel.getAllEvents().get(i);
+      Event b = model.getAllEvents().get(i);
+      assertEquals(a.getSubject(), b.getSubject());
+      assertEquals(a.getStartDateTime(), b.getStartDateTime());
+      assertEquals(a.getEffectiveEndDateTime(), b.getEffectiveEndDateTime());
+      assertEquals(a.getDescription(), b.getDescription());
+      assertEquals(a.getLocation(), b.getLocation());
+      assertEquals(a.isPublic(), b.isPublic());
+    }
+    assertEquals(expectedModel.getStringPool().getDuplicates(),
+        model.getStringPool().getDuplicates());
+  }
+
+  @Test
+  public void importData() throws Exception {
+    File file = write(HEADER + "\n"
+        + "Meeting,2025-04-10,10:00,2025-04-10,11:00,false,Description,Office,false\n");
+    ICalendarModel model = new CalendarModel();
+    String result = new MappedCSVImporter().importData(model, file.getAbsolutePath());
+    assertEquals("Imported 1 events.", result);
+    assertEquals("Office", model.getAllEvents().get(0).getLocation());
+  }
+
+  @Test
+  public void importEmptyFile() throws Exception {
+    File file = write("");
+    assertEquals("Error: CSV file is empty.",
+        new MappedCSVImporter().importData(new CalendarModel(), file.getAbsolutePath()));
+  }
+
+  @Test
+  public void importUnusualRowsLikeCSVImporter() throws Exception {
+    File file = write(HEADER + "\r\n"
+        + " Réunion 📅 , 2025-04-10 ,10:00:30,2025-04-10,11:00:00.5,false, Café ,Zürich,TRUE\r\n"
+        + "Clash,2025-04-10,10:30,2025-04-10,12:00,false,,,false\r\n"
+        + "Short,2025-04-11\n"
+        + "\n"
+        + "BadDate,2025-02-30,10:00,2025-02-30,11:00,false,,,false\r"
+        + "BadTime,2025-04-12,24:00,2025-04-12,11:00,false,,,false\n"
+        + "Odd,2025-4-12,9:00,2025-04-12,11:00,false,,,false\n"
+        + "Backwards,2025-04-13,11:00,2025-04-13,10:00,false,,,false\n"
+        + "Extra,2025-04-14,10:00,2025-04-14,11:00,false,a,b,yes,more,fields\n"
+        + "Last,2025-04-15,10:00,2025-04-15,11:00,false,,,false");
+    for (long window = 128; window <= 2048; window *= 2) {
+      assertSameImport(file, window);
+    }
+    ICalendarModel model = new CalendarModel();
+    String result = new MappedCSVImporter(128).importData(model, file.getAbsolutePath());
+    assertTrue(result.startsWith("Imported 3 events.\n7 errors:\nLine 3: "));
+    assertEquals("Réunion 📅", model.getAllEvents().get(0).getSubject());
+  }
+
+  @Test
+  public void importQuotedFieldsLikeCSVImporter() throws Exception {
+    File file = write(HEADER + "\r\n"
+        + "\"Lunch, team\",2025-04-10,12:00,2025-04-10,13:00,false,\"Say \"\"hi\"\"\","
+        + "\"Room\r\n2\",\"TRUE\"\r\n"
+        + "\" Padded \",\"2025-04-11\",\"10:00\",2025-04-11,11:00,false,\"a\nb\nc\",,false\n"
+        + "\"Broken\"x,2025-04-12,10:00,2025-04-12,11:00,false,,,false\r"
+        + "Tail,2025-04-13,10:00,2025-04-13,11:00,false,,,\"open\n");
+    for (long window = 128; window <= 512; window++) {
+      assertSameImport(file, window);
+    }
+    ICalendarModel model = new CalendarModel();
+    String result = new MappedCSVImporter(128).importData(model, file.getAbsolutePath());
+    assertEquals("Imported 3 events.\n1 errors:\nLine 8: Unterminated quoted field.\n", result);
+    Event lunch = model.getAllEvents().get(0);
+    assertEquals("Lunch, team", lunch.getSubject());
+    assertEquals("Say \"hi\"", lunch.getDescription());
+    assertEquals("Room\r\n2", lunch.getLocation());
+    assertFalse(lunch.isPublic());
+    assertEquals("Padded", model.getAllEvents().get(1).getSubject());
+    assertEquals("Brokenx", model.getAllEvents().get(2).getSubject());
+  }
+
+  @Test
+  public void importManyWindowsLikeCSVImporter() throws Exception {
+    StringBuilder content = new StringBuilder(HEADER).append('\n');
+    Random random = new Random(23);
+    for (int i = 0; i < 2000; i++) {
+      int day = 1 + random.nextInt(28);
+      int hour = random.nextInt(23);
+      content.append(String.format("E%d,2025-05-%02d,%02d:%02d,2025-05-%02d,%02d:59,false,D%d,"
+              + "R%d,%b", i % 40, day, hour, random.nextInt(60), day, hour, i % 9, i % 5,
+          i % 3 == 0)).append(i % 2 == 0 ? "\n" : "\r\n");
+    }
+    File file = write(content.toString());
+    assertSameImport(file, 200);
+    assertSameImport(file, 4096);
+  }
+
+  @Test(expected = IOException.class)
+  public void lineLongerThanWindowIsRejected() throws Exception {
+    File file = write(HEADER + "\n"
+        + "Meeting,2025-04-10,10:00,2025-04-10,11:00,false,Description,Office,false\n");
+    new MappedCSVImporter(32).importData(new CalendarModel(), file.getAbsolutePath());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void windowSizeMustBePositive() {
+    new MappedCSVImporter(0);
+  }
+}
@@ -5,6 +5,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -456,4 +457,25 @@ public class MultiCalendarServiceTest {
     multiService.copyEventsOn(LocalDate.now(), "NonExistentTarget", LocalDate.now());
   }
 
+  @Test
+  public void testEventsAddedAfterTimezoneChangeShareOneClock() throws Exception {
+    multiService.createCalendar("Shifted", "America/New_York");
+    multiService.useCalendar("Shifted");
+    multiService.addSingleEvent("Standup", LocalDateTime.of(2025, 1, 6, 9, 0),
+        LocalDateTime.of(2025, 1, 6, 9, 30), "", "", true, true);
+
+    multiService.editCalendar("Shifted", "timezone", "Asia/Kolkata");
+
+    try {
+      multiService.addSingleEvent("Overlap", LocalDateTime.of(2025, 1, 6, 19, 45),
+          LocalDateTime.of(2025, 1, 6, 20, 15), "", "", true, true);
+      fail("Expected a conflict with the shifted standup");
+    } catch (EventConflictException e) {
+      assertTrue(e.getMessage().contains("Standup"));
+    }
+    multiService.addSingleEvent("Later", LocalDateTime.of(2025, 1, 6, 20, 0),
+        LocalDateTime.of(2025, 1, 6, 21, 0), "", "", true, true);
+    assertEquals(2, manager.getCalendar("Shifted").getCalendarService()
+        .getEventsOn(LocalDate.of(2025, 1, 6)).size());
+  }
 }
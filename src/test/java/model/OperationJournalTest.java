@@ -0,0 +1,353 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the OperationJournal class, driven through MultiCalendarService.
+ */
+public class OperationJournalTest {
+
+  private CalendarManager manager;
+  private MultiCalendarService service;
+  private ICalendarContext work;
+
+  @Before
+  public void setUp() throws Exception {
+    manager = new CalendarManager();
+    service = new MultiCalendarService(manager);
+    service.createCalendar("Work", "UTC");
+    service.createCalendar("Home", "UTC");
+    service.useCalendar("Work");
+    work = manager.getCalendar("Work");
+  }
+
+  @Test
+  public void testUndoAndRedoCreate() throws Exception {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    service.addSingleEvent("Meeting", start, start.plusHours(1), "", "", true, true);
+
+    assertEquals("Undid create event 'Meeting'.", service.undo());
+    assertTrue(service.getAllEvents().isEmpty());
+    assertEquals("Nothing to undo.", service.undo());
+
+    assertEquals("Redid create event 'Meeting'.", service.redo());
+    assertEquals(1, service.getAllEvents().size());
+    assertTrue(service.isBusyAt(start.plusMinutes(30)));
+    assertEquals("Nothing to redo.", service.redo());
+  }
+
+  @Test
+  public void testUndoAndRedoEdit() throws Exception {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    service.addSingleEvent("Meeting", start, start.plusHours(1), "", "", true, true);
+    service.editEvent("Meeting", start, "subject", "Review", ICalendarService.EditMode.SINGLE);
+    service.editEvent("Review", start, "start", start.plusMinutes(30).toString(),
+        ICalendarService.EditMode.SINGLE);
+
+    service.undo();
+    Event event = service.getAllEvents().get(0);
+    assertEquals("Review", event.getSubject());
+    assertEquals(start, event.getStartDateTime());
+    assertTrue(service.isBusyAt(start.plusMinutes(10)));
+
+    service.undo();
+    assertEquals("Meeting", event.getSubject());
+    assertEquals(1, work.getCalendarModel().getEventsBySubject("meeting").size());
+
+    service.redo();
+    service.redo();
+    assertEquals("Review", event.getSubject());
+    assertEquals(start.plusMinutes(30), event.getStartDateTime());
+    assertFalse(service.isBusyAt(start.plusMinutes(10)));
+  }
+
+  @Test
+  public void testUndoSplitOfSeries() throws Exception {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    service.addRecurringEvent("Standup", start, start.plusMinutes(15), "", "", true,
+        EnumSet.of(DayOfWeek.MONDAY), 6, null, true);
+    service.editEvent("Standup", start.plusWeeks(3), "location", "Room 2",
+        ICalendarService.EditMode.FROM);
+    assertEquals(2, service.getAllEvents().size());
+
+    service.undo();
+    assertEquals(1, service.getAllEvents().size());
+    List<Event> occurrences = work.getCalendarModel().getOccurrencesBetween(start,
+        start.plusWeeks(10));
+    assertEquals(6, occurrences.size());
+    assertEquals("", occurrences.get(5).getLocation());
+
+    service.redo();
+    occurrences = work.getCalendarModel().getOccurrencesBetween(start, start.plusWeeks(10));
+    assertEquals(6, occurrences.size());
+    assertEquals("Room 2", occurrences.get(5).getLocation());
+  }
+
+  @Test
+  public void testUndoOverride() throws Exception {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    service.addRecurringEvent("Standup", start, start.plusMinutes(15), "", "", true,
+        EnumSet.of(DayOfWeek.MONDAY), 3, null, true);
+    service.editEvent("Standup", start.plusWeeks(1), "subject", "Retro",
+        ICalendarService.EditMode.SINGLE);
+
+    service.undo();
+    RecurringEvent series = (RecurringEvent) service.getAllEvents().get(0);
+    assertTrue(series.getOccurrenceOverrides().isEmpty());
+  }
+
+  @Test
+  public void testUndoTimezoneChange() throws Exception {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    service.addSingleEvent("Meeting", start, start.plusHours(1), "", "", true, true);
+    service.editCalendar("Work", "timezone", "Asia/Kolkata");
+    assertEquals(start.plusHours(5).plusMinutes(30),
+        service.getAllEvents().get(0).getStartDateTime());
+
+    assertEquals("Undid edit calendar 'Work'.", service.undo());
+    assertEquals(ZoneId.of("UTC"), work.getTimezone());
+    assertEquals(start, service.getAllEvents().get(0).getStartDateTime());
+
+    service.redo();
+    assertEquals(ZoneId.of("Asia/Kolkata"), work.getTimezone());
+  }
+
+  @Test
+  public void testUndoCopyRemovesCopiesFromTarget() throws Exception {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    for (int i = 0; i < 5; i++) {
+      service.addSingleEvent("E" + i, start.plusDays(i), start.plusDays(i).plusHours(1), "", "",
+          true, true);
+    }
+    service.copyEventsBetween(LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 7), "Home",
+        LocalDate.of(2025, 4, 1));
+    ICalendarModel home = manager.getCalendar("Home").getCalendarModel();
+    assertEquals(5, home.getAllEvents().size());
+
+    service.undo();
+    assertTrue(home.getAllEvents().isEmpty());
+    assertEquals(5, service.getAllEvents().size());
+
+    service.redo();
+    assertEquals(5, home.getAllEvents().size());
+  }
+
+  @Test
+  public void testUndoImport() throws Exception {
+    File file = File.createTempFile("journal", ".csv");
+    file.deleteOnExit();
+    try (FileWriter writer = new FileWriter(file)) {
+      writer.write("Subject,Start Date,Start Time,End Date,End Time,AllDay,Description,Location,"
+          + "Private\n");
+      writer.write("Meeting,2025-04-10,10:00,2025-04-10,11:00,false,,Office,false\n");
+      writer.write("Review,2025-04-11,10:00,2025-04-11,11:00,false,,Office,false\n");
+    }
+    service.importFrom("csv", file.getAbsolutePath());
+    assertEquals(2, service.getAllEvents().size());
+
+    assertEquals("Undid import from " + file.getAbsolutePath() + ".", service.undo());
+    assertTrue(service.getAllEvents().isEmpty());
+  }
+
+  @Test
+  public void testFailedOperationIsNotRecorded() throws Exception {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    service.addSingleEvent("Meeting", start, start.plusHours(1), "", "", true, true);
+    try {
+      service.addSingleEvent("Clash", start, start.plusHours(1), "", "", true, true);
+      fail("Expected EventConflictException");
+    } catch (EventConflictException e) {
+      // expected
+    }
+
+    assertEquals("Undid create event 'Meeting'.", service.undo());
+    assertEquals("Nothing to undo.", service.undo());
+  }
+
+  @Test
+  public void testNewOperationClearsRedo() throws Exception {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    service.addSingleEvent("First", start, start.plusHours(1), "", "", true, true);
+    service.undo();
+    service.addSingleEvent("Second", start, start.plusHours(1), "", "", true, true);
+
+    assertEquals("Nothing to redo.", service.redo());
+    assertEquals("Second", service.getAllEvents().get(0).getSubject());
+  }
+
+  @Test
+  public void testDepthLimit() throws Exception {
+    service = new MultiCalendarService(manager, 2);
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    for (int i = 0; i < 3; i++) {
+      service.addSingleEvent("E" + i, start.plusDays(i), start.plusDays(i).plusHours(1), "", "",
+          true, true);
+    }
+
+    service.undo();
+    service.undo();
+    assertEquals("Nothing to undo.", service.undo());
+    assertEquals("E0", service.getAllEvents().get(0).getSubject());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDepthMustBePositive() {
+    new OperationJournal(0);
+  }
+
+  @Test
+  public void testChangeBudgetDropsOldestOperations() throws Exception {
+    CalendarModel model = new CalendarModel();
+    OperationJournal journal = new OperationJournal(10, 5);
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    int added = 0;
+    for (int count : new int[] {3, 2, 1, 10}) {
+      List<Event> events = new ArrayList<>();
+      for (int i = 0; i < count; i++, added++) {
+        events.add(new SingleEvent("E" + added, start.plusHours(added),
+            start.plusHours(added).plusMinutes(30), "", "", true));
+      }
+      journal.begin("add " + count, model);
+      model.addEvents(events);
+      journal.end();
+      if (count == 1) {
+        assertEquals(2, journal.undoableCount());
+        assertEquals(3, journal.recordedChanges());
+      }
+    }
+
+    assertEquals(1, journal.undoableCount());
+    assertEquals(10, journal.recordedChanges());
+    assertEquals("Undid add 10.", journal.undo());
+    assertEquals(10, journal.recordedChanges());
+    assertEquals("Nothing to undo.", journal.undo());
+    assertEquals(6, model.getAllEvents().size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testChangeBudgetMustBePositive() {
+    new OperationJournal(1, 0);
+  }
+
+  /**
+   * An event whose location setter can be made to fail, so that restoring a snapshot of it fails
+   * part of the way through.
+   */
+  private static final class FailingEvent extends SingleEvent {
+
+    private boolean failing;
+
+    private FailingEvent(String subject, LocalDateTime start, LocalDateTime end)
+        throws InvalidDateException {
+      super(subject, start, end, "", "", true);
+    }
+
+    @Override
+    public void setLocation(String location) {
+      if (failing) {
+        throw new IllegalStateException("Location cannot be set.");
+      }
+      super.setLocation(location);
+    }
+  }
+
+  @Test
+  public void testFailedRestoreKeepsOperation() throws Exception {
+    CalendarModel model = new CalendarModel();
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    FailingEvent edited = new FailingEvent("Meeting", start, start.plusHours(1));
+    model.addEvent(edited, false);
+    SingleEvent added = new SingleEvent("Review", start.plusHours(2), start.plusHours(3), "", "",
+        true);
+
+    OperationJournal journal = new OperationJournal();
+    journal.begin("edit", model);
+    journal.snapshot(edited);
+    edited.setSubject("Planning");
+    edited.setStartDateTime(start.plusMinutes(30));
+    model.addEvent(added, false);
+    journal.end();
+
+    edited.failing = true;
+    try {
+      journal.undo();
+      fail("Expected the restore to fail");
+    } catch (IllegalStateException e) {
+      assertEquals("Location cannot be set.", e.getMessage());
+    }
+    assertEquals(1, journal.undoableCount());
+    assertEquals(0, journal.redoableCount());
+    assertEquals("Planning", edited.getSubject());
+    assertEquals(start.plusMinutes(30), edited.getStartDateTime());
+    assertEquals(2, model.getAllEvents().size());
+    assertTrue(model.isBusyAt(start.plusHours(2).plusMinutes(30)));
+
+    edited.failing = false;
+    assertEquals("Undid edit.", journal.undo());
+    assertEquals("Meeting", edited.getSubject());
+    assertEquals(1, model.getAllEvents().size());
+
+    edited.failing = true;
+    try {
+      journal.redo();
+      fail("Expected the restore to fail");
+    } catch (IllegalStateException e) {
+      assertEquals("Location cannot be set.", e.getMessage());
+    }
+    assertEquals(0, journal.undoableCount());
+    assertEquals(1, journal.redoableCount());
+    assertEquals("Meeting", edited.getSubject());
+    assertEquals(start, edited.getStartDateTime());
+    assertEquals(1, model.getAllEvents().size());
+
+    edited.failing = false;
+    assertEquals("Redid edit.", journal.redo());
+    assertEquals("Planning", edited.getSubject());
+    assertEquals(2, model.getAllEvents().size());
+  }
+
+  @Test
+  public void testBulkUndoOnLargeCalendar() throws Exception {
+    CalendarModel model = new CalendarModel();
+    LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+    List<Event> existing = new ArrayList<>();
+    for (int i = 0; i < 200_000; i++) {
+      LocalDateTime start = base.plusMinutes(i * 7L);
+      existing.add(new SingleEvent("S" + (i % 1000), start, start.plusMinutes(5), "", "", true));
+    }
+    model.addEvents(existing);
+    List<Event> imported = new ArrayList<>();
+    for (int i = 0; i < 50_000; i++) {
+      LocalDateTime start = base.plusYears(5).plusMinutes(i * 7L);
+      imported.add(new SingleEvent("I", start, start.plusMinutes(1), "", "", true));
+    }
+
+    OperationJournal journal = new OperationJournal();
+    journal.begin("import", model);
+    model.addEvents(imported);
+    journal.end();
+    journal.undo();
+
+    assertEquals(200_000, model.getAllEvents().size());
+    assertTrue(model.getEventsBySubject("I").isEmpty());
+    journal.redo();
+    assertEquals(250_000, model.getAllEvents().size());
+    assertEquals(1, journal.undoableCount());
+    assertEquals(0, journal.redoableCount());
+  }
+}
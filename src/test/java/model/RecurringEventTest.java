@@ -3,15 +3,21 @@ package model;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.junit.Test;
 
 /**
@@ -192,4 +198,183 @@ public class RecurringEventTest {
         recurring.getRecurrenceEndDate());
   }
 
-}
\ No newline at end of file
+
+  @Test
+  public void testOccurrencesBetweenMatchesFullExpansion() throws InvalidDateException {
+    RecurringEvent re = new RecurringEvent("Class", LocalDateTime.of(2025, 3, 4, 10, 0),
+        LocalDateTime.of(2025, 3, 4, 11, 0), "", "", true,
+        EnumSet.of(DayOfWeek.TUESDAY, DayOfWeek.THURSDAY, DayOfWeek.SATURDAY), 40, null);
+    List<SingleEvent> all = re.generateOccurrences();
+    LocalDateTime[] bounds = {LocalDateTime.of(2025, 1, 1, 0, 0),
+        LocalDateTime.of(2025, 3, 4, 10, 0), LocalDateTime.of(2025, 3, 4, 10, 1),
+        LocalDateTime.of(2025, 3, 20, 9, 0), LocalDateTime.of(2025, 4, 12, 10, 0),
+        LocalDateTime.of(2025, 5, 31, 23, 0), LocalDateTime.of(2026, 1, 1, 0, 0)};
+    for (LocalDateTime from : bounds) {
+      for (LocalDateTime to : bounds) {
+        List<LocalDateTime> expected = new ArrayList<>();
+        for (SingleEvent occ : all) {
+          if (!occ.getStartDateTime().isBefore(from) && occ.getStartDateTime().isBefore(to)) {
+            expected.add(occ.getStartDateTime());
+          }
+        }
+        List<LocalDateTime> actual = new ArrayList<>();
+        for (Event occ : re.occurrencesBetween(from, to)) {
+          actual.add(occ.getStartDateTime());
+        }
+        assertEquals("Window " + from + " to " + to, expected, actual);
+      }
+    }
+  }
+
+  @Test
+  public void testOccurrencesBetweenRespectsEndDate() throws InvalidDateException {
+    RecurringEvent re = new RecurringEvent("Gym", LocalDateTime.of(2025, 3, 3, 7, 0),
+        LocalDateTime.of(2025, 3, 3, 8, 0), "", "", true, EnumSet.of(DayOfWeek.MONDAY), -1,
+        LocalDate.of(2025, 3, 24));
+    int count = 0;
+    for (Event occ : re.occurrencesBetween(LocalDateTime.of(2025, 3, 10, 7, 0),
+        LocalDateTime.of(2030, 1, 1, 0, 0))) {
+      assertEquals(DayOfWeek.MONDAY, occ.getStartDateTime().getDayOfWeek());
+      count++;
+    }
+    assertEquals("Expected the 10th, 17th and 24th.", 3, count);
+  }
+
+  @Test
+  public void testClosedFormConflictsMatchExpansion() throws InvalidDateException {
+    Random random = new Random(11);
+    LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+    for (int i = 0; i < 300; i++) {
+      RecurringEvent a = randomSeries(random, base);
+      RecurringEvent b = randomSeries(random, base);
+      LocalDateTime singleStart = base.plusMinutes(random.nextInt(60 * 24 * 90));
+      SingleEvent single = new SingleEvent("S", singleStart,
+          singleStart.plusMinutes(random.nextInt(60 * 24 * 3)), "", "", true);
+
+      boolean seriesExpected = false;
+      boolean singleExpected = false;
+      for (SingleEvent occA : a.generateOccurrences()) {
+        for (SingleEvent occB : b.generateOccurrences()) {
+          seriesExpected |= occA.conflictsWith(occB);
+        }
+        singleExpected |= single.conflictsWith(occA);
+      }
+      assertEquals(seriesExpected, a.conflictsWith(b));
+      assertEquals(seriesExpected, b.conflictsWith(a));
+      assertEquals(singleExpected, a.conflictsWith(single));
+      assertEquals(singleExpected, single.conflictsWith(a));
+    }
+  }
+
+  private RecurringEvent randomSeries(Random random, LocalDateTime base)
+      throws InvalidDateException {
+    LocalDateTime start = base.plusDays(random.nextInt(60)).plusMinutes(random.nextInt(60 * 22));
+    LocalDateTime end = start.plusMinutes(random.nextInt(90));
+    if (!end.toLocalDate().equals(start.toLocalDate())) {
+      end = start;
+    }
+    Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+    int dayCount = 1 + random.nextInt(3);
+    for (int i = 0; i < dayCount; i++) {
+      days.add(DayOfWeek.of(1 + random.nextInt(7)));
+    }
+    if (random.nextBoolean()) {
+      return new RecurringEvent("R", start, end, "", "", true, days, 1 + random.nextInt(15), null);
+    }
+    return new RecurringEvent("R", start, end, "", "", true, days, -1,
+        start.toLocalDate().plusDays(random.nextInt(60) - 5));
+  }
+
+  @Test
+  public void testOccurrenceCacheInvalidatedBySetters() throws InvalidDateException {
+    RecurringEvent re = new RecurringEvent("Sync", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 9, 30), "", "", true, EnumSet.of(DayOfWeek.MONDAY), 4, null);
+    RecurringEvent.resetCacheStatistics();
+    re.generateOccurrences();
+    re.getOccurrences();
+    re.occurrencesBetween(LocalDateTime.of(2025, 3, 10, 0, 0), LocalDateTime.of(2025, 3, 11, 0, 0));
+    assertEquals(1, RecurringEvent.getCacheMisses());
+    assertEquals(2, RecurringEvent.getCacheHits());
+
+    re.setSubject("Renamed");
+    assertEquals("Renamed", re.generateOccurrences().get(0).getSubject());
+    re.setEndDateTime(LocalDateTime.of(2025, 3, 3, 10, 0));
+    assertEquals(LocalDateTime.of(2025, 3, 3, 10, 0),
+        re.generateOccurrences().get(0).getEffectiveEndDateTime());
+    re.setStartDateTime(LocalDateTime.of(2025, 3, 3, 8, 0));
+    assertEquals(LocalDateTime.of(2025, 3, 3, 8, 0),
+        re.generateOccurrences().get(0).getStartDateTime());
+    re.setRecurrenceEndDate(LocalDate.of(2025, 3, 10));
+    assertEquals(2, re.generateOccurrences().size());
+    assertEquals(5, RecurringEvent.getCacheMisses());
+  }
+
+  @Test
+  public void testReturnedOccurrencesAreNotShared() throws InvalidDateException {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    RecurringEvent re = new RecurringEvent("Sync", start, start.plusMinutes(30), "", "", true,
+        EnumSet.of(DayOfWeek.MONDAY), 3, null);
+    RecurringEvent.resetCacheStatistics();
+    re.generateOccurrences().get(0).setSubject("Changed");
+    ((SingleEvent) re.getOccurrences().get(1)).setLocation("Elsewhere");
+    ((SingleEvent) re.occurrencesBetween(start, start.plusWeeks(3)).iterator().next())
+        .setStartDateTime(start.minusDays(1));
+
+    List<SingleEvent> all = re.generateOccurrences();
+    assertEquals(3, all.size());
+    assertEquals("Sync", all.get(0).getSubject());
+    assertEquals(start, all.get(0).getStartDateTime());
+    assertEquals("", all.get(1).getLocation());
+    assertNotSame(all.get(2), re.generateOccurrences().get(2));
+    assertEquals(1, RecurringEvent.getCacheMisses());
+  }
+
+  @Test
+  public void testOverridesAreAppliedEverywhere() throws InvalidDateException {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    RecurringEvent re = new RecurringEvent("Sync", start, start.plusMinutes(30), "", "", true,
+        EnumSet.of(DayOfWeek.MONDAY), 4, null);
+    SingleEvent second = (SingleEvent) re.occurrencesBetween(start.plusWeeks(1),
+        start.plusWeeks(1).plusNanos(1)).iterator().next();
+    SingleEvent renamed = new SingleEvent("Renamed", second.getStartDateTime(),
+        second.getEffectiveEndDateTime(), "", "", true);
+    re.overrideOccurrence(second, renamed);
+
+    List<SingleEvent> all = re.generateOccurrences();
+    assertEquals(4, all.size());
+    assertSame(renamed, all.get(1));
+    assertSame(renamed, re.occurrencesBetween(start.plusDays(1), start.plusWeeks(2))
+        .iterator().next());
+
+    SingleEvent moved = new SingleEvent("Moved", start.plusWeeks(4).plusHours(5),
+        start.plusWeeks(4).plusHours(6), "", "", true);
+    re.overrideOccurrence(renamed, moved);
+    List<Event> window = new ArrayList<>();
+    re.occurrencesBetween(start.plusDays(1), start.plusWeeks(5)).forEach(window::add);
+    assertEquals(List.of(start.plusWeeks(2), start.plusWeeks(3), moved.getStartDateTime()),
+        window.stream().map(Event::getStartDateTime).collect(Collectors.toList()));
+    assertEquals(1, re.getOccurrenceOverrides().size());
+    assertSame(moved, re.getOccurrenceOverrides().get(start.plusWeeks(1)));
+
+    SingleEvent atOldSlot = new SingleEvent("Probe", start.plusWeeks(1),
+        start.plusWeeks(1).plusMinutes(10), "", "", true);
+    SingleEvent atNewSlot = new SingleEvent("Probe", moved.getStartDateTime(),
+        moved.getStartDateTime().plusMinutes(10), "", "", true);
+    assertFalse(re.conflictsWith(atOldSlot));
+    assertTrue(re.conflictsWith(atNewSlot));
+
+    re.setRecurrenceEndDate(start.toLocalDate());
+    assertTrue(re.getOccurrenceOverrides().isEmpty());
+    assertFalse(re.conflictsWith(atNewSlot));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOverrideRequiresAnOccurrence() throws InvalidDateException {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    RecurringEvent re = new RecurringEvent("Sync", start, start.plusMinutes(30), "", "", true,
+        EnumSet.of(DayOfWeek.MONDAY), 4, null);
+    SingleEvent stray = new SingleEvent("Sync", start.plusDays(1), start.plusDays(1).plusHours(1),
+        "", "", true);
+    re.overrideOccurrence(stray, stray);
+  }
+}
@@ -0,0 +1,56 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the StringPool class.
+ */
+public class StringPoolTest {
+
+  @Test
+  public void testInternReturnsSharedInstance() {
+    StringPool pool = new StringPool();
+    String first = pool.intern(new String("Standup"));
+    String second = pool.intern(new String("Standup"));
+    assertSame(first, second);
+    assertEquals(1, pool.size());
+    assertEquals(2, pool.getRequests());
+    assertEquals(1, pool.getDuplicates());
+  }
+
+  @Test
+  public void testIdsRoundTrip() {
+    StringPool pool = new StringPool();
+    int room = pool.idOf("Room 4B");
+    int standup = pool.idOf("Standup");
+    assertEquals(room, pool.idOf("Room 4B"));
+    assertEquals("Room 4B", pool.valueOf(room));
+    assertEquals("Standup", pool.valueOf(standup));
+  }
+
+  @Test
+  public void testNullIsNotPooled() {
+    StringPool pool = new StringPool();
+    assertNull(pool.intern(null));
+    assertEquals(StringPool.NO_ID, pool.idOf(null));
+    assertNull(pool.valueOf(StringPool.NO_ID));
+    assertEquals(0, pool.size());
+    assertEquals(0, pool.getRequests());
+  }
+
+  @Test
+  public void testReport() {
+    StringPool pool = new StringPool();
+    for (int i = 0; i < 10; i++) {
+      pool.intern(new String("Standup"));
+    }
+    assertEquals(9, pool.getDuplicates());
+    assertEquals(9 * (40 + 2 * 7), pool.getBytesSaved());
+    assertEquals("String pool: 1 distinct of 10 strings, 9 duplicates (90%), about 0 KB saved.",
+        pool.getReport());
+  }
+}
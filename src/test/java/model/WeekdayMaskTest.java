@@ -0,0 +1,64 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.DayOfWeek;
+import java.util.EnumSet;
+import java.util.Set;
+import org.junit.Test;
+
+/**
+ * Unit tests for the WeekdayMask helpers, checked against plain set lookups for every mask.
+ */
+public class WeekdayMaskTest {
+
+  @Test
+  public void testRoundTrip() {
+    Set<DayOfWeek> days = EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY, DayOfWeek.SUNDAY);
+    int mask = WeekdayMask.of(days);
+    assertEquals(0b1010001, mask);
+    assertEquals(days, WeekdayMask.toSet(mask));
+    assertTrue(WeekdayMask.contains(mask, DayOfWeek.FRIDAY));
+    assertFalse(WeekdayMask.contains(mask, DayOfWeek.TUESDAY));
+  }
+
+  @Test
+  public void testJumpTablesMatchSetLookups() {
+    for (int mask = 1; mask <= WeekdayMask.ALL; mask++) {
+      Set<DayOfWeek> days = WeekdayMask.toSet(mask);
+      for (DayOfWeek day : DayOfWeek.values()) {
+        int next = 0;
+        while (!days.contains(day.plus(next))) {
+          next++;
+        }
+        int previous = 0;
+        while (!days.contains(day.minus(previous))) {
+          previous++;
+        }
+        assertEquals(next, WeekdayMask.daysToNext(mask, day));
+        assertEquals(previous, WeekdayMask.daysSincePrevious(mask, day));
+        for (int length = 0; length <= 7; length++) {
+          int count = 0;
+          for (int i = 0; i < length; i++) {
+            if (days.contains(day.plus(i))) {
+              count++;
+            }
+          }
+          assertEquals(count, WeekdayMask.countInRun(mask, day, length));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testShift() {
+    int mondayAndSunday = WeekdayMask.of(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.SUNDAY));
+    assertEquals(EnumSet.of(DayOfWeek.TUESDAY, DayOfWeek.MONDAY),
+        WeekdayMask.toSet(WeekdayMask.shift(mondayAndSunday, 1)));
+    assertEquals(EnumSet.of(DayOfWeek.SUNDAY, DayOfWeek.SATURDAY),
+        WeekdayMask.toSet(WeekdayMask.shift(mondayAndSunday, -1)));
+    assertEquals(mondayAndSunday, WeekdayMask.shift(mondayAndSunday, 14));
+  }
+}
@@ -0,0 +1,76 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Unit tests for the ZoneOffsetTable class, checking every conversion against java.time.
+ */
+public class ZoneOffsetTableTest {
+
+  private static final String[] ZONES = {"America/New_York", "Europe/London", "Asia/Kolkata",
+      "Australia/Lord_Howe", "UTC", "America/Sao_Paulo", "Pacific/Chatham"};
+
+  @Test
+  public void testMatchesJavaTimeAcrossTransitions() {
+    Random random = new Random(17);
+    LocalDateTime base = LocalDateTime.of(2018, 1, 1, 0, 0);
+    for (String from : ZONES) {
+      for (String to : ZONES) {
+        ZoneOffsetTable table = ZoneOffsetTable.forPair(ZoneId.of(from), ZoneId.of(to));
+        for (int i = 0; i < 2000; i++) {
+          LocalDateTime local = base.plusMinutes(random.nextInt(60 * 24 * 365 * 10));
+          assertEquals(from + " -> " + to + " at " + local, expected(local, from, to),
+              table.convert(local));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testGapAndOverlapFollowJavaTime() {
+    ZoneOffsetTable table = ZoneOffsetTable.forPair(ZoneId.of("America/New_York"),
+        ZoneId.of("UTC"));
+    LocalDateTime gap = LocalDateTime.of(2025, 3, 9, 2, 30);
+    LocalDateTime overlap = LocalDateTime.of(2025, 11, 2, 1, 30);
+    assertEquals(LocalDateTime.of(2025, 3, 9, 7, 30), table.convert(gap));
+    assertEquals(LocalDateTime.of(2025, 11, 2, 5, 30), table.convert(overlap));
+    for (int minute = 0; minute < 24 * 60; minute++) {
+      LocalDateTime spring = LocalDateTime.of(2025, 3, 9, 0, 0).plusMinutes(minute);
+      LocalDateTime fall = LocalDateTime.of(2025, 11, 2, 0, 0).plusMinutes(minute);
+      assertEquals(expected(spring, "America/New_York", "UTC"), table.convert(spring));
+      assertEquals(expected(fall, "America/New_York", "UTC"), table.convert(fall));
+    }
+  }
+
+  @Test
+  public void testOutsideRangeFallsBack() {
+    ZoneOffsetTable table = ZoneOffsetTable.between(ZoneId.of("Europe/London"),
+        ZoneId.of("Asia/Tokyo"), LocalDateTime.of(2025, 1, 1, 0, 0),
+        LocalDateTime.of(2026, 1, 1, 0, 0));
+    assertTrue(table.size() >= 3);
+    LocalDateTime outside = LocalDateTime.of(2030, 7, 1, 12, 0);
+    assertEquals(expected(outside, "Europe/London", "Asia/Tokyo"), table.convert(outside));
+    LocalDateTime[] batch = {LocalDateTime.of(2025, 2, 1, 9, 0),
+        LocalDateTime.of(2025, 7, 1, 9, 0)};
+    LocalDateTime[] converted = table.convertAll(batch);
+    assertEquals(LocalDateTime.of(2025, 2, 1, 18, 0), converted[0]);
+    assertEquals(LocalDateTime.of(2025, 7, 1, 17, 0), converted[1]);
+  }
+
+  @Test
+  public void testPairsAreCached() {
+    assertSame(ZoneOffsetTable.forPair(ZoneId.of("UTC"), ZoneId.of("Asia/Kolkata")),
+        ZoneOffsetTable.forPair(ZoneId.of("UTC"), ZoneId.of("Asia/Kolkata")));
+  }
+
+  private static LocalDateTime expected(LocalDateTime local, String from, String to) {
+    return local.atZone(ZoneId.of(from)).withZoneSameInstant(ZoneId.of(to)).toLocalDateTime();
+  }
+}